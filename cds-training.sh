@@ -0,0 +1,119 @@
+#!/bin/sh
+
+set -eu
+
+# =============================================================================
+# JWT Sample Application - AppCDS Training Run
+#
+# AOT処理済みのアプリケーションを起動し、ログイン・トークン更新・トークン検証を実行してから終了する。
+# 終了時に、読み込んだクラスをAppCDSアーカイブに書き出す（-XX:ArchiveClassesAtExit）。
+# アーカイブは作成したJVMとクラスパスでだけ使えるため、実行環境のJVMと配置で作成すること。
+#
+# 使い方: ./cds-training.sh <application.jar> <application.jsa> [JVMオプション...]
+# =============================================================================
+
+if [ $# -lt 2 ]; then
+    echo "usage: $0 <application.jar> <application.jsa> [jvm options...]" >&2
+    exit 2
+fi
+
+readonly JAR="$1"
+readonly ARCHIVE="$2"
+shift 2
+
+readonly JAVA="${JAVA:-java}"
+readonly PORT="${TRAINING_PORT:-18080}"
+readonly BASE_URL="http://localhost:${PORT}"
+readonly TIMEOUT="${TRAINING_TIMEOUT:-120}"
+
+WORK_DIR=$(mktemp -d)
+PID=""
+
+cleanup() {
+    if [ -n "$PID" ]; then
+        kill "$PID" 2>/dev/null || true
+    fi
+    rm -rf "$WORK_DIR"
+}
+trap cleanup EXIT
+
+fail() {
+    echo "[FAIL] $1" >&2
+    tail -n 50 "$WORK_DIR/training.log" >&2 || true
+    exit 1
+}
+
+# HTTPリクエスト実行（2xx以外は失敗。期待するステータスを指定した場合はそのステータスのみ成功）
+request() {
+    method="$1"
+    endpoint="$2"
+    data="${3:-}"
+    header="${4:-X-Training-Run: true}"
+    expected="${5:-}"
+
+    if [ -n "$data" ]; then
+        status=$(curl -s -o "$WORK_DIR/response" -w '%{http_code}' -X "$method" -H "$header" \
+            -H 'Content-Type: application/json' -d "$data" "${BASE_URL}${endpoint}") || status=000
+    else
+        status=$(curl -s -o "$WORK_DIR/response" -w '%{http_code}' -X "$method" -H "$header" \
+            "${BASE_URL}${endpoint}") || status=000
+    fi
+
+    if [ -n "$expected" ]; then
+        [ "$status" = "$expected" ] || fail "$method $endpoint: expected $expected but was $status"
+    else
+        case "$status" in
+            2??) ;;
+            *) fail "$method $endpoint: $status" ;;
+        esac
+    fi
+    cat "$WORK_DIR/response"
+}
+
+json_field() {
+    sed -n "s/.*\"$1\":\"\([^\"]*\)\".*/\1/p"
+}
+
+rm -f "$ARCHIVE"
+
+# 実行時と同じくAOT処理の結果を使用して起動（失効ログは作業ディレクトリに書き込む）
+"$JAVA" -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.aot.enabled=true "$@" -jar "$JAR" \
+    --server.port="$PORT" \
+    --jwt.revocation.log.path="$WORK_DIR/revocations.log" \
+    > "$WORK_DIR/training.log" 2>&1 &
+PID=$!
+
+elapsed=0
+until curl -sf -o /dev/null "${BASE_URL}/actuator/health"; do
+    kill -0 "$PID" 2>/dev/null || fail "application exited during startup"
+    [ "$elapsed" -lt "$TIMEOUT" ] || fail "application did not become healthy within ${TIMEOUT}s"
+    sleep 1
+    elapsed=$((elapsed + 1))
+done
+
+# 登録・ログイン（失敗を含む）
+EMAIL="cds-training-$$@example.com"
+PASSWORD="training-password"
+request POST /api/v1/auth/register \
+    "{\"firstname\":\"CDS\",\"lastname\":\"Training\",\"email\":\"${EMAIL}\",\"password\":\"${PASSWORD}\"}" > /dev/null
+TOKENS=$(request POST /api/v1/auth/authenticate "{\"email\":\"${EMAIL}\",\"password\":\"${PASSWORD}\"}")
+ACCESS_TOKEN=$(echo "$TOKENS" | json_field accessToken)
+REFRESH_TOKEN=$(echo "$TOKENS" | json_field refreshToken)
+[ -n "$ACCESS_TOKEN" ] && [ -n "$REFRESH_TOKEN" ] || fail "authenticate: tokens not found"
+request POST /api/v1/auth/authenticate "{\"email\":\"${EMAIL}\",\"password\":\"wrong\"}" "" 401 > /dev/null
+
+# トークン更新・検証（リソースサーバーのフィルター・イントロスペクション・JWKセット）
+request POST /api/v1/auth/refresh-token "" "Authorization: Bearer ${REFRESH_TOKEN}" > /dev/null
+request GET /api/v1/training "" "Authorization: Bearer ${ACCESS_TOKEN}" 404 > /dev/null
+request GET /api/v1/training "" "Authorization: Bearer invalid" 401 > /dev/null
+request POST /api/v1/auth/introspect "{\"token\":\"${ACCESS_TOKEN}\"}" "Authorization: Bearer ${ACCESS_TOKEN}" 403 \
+    > /dev/null
+request GET /.well-known/jwks.json > /dev/null
+
+# 正常に終了させ、アーカイブを書き出す
+kill -TERM "$PID"
+wait "$PID" || true
+PID=""
+
+[ -s "$ARCHIVE" ] || fail "archive was not created: $ARCHIVE"
+echo "[INFO] AppCDS archive created: $ARCHIVE ($(wc -c < "$ARCHIVE") bytes)"
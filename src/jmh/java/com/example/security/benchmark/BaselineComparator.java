@@ -0,0 +1,122 @@
+package com.example.security.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JMHの結果（JSON）をベースラインと比較するツール
+ *
+ * <p>ベンチマーク名、スレッド数、パラメーターが一致する結果ごとに、スコアと{@code gc.alloc.rate.norm}（B/op）を比較する。
+ * スコアはスループット計測では低下を、時間計測では増加を劣化とみなす。
+ * いずれかが許容率を超えて劣化した場合は終了コード1で終了する。
+ *
+ * <pre>
+ * 引数: ベースラインのJSON 今回のJSON [許容率（既定 0.10）]
+ * </pre>
+ */
+public final class BaselineComparator {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final String PACKAGE_PREFIX = "com.example.security.";
+    private static final double DEFAULT_TOLERANCE = 0.10;
+
+    /**
+     * 割り当て量の比較で無視する差（B/op）
+     */
+    private static final double ALLOCATION_SLACK_BYTES = 16;
+
+    private BaselineComparator() {
+    }
+
+    /**
+     * メインメソッド
+     *
+     * @param args ベースラインのJSON、今回のJSON、許容率（省略可）
+     * @throws IOException JSONの読み込みに失敗した場合
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <result.json> [tolerance]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-72s %12s %12s %8s %12s %12s%n",
+                "Benchmark", "Baseline", "Current", "Change", "Alloc(B/op)", "Baseline");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("%-72s %12s%n", entry.getKey(), "(new)");
+                continue;
+            }
+            JsonNode result = entry.getValue();
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            double score = result.path("primaryMetric").path("score").asDouble();
+            double change = (score - baseScore) / baseScore;
+            boolean higherIsBetter = "thrpt".equals(result.path("mode").asText());
+            boolean scoreRegressed = higherIsBetter ? change < -tolerance : change > tolerance;
+
+            double baseAlloc = allocation(base);
+            double alloc = allocation(result);
+            boolean allocRegressed = !Double.isNaN(baseAlloc) && !Double.isNaN(alloc)
+                    && alloc > baseAlloc * (1 + tolerance) + ALLOCATION_SLACK_BYTES;
+
+            System.out.printf("%-72s %12.3f %12.3f %+7.1f%% %12.1f %12.1f%s%n",
+                    entry.getKey(), baseScore, score, change * 100, alloc, baseAlloc,
+                    scoreRegressed || allocRegressed ? "  REGRESSION" : "");
+            if (scoreRegressed || allocRegressed) {
+                regressions++;
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+        System.out.println("No regressions");
+    }
+
+    /**
+     * 結果をベンチマーク名、スレッド数、パラメーターをキーとして読み込み
+     *
+     * <p>スレッド数が異なる結果はスループットを比較できないため、別のベンチマークとして扱う。
+     */
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText().replace(PACKAGE_PREFIX, ""))
+                    .append(":threads=").append(result.path("threads").asInt());
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            fields.forEachRemaining(field -> params.put(field.getKey(), field.getValue().asText()));
+            params.forEach((name, value) -> key.append(':').append(name).append('=').append(value));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    /**
+     * 1操作あたりの割り当て量（計測していない場合はNaN）
+     */
+    private static double allocation(JsonNode result) {
+        Iterator<Map.Entry<String, JsonNode>> metrics = result.path("secondaryMetrics").fields();
+        while (metrics.hasNext()) {
+            Map.Entry<String, JsonNode> metric = metrics.next();
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return metric.getValue().path("score").asDouble();
+            }
+        }
+        return Double.NaN;
+    }
+}
\ No newline at end of file
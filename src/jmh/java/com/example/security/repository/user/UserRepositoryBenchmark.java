@@ -0,0 +1,104 @@
+package com.example.security.repository.user;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.security.SecurityApplication;
+import com.example.security.model.User;
+import com.example.security.model.UserCredentials;
+
+/**
+ * メールアドレスによるユーザー検索のベンチマーク
+ *
+ * <p>インメモリのH2に指定した件数のユーザーを投入し、{@link UserRepository#findByEmail}を計測する。
+ * 一意なインデックスがあれば件数によらず処理時間がほぼ一定であること、
+ * インデックスを削除した場合（{@code indexed=false}）は件数に比例して全件走査になることを比較する。
+ * ログインで使用する射影（{@link UserRepository#findCredentialsByEmail}）とエンティティの読み込みも比較する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserRepositoryBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int users;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository repository;
+
+    @Setup
+    public void setUp() {
+        // application.propertiesより優先するようコマンドライン引数として指定
+        context = new SpringApplicationBuilder(SecurityApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.org.springframework.beans.factory.support.DefaultListableBeanFactory=WARN",
+                "--auth.password-hashing.latency-budget=0");
+        repository = context.getBean(UserRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO _user (id, firstname, lastname, email, password, role) "
+                + "SELECT X, 'Bench', 'User', 'user' || X || '@example.com', 'password', 'USER' "
+                + "FROM SYSTEM_RANGE(1, ?)", users);
+        if (!indexed) {
+            jdbcTemplate.execute("ALTER TABLE _user DROP CONSTRAINT ux_user_email");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 存在するユーザーの検索
+     */
+    @Benchmark
+    public Optional<User> findByEmail() {
+        int id = ThreadLocalRandom.current().nextInt(users) + 1;
+        return repository.findByEmail("user" + id + "@example.com");
+    }
+
+    /**
+     * 存在しないユーザーの検索（ログインの失敗）
+     */
+    @Benchmark
+    public Optional<User> findByEmailNotFound() {
+        return repository.findByEmail("unknown@example.com");
+    }
+
+    /**
+     * 存在するユーザーの認証に必要な項目だけの検索（射影）
+     */
+    @Benchmark
+    public Optional<UserCredentials> findCredentialsByEmail() {
+        int id = ThreadLocalRandom.current().nextInt(users) + 1;
+        return repository.findCredentialsByEmail("user" + id + "@example.com");
+    }
+}
\ No newline at end of file
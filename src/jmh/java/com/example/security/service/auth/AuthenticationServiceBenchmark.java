@@ -0,0 +1,87 @@
+package com.example.security.service.auth;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.security.SecurityApplication;
+import com.example.security.service.auth.AuthenticationService.AuthenticationRequest;
+import com.example.security.service.auth.AuthenticationService.AuthenticationResponse;
+import com.example.security.service.auth.AuthenticationService.RegisterRequest;
+
+/**
+ * ログイン（パスワード照合からトークン発行まで）のベンチマーク
+ *
+ * <p>インメモリのH2でアプリケーションを起動し、{@link AuthenticationService#authenticate}を計測する。
+ * パスワードのコストはキャリブレーションせず下限（BCrypt 10）を使用する。
+ * 同じアカウントで繰り返しログインするため、ログイン試行の制限は無効にする。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthenticationServiceBenchmark {
+
+    private static final String EMAIL = "bench@example.com";
+    private static final String PASSWORD = "password";
+    private static final String ADDRESS = "192.0.2.1";
+
+    private ConfigurableApplicationContext context;
+    private AuthenticationService authenticationService;
+    private AuthenticationRequest request;
+
+    @Setup
+    public void setUp() {
+        // application.propertiesより優先するようコマンドライン引数として指定
+        context = new SpringApplicationBuilder(SecurityApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.org.springframework.beans.factory.support.DefaultListableBeanFactory=WARN",
+                "--auth.password-hashing.latency-budget=0",
+                "--auth.login-throttle.enabled=false");
+        authenticationService = context.getBean(AuthenticationService.class);
+        authenticationService.register(new RegisterRequest("Bench", "User", EMAIL, PASSWORD));
+        request = new AuthenticationRequest(EMAIL, PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 単一スレッドでのログイン
+     */
+    @Benchmark
+    @Threads(1)
+    public AuthenticationResponse authenticate() {
+        return authenticationService.authenticate(request, ADDRESS);
+    }
+
+    /**
+     * CPUコア数のスレッドからの同時ログイン
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public AuthenticationResponse authenticateConcurrently() {
+        return authenticationService.authenticate(request, ADDRESS);
+    }
+}
\ No newline at end of file
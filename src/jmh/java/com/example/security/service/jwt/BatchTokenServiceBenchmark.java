@@ -0,0 +1,82 @@
+package com.example.security.service.jwt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.config.JwtKeyConfig;
+import com.example.security.config.JwtKeyProperties;
+import com.example.security.model.Role;
+import com.example.security.service.jwt.BatchTokenService.TokenRequest;
+
+/**
+ * トークンの一括発行のベンチマーク
+ *
+ * <p>1,000件の発行依頼を1スレッドで署名した場合と、CPUコア数のスレッドで並列に署名した場合の所要時間を比較する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchTokenServiceBenchmark {
+
+    @Param({"RS256", "ES256"})
+    public SigningAlgorithm algorithm;
+
+    /**
+     * 署名を並列に行うスレッド数（0はCPUコア数）
+     */
+    @Param({"1", "0"})
+    public int parallelism;
+
+    private BatchTokenService batchTokenService;
+    private List<TokenRequest> requests;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setExpiration(86_400_000);
+        jwtConfig.setRefreshExpiration(604_800_000);
+        jwtConfig.setAlgorithm(algorithm);
+        jwtConfig.getKey().setGenerate(true);
+        jwtConfig.getBatch().setParallelism(parallelism);
+        JwtKeyProperties keys = new JwtKeyConfig(jwtConfig).jwtKeyProperties();
+
+        JwtService jwtService = new JwtService(new TemplateJwtSerializer(algorithm, keys.getSigningKey()), jwtConfig);
+        batchTokenService = new BatchTokenService(jwtService, jwtConfig);
+        requests = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            requests.add(new TokenRequest("worker-" + i, List.of(Role.USER)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        batchTokenService.close();
+    }
+
+    /**
+     * 1,000件の一括発行
+     */
+    @Benchmark
+    public void issue(Blackhole blackhole) throws Exception {
+        batchTokenService.issue(requests, blackhole::consume);
+    }
+}
\ No newline at end of file
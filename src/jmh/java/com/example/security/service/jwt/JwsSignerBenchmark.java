@@ -0,0 +1,89 @@
+package com.example.security.service.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.interfaces.ECPrivateKey;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.config.JwtKeyConfig;
+import com.example.security.config.JwtKeyProperties;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.util.Base64URL;
+
+/**
+ * Nimbusの署名器とスレッドごとに初期化済みのSignatureを再利用する署名器のベンチマーク
+ *
+ * <p>CPUコア数のスレッドから同時に署名し、署名器の生成・鍵の初期化にかかるコストの差を比較する。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class JwsSignerBenchmark {
+
+    @Param({"RS256", "ES256", "HS256"})
+    public SigningAlgorithm algorithm;
+
+    private JWSHeader header;
+    private byte[] signingInput;
+    private JWSSigner nimbusSigner;
+    private JWSSigner threadLocalSigner;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setAlgorithm(algorithm);
+        jwtConfig.getKey().setGenerate(true);
+        JwtKeyProperties keys = new JwtKeyConfig(jwtConfig).jwtKeyProperties();
+
+        header = new JWSHeader(algorithm.getJwsAlgorithm());
+        signingInput = (header.toBase64URL() + ".eyJzdWIiOiJ1c2VyQGV4YW1wbGUuY29tIn0")
+                .getBytes(StandardCharsets.US_ASCII);
+        nimbusSigner = switch (algorithm) {
+            case RS256 -> new RSASSASigner(keys.getPrivateKey());
+            case ES256 -> new ECDSASigner((ECPrivateKey) keys.getPrivateKey());
+            case HS256 -> new MACSigner((SecretKey) keys.getSecretKey());
+            case EDDSA -> throw new IllegalArgumentException("NimbusのEd25519署名器はTinkが必要です");
+        };
+        threadLocalSigner = new ThreadLocalJwsSigner(algorithm, keys.getSigningKey());
+    }
+
+    /**
+     * Nimbusの署名器（署名のたびにSignatureを取得して初期化）
+     */
+    @Benchmark
+    public Base64URL nimbusSigner() throws JOSEException {
+        return nimbusSigner.sign(header, signingInput);
+    }
+
+    /**
+     * スレッドごとに初期化済みのSignatureを再利用する署名器
+     */
+    @Benchmark
+    public Base64URL threadLocalSigner() throws JOSEException {
+        return threadLocalSigner.sign(header, signingInput);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.example.security.service.jwt;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.config.JwtKeyConfig;
+import com.example.security.config.JwtKeyProperties;
+import com.example.security.config.SecurityConfig;
+
+/**
+ * リクエストごとのトークン検証と認証情報への変換のベンチマーク
+ *
+ * <p>キャッシュを通さないNimbusのデコーダーと高速パスのデコーダー、検証済みトークンのキャッシュにヒットした場合、
+ * デコード済みのJWTから認証情報への変換をそれぞれ計測する。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtDecoderBenchmark {
+
+    @Param({"RS256", "ES256"})
+    public SigningAlgorithm algorithm;
+
+    private JwtDecoder nimbusDecoder;
+    private JwtDecoder fastPathDecoder;
+    private JwtDecoder cachingDecoder;
+    private JwtAuthenticationConverter authenticationConverter;
+    private String token;
+    private Jwt jwt;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setExpiration(86_400_000);
+        jwtConfig.setRefreshExpiration(604_800_000);
+        jwtConfig.setAlgorithm(algorithm);
+        jwtConfig.getKey().setGenerate(true);
+        JwtKeyProperties keys = new JwtKeyConfig(jwtConfig).jwtKeyProperties();
+
+        JwtService jwtService = new JwtService(new TemplateJwtSerializer(algorithm, keys.getSigningKey()), jwtConfig);
+        token = jwtService.generateToken("user@example.com", List.of("ROLE_USER")).token();
+
+        nimbusDecoder = JwsJwtDecoders.withVerificationKeys(Map.of(algorithm, keys.getVerificationKey()));
+        fastPathDecoder = new FastPathJwtDecoder(algorithm, keys.getVerificationKey(), nimbusDecoder);
+        cachingDecoder = new CachingJwtDecoder(nimbusDecoder, 10_000);
+        jwt = nimbusDecoder.decode(token);
+
+        authenticationConverter = new JwtAuthenticationConverter();
+        authenticationConverter.setJwtGrantedAuthoritiesConverter(
+                new RoleAuthoritiesConverter(SecurityConfig.roleHierarchy()));
+    }
+
+    /**
+     * 署名検証とクレームの検証
+     */
+    @Benchmark
+    public Jwt nimbusDecode() {
+        return nimbusDecoder.decode(token);
+    }
+
+    /**
+     * 高速パスでの署名検証とクレームの取り出し
+     */
+    @Benchmark
+    public Jwt fastPathDecode() {
+        return fastPathDecoder.decode(token);
+    }
+
+    /**
+     * 検証済みトークンのキャッシュにヒットした場合のデコード
+     */
+    @Benchmark
+    public Jwt cachedDecode() {
+        return cachingDecoder.decode(token);
+    }
+
+    /**
+     * JWTから認証情報への変換
+     */
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return authenticationConverter.convert(jwt);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.example.security.service.jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.config.JwtKeyConfig;
+import com.example.security.config.JwtKeyProperties;
+
+/**
+ * 鍵リングを使用した高速パスでの検証のベンチマーク
+ *
+ * <p>現在の署名鍵・最も古い以前の署名鍵で署名したトークンの検証と、
+ * 別のスレッドが1ミリ秒ごとに署名鍵をローテーションしている間の検証をそれぞれ計測する。
+ * 鍵はあらかじめ生成しておき、ローテーションでは順に切り替える。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtKeyRingBenchmark {
+
+    @Param({"HS256", "ES256"})
+    public SigningAlgorithm algorithm;
+
+    /**
+     * 検証用に保持する以前の署名鍵の数
+     */
+    @Param({"0", "7"})
+    public int retiredKeys;
+
+    private JwtKeyRing keyRing;
+    private JwtDecoder decoder;
+    private String currentToken;
+    private String oldestToken;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setAlgorithm(algorithm);
+        jwtConfig.getKey().setGenerate(true);
+        JwtKeyConfig jwtKeyConfig = new JwtKeyConfig(jwtConfig);
+        List<JwtKey> keys = new ArrayList<>();
+        for (int i = 0; i <= retiredKeys; i++) {
+            JwtKeyProperties properties = jwtKeyConfig.jwtKeyProperties();
+            keys.add(JwtKey.of(algorithm, properties.getSigningKey(), properties.getVerificationKey()));
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        keyRing = new JwtKeyRing(keys.get(0), () -> keys.get(next.incrementAndGet() % keys.size()),
+                Duration.ZERO, Duration.ofDays(1));
+        decoder = new FastPathJwtDecoder(keyRing, JwsJwtDecoders.withKeyRing(keyRing));
+
+        TemplateJwtSerializer serializer = new TemplateJwtSerializer(keyRing);
+        Instant now = Instant.now();
+        oldestToken = serializer.serialize("user@example.com", "token-id", now, now.plusSeconds(86_400),
+                List.of("USER"));
+        for (int i = 0; i < retiredKeys; i++) {
+            keyRing.rotate();
+        }
+        currentToken = serializer.serialize("user@example.com", "token-id", now, now.plusSeconds(86_400),
+                List.of("USER"));
+    }
+
+    /**
+     * 現在の署名鍵で署名したトークンの検証
+     */
+    @Benchmark
+    public Jwt decodeCurrentKey() {
+        return decoder.decode(currentToken);
+    }
+
+    /**
+     * 最も古い以前の署名鍵で署名したトークンの検証
+     */
+    @Benchmark
+    public Jwt decodeRetiredKey() {
+        return decoder.decode(oldestToken);
+    }
+
+    /**
+     * ローテーション中の検証
+     */
+    @Benchmark
+    @Group("rotation")
+    @GroupThreads(1)
+    public Jwt decodeWhileRotating() {
+        return decoder.decode(oldestToken);
+    }
+
+    /**
+     * 1ミリ秒ごとのローテーション
+     */
+    @Benchmark
+    @Group("rotation")
+    @GroupThreads(1)
+    public boolean rotate() throws InterruptedException {
+        boolean rotated = keyRing.rotate();
+        TimeUnit.MILLISECONDS.sleep(1);
+        return rotated;
+    }
+}
\ No newline at end of file
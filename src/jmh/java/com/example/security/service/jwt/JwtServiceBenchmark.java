@@ -0,0 +1,74 @@
+package com.example.security.service.jwt;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.config.JwtKeyConfig;
+import com.example.security.config.JwtKeyProperties;
+import com.example.security.service.jwt.JwtService.JwtToken;
+
+/**
+ * トークン発行（アクセストークンとリフレッシュトークンの署名）のベンチマーク
+ *
+ * <p>単一スレッドと、4スレッドから同時に発行した場合のスループットを比較する。
+ * 同時発行のスレッド数は、実行環境のCPUコア数によらずベースラインと比較できるよう固定している。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    @Param({"RS256", "ES256"})
+    public SigningAlgorithm algorithm;
+
+    private JwtService jwtService;
+    private List<String> roles;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setExpiration(86_400_000);
+        jwtConfig.setRefreshExpiration(604_800_000);
+        jwtConfig.setAlgorithm(algorithm);
+        jwtConfig.getKey().setGenerate(true);
+        JwtKeyProperties keys = new JwtKeyConfig(jwtConfig).jwtKeyProperties();
+
+        jwtService = new JwtService(new TemplateJwtSerializer(algorithm, keys.getSigningKey()), jwtConfig);
+        roles = List.of("ROLE_USER");
+    }
+
+    /**
+     * 単一スレッドでの発行
+     */
+    @Benchmark
+    @Threads(1)
+    public JwtToken generateToken() {
+        return jwtService.generateToken("user@example.com", roles);
+    }
+
+    /**
+     * 4スレッドからの同時発行
+     */
+    @Benchmark
+    @Threads(4)
+    public JwtToken generateTokenConcurrently() {
+        return jwtService.generateToken("user@example.com", roles);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.example.security.service.jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.config.JwtKeyConfig;
+import com.example.security.config.JwtKeyProperties;
+
+/**
+ * 署名アルゴリズムごとのトークン署名・検証のベンチマーク
+ *
+ * <p>検証は検証済みトークンのキャッシュを通さず、毎回署名を検証する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtSigningBenchmark {
+
+    @Param({"RS256", "ES256", "EDDSA", "HS256"})
+    public SigningAlgorithm algorithm;
+
+    private JwtEncoder encoder;
+    private TemplateJwtSerializer serializer;
+    private JwtDecoder decoder;
+    private JwtEncoderParameters parameters;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setAlgorithm(algorithm);
+        jwtConfig.getKey().setGenerate(true);
+        JwtKeyProperties keys = new JwtKeyConfig(jwtConfig).jwtKeyProperties();
+
+        encoder = new JwsJwtEncoder(algorithm, keys.getSigningKey());
+        serializer = new TemplateJwtSerializer(algorithm, keys.getSigningKey());
+        decoder = JwsJwtDecoders.withVerificationKeys(Map.of(algorithm, keys.getVerificationKey()));
+
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("user@example.com")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .claim(RoleAuthoritiesConverter.ROLES_CLAIM, List.of("ROLE_USER"))
+                .build();
+        parameters = JwtEncoderParameters.from(JwsHeader.with(algorithm).build(), claims);
+        token = encoder.encode(parameters).getTokenValue();
+    }
+
+    /**
+     * 署名
+     */
+    @Benchmark
+    public Jwt sign() {
+        return encoder.encode(parameters);
+    }
+
+    /**
+     * テンプレートによるシリアライズと署名
+     */
+    @Benchmark
+    public String serialize() {
+        Instant now = parameters.getClaims().getIssuedAt();
+        return serializer.serialize("user@example.com", "token-id", now, now.plusSeconds(3600), List.of("ROLE_USER"));
+    }
+
+    /**
+     * 検証
+     */
+    @Benchmark
+    public Jwt verify() {
+        return decoder.decode(token);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.example.security.service.jwt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import com.example.security.config.SecurityConfig;
+
+/**
+ * rolesクレームから権限への変換のベンチマーク
+ *
+ * <p>{@code -prof gc}の{@code gc.alloc.rate.norm}で、1リクエストあたりの割り当て量を比較する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoleAuthoritiesConverterBenchmark {
+
+    @Param({"USER", "ADMIN"})
+    public String role;
+
+    private Jwt jwt;
+    private JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter;
+    private RoleAuthoritiesConverter roleAuthoritiesConverter;
+
+    @Setup
+    public void setUp() {
+        // Nimbusがデコードした場合と同じく可変のListをクレームに格納する
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user@example.com")
+                .claim(RoleAuthoritiesConverter.ROLES_CLAIM, new ArrayList<>(List.of(role)))
+                .build();
+
+        grantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        grantedAuthoritiesConverter.setAuthoritiesClaimName(RoleAuthoritiesConverter.ROLES_CLAIM);
+        grantedAuthoritiesConverter.setAuthorityPrefix(RoleAuthoritiesConverter.ROLE_PREFIX);
+
+        roleAuthoritiesConverter = new RoleAuthoritiesConverter(SecurityConfig.roleHierarchy());
+    }
+
+    /**
+     * 従来の変換（リクエストごとに権限とコレクションを生成）
+     */
+    @Benchmark
+    public Collection<GrantedAuthority> jwtGrantedAuthoritiesConverter() {
+        return grantedAuthoritiesConverter.convert(jwt);
+    }
+
+    /**
+     * 事前構築済みの権限リストを返す変換
+     */
+    @Benchmark
+    public Collection<GrantedAuthority> roleAuthoritiesConverter() {
+        return roleAuthoritiesConverter.convert(jwt);
+    }
+}
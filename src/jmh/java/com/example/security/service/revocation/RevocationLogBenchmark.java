@@ -0,0 +1,83 @@
+package com.example.security.service.revocation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 失効ログの再生のベンチマーク
+ *
+ * <p>起動時と同じく、ファイルを開いてレコードを再生し、失効ストアを復元するまでの時間を計測する。
+ * 100万件の復元はヒープの拡張とGCの影響を受けるため、アプリケーションと同程度のヒープを確保して計測する。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xms1g")
+@State(Scope.Benchmark)
+public class RevocationLogBenchmark {
+
+    @Param({"1000000"})
+    public int revokedTokens;
+
+    private Path path;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        path = Files.createTempFile("revocations", ".log");
+        Files.delete(path);
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        try (RevocationLog log = RevocationLog.open(path, revokedTokens)) {
+            for (int i = 0; i < revokedTokens; i++) {
+                log.append(UUID.randomUUID().toString(), expiresAt);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * ログの再生のみ
+     */
+    @Benchmark
+    public long replay() throws IOException {
+        long[] count = new long[1];
+        try (RevocationLog log = RevocationLog.open(path, revokedTokens)) {
+            log.replay((tokenId, expiresAt) -> count[0]++);
+        }
+        return count[0];
+    }
+
+    /**
+     * ログの再生と失効ストアの復元
+     */
+    @Benchmark
+    public long restore() throws IOException {
+        try (TokenRevocationStore store = new TokenRevocationStore(100_000, 0.001,
+                RevocationLog.open(path, revokedTokens), Duration.ZERO)) {
+            return store.size();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.example.security.service.revocation;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 失効判定のベンチマーク
+ *
+ * <p>失効していないトークン（大半のリクエスト）はBloomフィルターだけで判定され、
+ * {@link ConcurrentHashMap}を直接参照する場合との差を比較する。
+ * デコードしたトークンのjtiと同じく、ハッシュ値がキャッシュされていない文字列で判定する。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class TokenRevocationStoreBenchmark {
+
+    @Param({"1000", "100000"})
+    public int revokedTokens;
+
+    private TokenRevocationStore store;
+    private ConcurrentHashMap<String, Instant> map;
+    private char[] activeTokenId;
+    private char[] revokedTokenId;
+
+    @Setup
+    public void setUp() {
+        store = new TokenRevocationStore(Math.max(revokedTokens, 100_000), 0.001);
+        map = new ConcurrentHashMap<>();
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        String tokenId = null;
+        for (int i = 0; i < revokedTokens; i++) {
+            tokenId = UUID.randomUUID().toString();
+            store.revoke(tokenId, expiresAt);
+            map.put(tokenId, expiresAt);
+        }
+        revokedTokenId = tokenId.toCharArray();
+        activeTokenId = UUID.randomUUID().toString().toCharArray();
+    }
+
+    /**
+     * 失効していないトークンの判定
+     */
+    @Benchmark
+    public boolean activeToken() {
+        return store.isRevoked(new String(activeTokenId));
+    }
+
+    /**
+     * 失効したトークンの判定（厳密な集合を参照する）
+     */
+    @Benchmark
+    public boolean revokedToken() {
+        return store.isRevoked(new String(revokedTokenId));
+    }
+
+    /**
+     * 失効していないトークンをConcurrentHashMapで直接判定
+     */
+    @Benchmark
+    public boolean activeTokenWithoutFilter() {
+        return map.containsKey(new String(activeTokenId));
+    }
+}
\ No newline at end of file
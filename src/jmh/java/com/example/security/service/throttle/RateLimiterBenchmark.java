@@ -0,0 +1,65 @@
+package com.example.security.service.throttle;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ログイン試行の制限のベンチマーク
+ *
+ * <p>CPUコア数のスレッドから同時に判定し、1回あたりの処理時間を計測する。
+ * パスワードの照合（{@code PasswordEncoderBenchmark}、数十〜数百ミリ秒）に比べて無視できることを確認する。
+ * 許可する経路（CASの成功）を計測するため、容量は十分に大きくする。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 100_000;
+
+    private RateLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new RateLimiter(Integer.MAX_VALUE, Duration.ofNanos(1), KEYS);
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "user" + i + "@example.com";
+            limiter.tryAcquire(keys[i]);
+        }
+    }
+
+    /**
+     * 多数のアカウントへの同時の試行（バケットの競合なし）
+     */
+    @Benchmark
+    public long distinctKeys() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    /**
+     * 1つのアカウントへの同時の試行（全スレッドが同じバケットをCASで更新する）
+     */
+    @Benchmark
+    public long sameKey() {
+        return limiter.tryAcquire(keys[0]);
+    }
+}
\ No newline at end of file
@@ -4,13 +4,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
+import com.example.security.config.AuthConfig;
 import com.example.security.config.JwtConfig;
 
 /**
  * セキュリティアプリケーション
  */
 @SpringBootApplication
-@EnableConfigurationProperties(JwtConfig.class)
+@EnableConfigurationProperties({ JwtConfig.class, AuthConfig.class })
 public class SecurityApplication {
 
     /**
@@ -1,12 +1,21 @@
 package com.example.security.config;
 
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import com.example.security.controller.filter.ServerTimingFilter;
+import com.example.security.model.User;
 import com.example.security.repository.user.UserRepository;
+import com.example.security.service.throttle.LoginThrottle;
+import com.example.security.service.timing.StageTimer;
+import com.example.security.service.user.CachingUserDetailsService;
+import com.example.security.service.user.TokenVersionCache;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -21,12 +30,73 @@ public class ApplicationConfig {
      */
     private final UserRepository repository;
 
+    /**
+     * 認証設定
+     */
+    private final AuthConfig authConfig;
+
     /**
      * ユーザー詳細サービス
+     *
+     * <p>ユーザー名（メールアドレス）は正規化して検索する。ログインとトークンの更新で使用するため、
+     * エンティティではなく認証に必要な列だけの射影（{@link com.example.security.model.UserCredentials}）を読み込む。
+     * キャッシュが有効な場合は、リポジトリへの問い合わせをキャッシュでラップする。
      */
     @Bean
-    public UserDetailsService userDetailsService() {
-        return username -> repository.findByEmail(username)
+    public UserDetailsService userDetailsService(MeterRegistry meterRegistry) {
+        StageTimer userLookup = new StageTimer("user-lookup");
+        userLookup.bindTo(meterRegistry);
+        UserDetailsService userDetailsService = username -> userLookup.time(
+                () -> repository.findCredentialsByEmail(User.normalizeEmail(username)))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        AuthConfig.UserCache userCache = authConfig.getUserCache();
+        if (userCache.getMaximumSize() <= 0) {
+            return userDetailsService;
+        }
+
+        CachingUserDetailsService cachingService = new CachingUserDetailsService(
+                userDetailsService, userCache.getTtl(), userCache.getMaximumSize());
+        cachingService.bindTo(meterRegistry);
+        return cachingService;
+    }
+
+    /**
+     * トークンのバージョンのキャッシュ
+     *
+     * <p>キャッシュにないユーザーは、トークンのバージョンの列だけを問い合わせる。
+     */
+    @Bean
+    public TokenVersionCache tokenVersionCache(MeterRegistry meterRegistry) {
+        AuthConfig.TokenVersionCache config = authConfig.getTokenVersionCache();
+        TokenVersionCache tokenVersionCache = new TokenVersionCache(
+                email -> repository.findTokenVersionByEmail(email).orElse(null),
+                config.getTtl(), config.getMaximumSize());
+        tokenVersionCache.bindTo(meterRegistry);
+        return tokenVersionCache;
+    }
+
+    /**
+     * Server-Timingヘッダーを付与するフィルター（認証エンドポイントのみ）
+     *
+     * <p>トークンの検証と権限の変換も計測するため、Spring Securityのフィルターより前に登録する。
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.addUrlPatterns("/api/v1/auth/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        registration.setEnabled(authConfig.getServerTiming().isEnabled());
+        return registration;
+    }
+
+    /**
+     * ログイン試行の制限
+     */
+    @Bean
+    public LoginThrottle loginThrottle(MeterRegistry meterRegistry) {
+        LoginThrottle loginThrottle = new LoginThrottle(authConfig.getLoginThrottle());
+        loginThrottle.bindTo(meterRegistry);
+        return loginThrottle;
     }
 }
\ No newline at end of file
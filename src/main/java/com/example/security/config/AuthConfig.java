@@ -0,0 +1,195 @@
+package com.example.security.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.example.security.service.password.PasswordHashAlgorithm;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 認証設定
+ */
+@ConfigurationProperties(prefix = "auth")
+@Data
+public class AuthConfig {
+
+    /**
+     * ユーザー詳細キャッシュ設定
+     */
+    private UserCache userCache = new UserCache();
+
+    /**
+     * トークンのバージョンのキャッシュ設定
+     */
+    private TokenVersionCache tokenVersionCache = new TokenVersionCache();
+
+    /**
+     * パスワードハッシュ処理設定
+     */
+    private PasswordHashing passwordHashing = new PasswordHashing();
+
+    /**
+     * Server-Timingヘッダー設定
+     */
+    private ServerTiming serverTiming = new ServerTiming();
+
+    /**
+     * ログイン試行の制限設定
+     */
+    private LoginThrottle loginThrottle = new LoginThrottle();
+
+    /**
+     * ユーザーの一括インポート設定
+     */
+    private UserImport userImport = new UserImport();
+
+    /**
+     * ユーザー詳細キャッシュ設定
+     */
+    @Data
+    public static class UserCache {
+
+        /**
+         * キャッシュの有効期間
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * キャッシュするユーザーの最大件数（0以下でキャッシュ無効）
+         */
+        private long maximumSize = 10_000;
+    }
+
+    /**
+     * トークンのバージョンのキャッシュ設定
+     */
+    @Data
+    public static class TokenVersionCache {
+
+        /**
+         * キャッシュの有効期間（他のプロセスでのロール・パスワードの変更が反映されるまでの最大時間）
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * キャッシュするユーザーの最大件数
+         */
+        private long maximumSize = 100_000;
+    }
+
+    /**
+     * パスワードハッシュ処理設定
+     */
+    @Data
+    public static class PasswordHashing {
+
+        /**
+         * 新しくハッシュ化する際のアルゴリズム
+         */
+        private PasswordHashAlgorithm algorithm = PasswordHashAlgorithm.BCRYPT;
+
+        /**
+         * ハッシュ1回あたりの処理時間の目標値（起動時のキャリブレーションでコストを決定する。0の場合は下限のコストを使用）
+         */
+        private Duration latencyBudget = Duration.ofMillis(100);
+
+        /**
+         * 再ハッシュせずに許容する、目標値を超えるBCryptのコストの段階数（目標値より低いコストは常に再ハッシュする）
+         */
+        private int bcryptCostTolerance = 1;
+
+        /**
+         * ハッシュ計算を行うスレッド数（既定はCPUコア数）
+         */
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * ハッシュ計算の待ち行列の長さ
+         */
+        private int queueCapacity = 64;
+
+        /**
+         * 待ち行列が満杯の場合に通知する再試行までの待ち時間
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Server-Timingヘッダー設定
+     */
+    @Data
+    public static class ServerTiming {
+
+        /**
+         * 認証エンドポイントのレスポンスに段階ごとの処理時間をServer-Timingヘッダーで付与するか
+         */
+        private boolean enabled = true;
+    }
+
+    /**
+     * ログイン試行の制限設定
+     */
+    @Data
+    public static class LoginThrottle {
+
+        /**
+         * パスワードの照合より前にログインの試行回数を制限するか
+         */
+        private boolean enabled = true;
+
+        /**
+         * 接続元のアドレスごとの制限
+         */
+        private Bucket address = new Bucket(100, Duration.ofSeconds(1));
+
+        /**
+         * アカウント（メールアドレス）ごとの制限
+         */
+        private Bucket account = new Bucket(10, Duration.ofSeconds(30));
+
+        /**
+         * 保持するアドレス・アカウントそれぞれの最大件数
+         */
+        private long maximumKeys = 100_000;
+
+        /**
+         * トークンバケットの設定
+         */
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Bucket {
+
+            /**
+             * バケットの容量（連続で許可する試行回数）
+             */
+            private int capacity;
+
+            /**
+             * 1回分の試行を補充する間隔
+             */
+            private Duration refillInterval;
+        }
+    }
+
+    /**
+     * ユーザーの一括インポート設定
+     */
+    @Data
+    public static class UserImport {
+
+        /**
+         * 1トランザクションで保存する件数（処理中のチャンクはスレッド数の2倍まで）
+         */
+        private int chunkSize = 500;
+
+        /**
+         * チャンクを並列に処理するスレッド数（0以下でCPUコア数）
+         */
+        private int parallelism = 0;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,11 @@
 package com.example.security.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+import com.example.security.service.jwt.SigningAlgorithm;
 
 import lombok.Data;
 
@@ -20,4 +25,188 @@ public class JwtConfig {
      * リフレッシュトークンの有効期限（ms）
      */
     private long refreshExpiration;
+
+    /**
+     * 署名アルゴリズム
+     */
+    private SigningAlgorithm algorithm = SigningAlgorithm.RS256;
+
+    /**
+     * 署名鍵設定
+     */
+    private Key key = new Key();
+
+    /**
+     * 検証済みトークンキャッシュ設定
+     */
+    private DecoderCache decoderCache = new DecoderCache();
+
+    /**
+     * トークン失効設定
+     */
+    private Revocation revocation = new Revocation();
+
+    /**
+     * JWKセット公開設定
+     */
+    private Jwks jwks = new Jwks();
+
+    /**
+     * 一括発行・一括イントロスペクション設定
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * 署名鍵設定
+     *
+     * <p>キーストア、PEMファイルの順に参照し、どちらも指定されていない場合は{@link #generate}に従う。
+     */
+    @Data
+    public static class Key {
+
+        /**
+         * PKCS#8形式の秘密鍵（PEM）のパス（RS256・ES256・EdDSA）
+         */
+        private Resource privateKeyLocation;
+
+        /**
+         * X.509形式の公開鍵（PEM）のパス（RS256・ES256・EdDSA）
+         */
+        private Resource publicKeyLocation;
+
+        /**
+         * キーストア設定
+         */
+        private KeyStore keyStore = new KeyStore();
+
+        /**
+         * 鍵が指定されていない場合に起動時に生成するかどうか（再起動すると発行済みのトークンは検証できなくなる）
+         */
+        private boolean generate;
+
+        /**
+         * 署名鍵のローテーションの間隔（0の場合はローテーションしない）
+         *
+         * <p>ローテーションのたびにキーストア・PEMファイルを読み直し、鍵が変わっていれば署名鍵を切り替える。
+         * 鍵を生成する場合は新しい鍵を生成する。以前の署名鍵はトークンの最長の有効期限まで検証に使用する。
+         */
+        private Duration rotationInterval = Duration.ofDays(1);
+    }
+
+    /**
+     * キーストア設定
+     */
+    @Data
+    public static class KeyStore {
+
+        /**
+         * キーストアのパス（HS256の場合は共通鍵、それ以外は秘密鍵と証明書のエントリ）
+         */
+        private Resource location;
+
+        /**
+         * キーストアの形式
+         */
+        private String type = "PKCS12";
+
+        /**
+         * キーストアと鍵のパスワード
+         */
+        private String password;
+
+        /**
+         * 鍵のエイリアス（未指定の場合はキーストアに1つだけ含まれるエントリ）
+         */
+        private String alias;
+    }
+
+    /**
+     * 検証済みトークンキャッシュ設定
+     */
+    @Data
+    public static class DecoderCache {
+
+        /**
+         * キャッシュする検証済みトークンの最大件数（0以下でキャッシュ無効）
+         */
+        private long maximumSize = 10_000;
+    }
+
+    /**
+     * JWKセット公開設定
+     */
+    @Data
+    public static class Jwks {
+
+        /**
+         * 利用側がJWKセットをキャッシュできる期間（Cache-Controlのmax-age）
+         */
+        private Duration maxAge = Duration.ofMinutes(5);
+    }
+
+    /**
+     * 一括発行・一括イントロスペクション設定
+     */
+    @Data
+    public static class Batch {
+
+        /**
+         * 1回のリクエストで発行できる最大件数
+         */
+        private int maxSize = 10_000;
+
+        /**
+         * 1回のリクエストでイントロスペクションできる最大件数
+         */
+        private int introspectionMaxSize = 100;
+
+        /**
+         * 署名・検証をそれぞれ並列に行うスレッド数（0以下の場合はCPUコア数）
+         */
+        private int parallelism = 0;
+    }
+
+    /**
+     * トークン失効設定
+     */
+    @Data
+    public static class Revocation {
+
+        /**
+         * Bloomフィルターに想定する失効済みトークン数（超えた時点で有効なトークンから作り直す）
+         */
+        private long expectedInsertions = 100_000;
+
+        /**
+         * 想定する失効済みトークン数でのBloomフィルターの偽陽性率
+         */
+        private double falsePositiveProbability = 0.001;
+
+        /**
+         * 失効ログ設定
+         */
+        private Log log = new Log();
+    }
+
+    /**
+     * 失効ログ設定
+     */
+    @Data
+    public static class Log {
+
+        /**
+         * 失効を永続化するファイルのパス（未指定の場合は永続化しない）
+         */
+        private String path;
+
+        /**
+         * ファイルに記録できる最大件数（既存のファイルの場合はファイルの値を使用する）
+         */
+        private int capacity = 1_048_576;
+
+        /**
+         * 同じファイルを共有する他のプロセスの失効を取り込み、有効期限切れのレコードを詰める間隔
+         */
+        private Duration syncInterval = Duration.ofSeconds(1);
+    }
 }
\ No newline at end of file
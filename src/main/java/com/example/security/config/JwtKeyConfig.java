@@ -0,0 +1,207 @@
+package com.example.security.config;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.example.security.service.jwt.JwtKey;
+import com.example.security.service.jwt.JwtKeyRing;
+import com.example.security.service.jwt.SigningAlgorithm;
+import com.example.security.util.KeyGeneratorUtil;
+import com.example.security.util.KeyLoaderUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JWT鍵設定
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class JwtKeyConfig {
+
+    /**
+     * Spring SecurityのJwtTimestampValidatorと同じ時刻のずれの許容値
+     */
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    /**
+     * JWT設定
+     */
+    private final JwtConfig jwtConfig;
+
+    /**
+     * JWTの鍵プロパティ
+     *
+     * <p>キーストア、PEMファイルの順に設定された鍵を読み込む。どちらも指定されていない場合は、
+     * {@code jwt.key.generate}が有効な場合に限り、設定された署名アルゴリズムに合わせた鍵を生成する。
+     *
+     * @return JWT鍵プロパティ
+     */
+    @Bean
+    public JwtKeyProperties jwtKeyProperties() {
+        return loadKeys(true);
+    }
+
+    /**
+     * JWTの鍵リング
+     *
+     * <p>{@code jwt.key.rotation-interval}ごとに{@link #jwtKeyProperties()}と同じ手順で鍵を読み込み直し、
+     * 鍵が変わっていれば署名鍵を切り替える。以前の署名鍵は、その鍵で署名したトークンが期限切れになるまで検証に使用する。
+     *
+     * @param jwtKeyProperties 起動時に読み込んだ鍵
+     * @param meterRegistry    メーターレジストリ
+     * @return JWTの鍵リング
+     */
+    @Bean
+    public JwtKeyRing jwtKeyRing(JwtKeyProperties jwtKeyProperties, MeterRegistry meterRegistry) {
+        Duration retention = Duration.ofMillis(Math.max(jwtConfig.getExpiration(), jwtConfig.getRefreshExpiration()))
+                .plus(CLOCK_SKEW);
+        JwtKeyRing jwtKeyRing = new JwtKeyRing(toJwtKey(jwtKeyProperties), () -> toJwtKey(loadKeys(false)),
+                jwtConfig.getKey().getRotationInterval(), retention);
+        jwtKeyRing.bindTo(meterRegistry);
+        return jwtKeyRing;
+    }
+
+    /**
+     * 設定に従った鍵の読み込み・生成
+     *
+     * @param startup 起動時かどうか（鍵を生成する場合の警告は起動時にのみ出力する）
+     */
+    private JwtKeyProperties loadKeys(boolean startup) {
+        SigningAlgorithm algorithm = jwtConfig.getAlgorithm();
+        JwtConfig.Key key = jwtConfig.getKey();
+
+        JwtKeyProperties jwtKeyProperties = new JwtKeyProperties();
+        jwtKeyProperties.setAlgorithm(algorithm);
+        try {
+            if (key.getKeyStore().getLocation() != null) {
+                loadFromKeyStore(jwtKeyProperties, key.getKeyStore());
+            } else if (key.getPrivateKeyLocation() != null || key.getPublicKeyLocation() != null) {
+                loadFromPem(jwtKeyProperties, key);
+            } else if (key.isGenerate()) {
+                if (startup) {
+                    log.warn("署名鍵が指定されていないため生成します。再起動すると発行済みのトークンは検証できなくなります");
+                }
+                generate(jwtKeyProperties);
+            } else {
+                throw new IllegalStateException("署名鍵が指定されていません。jwt.key.key-store.location・"
+                        + "jwt.key.private-key-locationを指定するか、jwt.key.generate=trueを指定してください");
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("鍵の読み込みに失敗しました: " + algorithm, e);
+        }
+
+        return jwtKeyProperties;
+    }
+
+    /**
+     * キーストアからの読み込み
+     */
+    private void loadFromKeyStore(JwtKeyProperties jwtKeyProperties, JwtConfig.KeyStore settings)
+            throws IOException, GeneralSecurityException {
+        char[] password = settings.getPassword() == null ? new char[0] : settings.getPassword().toCharArray();
+        KeyStore keyStore = KeyLoaderUtil.loadKeyStore(settings.getLocation(), settings.getType(), password);
+
+        String alias = settings.getAlias();
+        if (!StringUtils.hasText(alias)) {
+            List<String> aliases = Collections.list(keyStore.aliases());
+            if (aliases.size() != 1) {
+                throw new IllegalStateException(
+                        "キーストアのエントリが1つではないため、jwt.key.key-store.aliasを指定してください: " + aliases);
+            }
+            alias = aliases.get(0);
+        }
+
+        Key key = keyStore.getKey(alias, password);
+        SigningAlgorithm algorithm = jwtKeyProperties.getAlgorithm();
+        if (!algorithm.isAsymmetric()) {
+            if (!(key instanceof SecretKey secretKey)) {
+                throw new IllegalStateException("キーストアに共通鍵がありません: " + alias);
+            }
+            jwtKeyProperties.setSecretKey(secretKey);
+            return;
+        }
+
+        Certificate certificate = keyStore.getCertificate(alias);
+        if (!(key instanceof PrivateKey privateKey) || certificate == null) {
+            throw new IllegalStateException("キーストアに秘密鍵と証明書がありません: " + alias);
+        }
+        requireKeyAlgorithm(algorithm, privateKey);
+        jwtKeyProperties.setPrivateKey(privateKey);
+        jwtKeyProperties.setPublicKey(certificate.getPublicKey());
+    }
+
+    /**
+     * PEMファイルからの読み込み
+     */
+    private void loadFromPem(JwtKeyProperties jwtKeyProperties, JwtConfig.Key settings)
+            throws IOException, GeneralSecurityException {
+        SigningAlgorithm algorithm = jwtKeyProperties.getAlgorithm();
+        if (!algorithm.isAsymmetric()) {
+            throw new IllegalStateException("HS256の共通鍵はjwt.key.key-store.locationで指定してください");
+        }
+        if (settings.getPrivateKeyLocation() == null || settings.getPublicKeyLocation() == null) {
+            throw new IllegalStateException(
+                    "jwt.key.private-key-locationとjwt.key.public-key-locationの両方を指定してください");
+        }
+        String keyAlgorithm = algorithm.getKeyAlgorithm();
+        jwtKeyProperties.setPrivateKey(KeyLoaderUtil.readPrivateKey(settings.getPrivateKeyLocation(), keyAlgorithm));
+        jwtKeyProperties.setPublicKey(KeyLoaderUtil.readPublicKey(settings.getPublicKeyLocation(), keyAlgorithm));
+    }
+
+    /**
+     * 署名アルゴリズムに合わせた鍵の生成
+     */
+    private void generate(JwtKeyProperties jwtKeyProperties) {
+        SigningAlgorithm algorithm = jwtKeyProperties.getAlgorithm();
+        try {
+            if (algorithm == SigningAlgorithm.HS256) {
+                jwtKeyProperties.setSecretKey(KeyGeneratorUtil.generateHmacKey());
+            } else {
+                KeyPair keyPair = switch (algorithm) {
+                    case ES256 -> KeyGeneratorUtil.generateEcKey();
+                    case EDDSA -> KeyGeneratorUtil.generateEd25519Key();
+                    default -> KeyGeneratorUtil.generateRsaKey();
+                };
+                jwtKeyProperties.setPublicKey(keyPair.getPublic());
+                jwtKeyProperties.setPrivateKey(keyPair.getPrivate());
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("鍵の生成に失敗しました: " + algorithm, e);
+        }
+    }
+
+    /**
+     * 鍵リングに登録する鍵への変換
+     */
+    private static JwtKey toJwtKey(JwtKeyProperties jwtKeyProperties) {
+        return JwtKey.of(jwtKeyProperties.getAlgorithm(),
+                jwtKeyProperties.getSigningKey(), jwtKeyProperties.getVerificationKey());
+    }
+
+    /**
+     * 鍵の種類が署名アルゴリズムと一致することの確認
+     */
+    private static void requireKeyAlgorithm(SigningAlgorithm algorithm, Key key) {
+        if (!algorithm.getKeyAlgorithm().equals(key.getAlgorithm())) {
+            throw new IllegalStateException(
+                    "鍵の種類が署名アルゴリズムと一致しません: " + key.getAlgorithm() + " (" + algorithm + ")");
+        }
+    }
+}
\ No newline at end of file
@@ -1,20 +1,58 @@
 package com.example.security.config;
 
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
 
-import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.stereotype.Component;
+import javax.crypto.SecretKey;
+
+import com.example.security.service.jwt.SigningAlgorithm;
 
 import lombok.Data;
 
 /**
- * JWT鍵設定
+ * JWTの署名・検証に使用する鍵
+ *
+ * <p>{@link JwtKeyConfig}が{@link JwtConfig.Key}の設定に従って読み込んだ鍵、または生成した鍵を保持する。
  */
-@Component
-@ConfigurationProperties(prefix = "jwt.key")
 @Data
 public class JwtKeyProperties {
-    private RSAPublicKey publicKey;
-    private RSAPrivateKey privateKey;
+
+    /**
+     * 署名アルゴリズム
+     */
+    private SigningAlgorithm algorithm = SigningAlgorithm.RS256;
+
+    /**
+     * 公開鍵（RS256・ES256・EdDSA）
+     */
+    private PublicKey publicKey;
+
+    /**
+     * 秘密鍵（RS256・ES256・EdDSA）
+     */
+    private PrivateKey privateKey;
+
+    /**
+     * 共通鍵（HS256）
+     */
+    private SecretKey secretKey;
+
+    /**
+     * 署名に使用する鍵の取得
+     *
+     * @return HS256の場合は共通鍵、それ以外は秘密鍵
+     */
+    public Key getSigningKey() {
+        return algorithm.isAsymmetric() ? privateKey : secretKey;
+    }
+
+    /**
+     * 検証に使用する鍵の取得
+     *
+     * @return HS256の場合は共通鍵、それ以外は公開鍵
+     */
+    public Key getVerificationKey() {
+        return algorithm.isAsymmetric() ? publicKey : secretKey;
+    }
 }
\ No newline at end of file
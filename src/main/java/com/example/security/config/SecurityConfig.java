@@ -1,7 +1,12 @@
 package com.example.security.config;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -10,24 +15,32 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.StringUtils;
 
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
+import com.example.security.model.Role;
+import com.example.security.service.jwt.CachingJwtDecoder;
+import com.example.security.service.jwt.FastPathJwtDecoder;
+import com.example.security.service.jwt.JwkSetPublisher;
+import com.example.security.service.jwt.JwsJwtDecoders;
+import com.example.security.service.jwt.JwsJwtEncoder;
+import com.example.security.service.jwt.JwtKeyRing;
+import com.example.security.service.jwt.RevocationCheckingJwtDecoder;
+import com.example.security.service.jwt.RoleAuthoritiesConverter;
+import com.example.security.service.jwt.TemplateJwtSerializer;
+import com.example.security.service.password.BoundedPasswordEncoder;
+import com.example.security.service.password.PasswordEncoderCalibrator;
+import com.example.security.service.revocation.RevocationLog;
+import com.example.security.service.revocation.TokenRevocationStore;
+import com.example.security.service.timing.StageTimer;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -40,21 +53,28 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
-    private final JwtKeyProperties jwtKeyProperties;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    private final JwtKeyRing jwtKeyRing;
+    private final JwtConfig jwtConfig;
+    private final AuthConfig authConfig;
 
     /**
      * セキュリティフィルターチェーン
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+            JwtAuthenticationConverter jwtAuthenticationConverter) throws Exception {
         // Java 21のTextBlock機能を使用して、URL許可リストを定義
         String[] publicUrls = """
                         /api/v1/auth/**
+                        /.well-known/jwks.json
                         /v3/api-docs/**
                         /swagger-ui/**
                         /swagger-ui.html
                         /swagger-resources/**
-                        /actuator/**
+                        /actuator/health
+                        /actuator/health/**
+                        /actuator/info
                         /h2-console/**
                         """.trim().split("\\s+");
 
@@ -63,65 +83,156 @@ public class SecurityConfig {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // イントロスペクションは、トークンの有効性を第三者に確認させないよう管理者に限る（RFC 7662 2.1）
+                        .requestMatchers("/api/v1/auth/introspect").hasRole(Role.ADMIN.name())
                         .requestMatchers(publicUrls).permitAll()
+                        .requestMatchers("/api/v1/admin/**").hasRole(Role.ADMIN.name())
+                        // ヘルスチェック以外のActuator（Prometheusのメトリクスなど）は管理者に限る
+                        .requestMatchers("/actuator/**").hasRole(Role.ADMIN.name())
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())))
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter)))
+                .build();
+    }
+
+    /**
+     * ロール階層（ADMINはUSERの権限を含む）
+     */
+    @Bean
+    public static RoleHierarchy roleHierarchy() {
+        return RoleHierarchyImpl.withDefaultRolePrefix()
+                .role(Role.ADMIN.name()).implies(Role.USER.name())
                 .build();
     }
 
     /**
      * JWT認証コンバーター
+     *
+     * <p>rolesクレームを、ロール階層を展開済みの共有権限リストに変換する。変換の処理時間を段階ごとのタイマーに記録する。
      */
     @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter() {
-        JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
-        grantedAuthoritiesConverter.setAuthoritiesClaimName("roles");
-        grantedAuthoritiesConverter.setAuthorityPrefix("ROLE_");
+    public JwtAuthenticationConverter jwtAuthenticationConverter(MeterRegistry meterRegistry) {
+        RoleAuthoritiesConverter authoritiesConverter = new RoleAuthoritiesConverter(roleHierarchy());
+        StageTimer conversion = new StageTimer("authorities");
+        conversion.bindTo(meterRegistry);
 
         JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(grantedAuthoritiesConverter);
+        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(jwt -> {
+            long start = System.nanoTime();
+            try {
+                return authoritiesConverter.convert(jwt);
+            } finally {
+                conversion.record(System.nanoTime() - start);
+            }
+        });
         return jwtAuthenticationConverter;
     }
 
     /**
      * JWT デコーダー（トークン検証用）
+     *
+     * <p>トークンのkidヘッダーで鍵リングから選択した鍵で検証する。発行したトークンと同じ形のトークンは高速パスで検証し、
+     * それ以外はNimbusのデコーダーに委ねる。
+     * 検証済みトークンのキャッシュが有効な場合は、さらにキャッシュでラップする。
+     * 失効の判定はキャッシュにヒットした場合も行うよう、最も外側に置く。
      */
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(jwtKeyProperties.getPublicKey()).build();
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry, TokenRevocationStore tokenRevocationStore) {
+        FastPathJwtDecoder fastPathDecoder = new FastPathJwtDecoder(
+                jwtKeyRing, JwsJwtDecoders.withKeyRing(jwtKeyRing));
+        fastPathDecoder.bindTo(meterRegistry);
+
+        JwtDecoder decoder = fastPathDecoder;
+        long maximumSize = jwtConfig.getDecoderCache().getMaximumSize();
+        if (maximumSize > 0) {
+            CachingJwtDecoder cachingDecoder = new CachingJwtDecoder(fastPathDecoder, maximumSize);
+            cachingDecoder.bindTo(meterRegistry);
+            decoder = cachingDecoder;
+        }
+
+        RevocationCheckingJwtDecoder revocationCheckingDecoder =
+                new RevocationCheckingJwtDecoder(decoder, tokenRevocationStore);
+        revocationCheckingDecoder.bindTo(meterRegistry);
+        return revocationCheckingDecoder;
     }
 
     /**
-     * JWT エンコーダー（トークン生成用）
+     * 失効したトークンのストア
+     *
+     * <p>失効ログのパスが指定されている場合は、ログを再生して復元し、以降の失効をログに追記する。
+     */
+    @Bean
+    public TokenRevocationStore tokenRevocationStore(MeterRegistry meterRegistry) throws IOException {
+        JwtConfig.Revocation revocation = jwtConfig.getRevocation();
+        JwtConfig.Log logConfig = revocation.getLog();
+        RevocationLog revocationLog = StringUtils.hasText(logConfig.getPath())
+                ? RevocationLog.open(Path.of(logConfig.getPath()), logConfig.getCapacity())
+                : null;
+        TokenRevocationStore store = new TokenRevocationStore(
+                revocation.getExpectedInsertions(), revocation.getFalsePositiveProbability(),
+                revocationLog, logConfig.getSyncInterval());
+        store.bindTo(meterRegistry);
+        return store;
+    }
+
+    /**
+     * JWT エンコーダー（トークン生成用。鍵リングの現在の署名鍵で署名する）
      */
     @Bean
     public JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(jwtKeyProperties.getPublicKey())
-                .privateKey(jwtKeyProperties.getPrivateKey())
-                .build();
-        JWKSource<SecurityContext> jwkSource = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwkSource);
+        return new JwsJwtEncoder(jwtKeyRing);
+    }
+
+    /**
+     * JWT シリアライザー（ログイン・リフレッシュ時のトークン発行用。鍵リングの現在の署名鍵で署名する）
+     */
+    @Bean
+    public TemplateJwtSerializer jwtSerializer(MeterRegistry meterRegistry) {
+        TemplateJwtSerializer serializer = new TemplateJwtSerializer(jwtKeyRing);
+        serializer.bindTo(meterRegistry);
+        return serializer;
+    }
+
+    /**
+     * JWKセット（利用側のサービスがトークンを検証するための公開鍵。鍵リングが変わるたびにシリアライズし直す）
+     */
+    @Bean
+    public JwkSetPublisher jwkSetPublisher() {
+        return new JwkSetPublisher(jwtKeyRing);
     }
 
     /**
      * パスワードエンコーダー
+     *
+     * <p>ハッシュのコストは起動時に処理時間の目標値からキャリブレーションする。
+     * ハッシュ計算はリクエストスレッドではなく、CPUコア数に合わせた専用プールで実行する。
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        AuthConfig.PasswordHashing passwordHashing = authConfig.getPasswordHashing();
+        PasswordEncoder encoder = new PasswordEncoderCalibrator(passwordHashing.getLatencyBudget(),
+                passwordHashing.getBcryptCostTolerance())
+                .calibrate(passwordHashing.getAlgorithm());
+        return new BoundedPasswordEncoder(encoder,
+                passwordHashing.getPoolSize(),
+                passwordHashing.getQueueCapacity(),
+                passwordHashing.getRetryAfter(),
+                meterRegistry);
     }
 
     /**
      * 認証マネージャー
+     *
+     * <p>認証に成功したユーザーのハッシュのアルゴリズムやコストが現在の設定と異なる場合は、再ハッシュして保存する。
      */
     @Bean
-    public AuthenticationManager authenticationManager() {
+    public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(userDetailsService);
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        authenticationProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return new ProviderManager(authenticationProvider);
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.example.security.controller.admin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.service.jwt.BatchTokenService;
+import com.example.security.service.jwt.BatchTokenService.IssuedToken;
+import com.example.security.service.jwt.BatchTokenService.TokenRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * トークンの一括発行コントローラー（管理者のみ）
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class BatchTokenController {
+
+    /**
+     * 改行区切りJSONのメディアタイプ
+     */
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * トークンの一括発行サービス
+     */
+    private final BatchTokenService batchTokenService;
+
+    /**
+     * JWT設定
+     */
+    private final JwtConfig jwtConfig;
+
+    /**
+     * JSONのシリアライズに使用するObjectMapper
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * トークンの一括発行
+     *
+     * <p>発行したトークンを署名が完了した順に1行1件のJSON（{@code index}で依頼の位置と対応付ける）として返す。
+     * 件数が多いと非同期リクエストのタイムアウトを超えるため、リクエストのスレッドで書き出す。
+     *
+     * @param requests 発行依頼（サブジェクトとロール）
+     * @param response レスポンス（依頼が空、サブジェクトが空、件数が上限を超える場合は400）
+     * @throws IOException レスポンスの書き込みに失敗した場合
+     */
+    @PostMapping("/tokens")
+    public void issue(@RequestBody List<TokenRequest> requests, HttpServletResponse response) throws IOException {
+        if (requests == null || requests.isEmpty() || requests.size() > jwtConfig.getBatch().getMaxSize()) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        for (TokenRequest request : requests) {
+            if (request == null || request.subject() == null || request.subject().isBlank()) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                return;
+            }
+        }
+
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        ObjectWriter writer = objectMapper.writerFor(IssuedToken.class);
+        OutputStream out = response.getOutputStream();
+        batchTokenService.issue(requests, tokens -> {
+            for (IssuedToken token : tokens) {
+                out.write(writer.writeValueAsBytes(token));
+                out.write('\n');
+            }
+            // 完了したチャンクをすぐに送る
+            out.flush();
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.example.security.controller.admin;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.security.service.user.UserImportService;
+import com.example.security.service.user.UserImportService.Format;
+import com.example.security.service.user.UserImportService.ImportResult;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ユーザーの一括インポートコントローラー（管理者のみ）
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class UserImportController {
+
+    /**
+     * CSVのメディアタイプ
+     */
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    /**
+     * ユーザーの一括インポートサービス
+     */
+    private final UserImportService userImportService;
+
+    /**
+     * ユーザーのインポート（1行1件のJSON）
+     *
+     * <p>リクエスト本文は読み込みながら処理し、全体をメモリに保持しない。
+     *
+     * @param request リクエスト（文字コードの指定がない場合はUTF-8）
+     * @return 結果
+     * @throws IOException リクエストの読み込みに失敗した場合
+     */
+    @PostMapping(value = "/users/import", consumes = BatchTokenController.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResult> importNdjson(HttpServletRequest request) throws IOException {
+        return importUsers(request, Format.NDJSON);
+    }
+
+    /**
+     * ユーザーのインポート（ヘッダー行のあるCSV）
+     *
+     * <p>リクエスト本文は読み込みながら処理し、全体をメモリに保持しない。
+     *
+     * @param request リクエスト（文字コードの指定がない場合はUTF-8）
+     * @return 結果（ヘッダー行にemailとpasswordの列がない場合は400）
+     * @throws IOException リクエストの読み込みに失敗した場合
+     */
+    @PostMapping(value = "/users/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ImportResult> importCsv(HttpServletRequest request) throws IOException {
+        return importUsers(request, Format.CSV);
+    }
+
+    private ResponseEntity<ImportResult> importUsers(HttpServletRequest request, Format format)
+            throws IOException {
+        Charset charset = request.getCharacterEncoding() == null ? StandardCharsets.UTF_8
+                : Charset.forName(request.getCharacterEncoding());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset))) {
+            return ResponseEntity.ok(userImportService.importUsers(reader, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.security.controller.advice;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.example.security.service.auth.EmailAlreadyRegisteredException;
+import com.example.security.service.password.PasswordEncoderBusyException;
+import com.example.security.service.throttle.LoginThrottledException;
+
+/**
+ * REST APIの例外ハンドラー
+ */
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    /**
+     * パスワードハッシュ処理の過負荷（503 + Retry-After）
+     *
+     * @param e 例外
+     * @return レスポンス
+     */
+    @ExceptionHandler(PasswordEncoderBusyException.class)
+    public ResponseEntity<Void> handlePasswordEncoderBusy(PasswordEncoderBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, e.getRetryAfter().toSeconds())))
+                .build();
+    }
+
+    /**
+     * ログインの試行回数の超過（429 + Retry-After）
+     *
+     * @param e 例外
+     * @return レスポンス
+     */
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Void> handleLoginThrottled(LoginThrottledException e) {
+        // 秒未満の待ち時間は切り上げる（0秒では直ちに再試行され再び拒否されるため）
+        long seconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .build();
+    }
+
+    /**
+     * 登録済みのメールアドレスでの登録（409）
+     *
+     * @param e 例外
+     * @return レスポンス
+     */
+    @ExceptionHandler(EmailAlreadyRegisteredException.class)
+    public ResponseEntity<Void> handleEmailAlreadyRegistered(EmailAlreadyRegisteredException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
\ No newline at end of file
@@ -11,6 +11,7 @@ import com.example.security.service.auth.AuthenticationService.AuthenticationReq
 import com.example.security.service.auth.AuthenticationService.AuthenticationResponse;
 import com.example.security.service.auth.AuthenticationService.RegisterRequest;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -41,12 +42,13 @@ public class AuthenticationController {
     /**
      * 認証
      *
-     * @param request 認証リクエスト
-     * @return 認証レスポンス
+     * @param request     認証リクエスト
+     * @param httpRequest HTTPリクエスト（接続元のアドレスの取得に使用）
+     * @return 認証レスポンス。試行回数が上限を超えた場合は429
      */
     @PostMapping("/authenticate")
     public ResponseEntity<AuthenticationResponse> authenticate(
-            @RequestBody AuthenticationRequest request) {
-        return ResponseEntity.ok(service.authenticate(request));
+            @RequestBody AuthenticationRequest request, HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(service.authenticate(request, httpRequest.getRemoteAddr()));
     }
 }
\ No newline at end of file
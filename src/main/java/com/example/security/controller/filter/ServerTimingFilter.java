@@ -0,0 +1,62 @@
+package com.example.security.controller.filter;
+
+import java.io.IOException;
+
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.security.service.timing.ServerTiming;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 段階ごとの処理時間をServer-Timingヘッダーで返すフィルター
+ *
+ * <p>トークンの検証もリクエストの処理時間に含めるため、Spring Securityのフィルターより前に置く。
+ * ヘッダーはレスポンスがコミットされる直前（本文のないレスポンスではリクエストの処理の後）に付与する。
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.begin();
+        ServerTimingResponseWrapper wrapper = new ServerTimingResponseWrapper(response, timing);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            wrapper.writeHeader();
+            ServerTiming.end();
+        }
+    }
+
+    /**
+     * コミットされる直前にServer-Timingヘッダーを付与するレスポンス
+     */
+    private static final class ServerTimingResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final ServerTiming timing;
+
+        private boolean written;
+
+        ServerTimingResponseWrapper(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader();
+        }
+
+        void writeHeader() {
+            if (!written && !isCommitted()) {
+                setHeader(ServerTiming.HEADER_NAME, timing.toHeaderValue());
+            }
+            written = true;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.example.security.controller.jwks;
+
+import java.util.List;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.service.jwt.JwkSetPublisher;
+import com.example.security.service.jwt.JwkSetPublisher.JwkSetDocument;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JWKセットコントローラー
+ *
+ * <p>利用側のサービスは公開鍵を取得してトークンをローカルで検証する。
+ * 未知の鍵ID（kid）のトークンを受け取った場合は、キャッシュの期限内でも取得し直すことを想定する。
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwkSetController {
+
+    /**
+     * JWKセット
+     */
+    private final JwkSetPublisher jwkSetPublisher;
+
+    /**
+     * JWT設定
+     */
+    private final JwtConfig jwtConfig;
+
+    /**
+     * JWKセットの取得
+     *
+     * @param ifNoneMatch If-None-Matchヘッダー
+     * @return JWKセット（If-None-MatchがETagと一致する場合は本文なしの304）
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<byte[]> jwks(
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch) {
+        JwkSetDocument document = jwkSetPublisher.current();
+        CacheControl cacheControl = CacheControl.maxAge(jwtConfig.getJwks().getMaxAge()).cachePublic();
+
+        if (ifNoneMatch != null && matches(ifNoneMatch, document.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(document.eTag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(document.eTag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(document.json());
+    }
+
+    /**
+     * If-None-Matchのいずれかのエンティティタグと一致するか（RFC 9110の弱い比較）
+     */
+    private static boolean matches(List<String> ifNoneMatch, String eTag) {
+        for (String value : ifNoneMatch) {
+            for (String tag : value.split(",")) {
+                String trimmed = tag.trim();
+                if (trimmed.startsWith("W/")) {
+                    trimmed = trimmed.substring(2);
+                }
+                if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.example.security.controller.token;
+
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.service.jwt.TokenIntrospectionService;
+import com.example.security.service.jwt.TokenIntrospectionService.Introspection;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * トークンイントロスペクションコントローラー（管理者のみ）
+ */
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class TokenIntrospectionController {
+
+    /**
+     * トークンのイントロスペクションサービス
+     */
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    /**
+     * JWT設定
+     */
+    private final JwtConfig jwtConfig;
+
+    /**
+     * イントロスペクションリクエスト（tokenとtokensのどちらか一方を指定する）
+     *
+     * @param token  トークン
+     * @param tokens 複数のトークン
+     */
+    public record IntrospectionRequest(String token, List<String> tokens) {
+    }
+
+    /**
+     * トークンのイントロスペクション（JSON）
+     *
+     * @param request イントロスペクションリクエスト
+     * @return tokenを指定した場合は結果、tokensを指定した場合は同じ順序の結果の配列。
+     *         どちらも指定しない、両方指定する、件数が上限を超える場合は400
+     */
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> introspect(@RequestBody IntrospectionRequest request) {
+        if ((request.token() == null) == (request.tokens() == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (request.token() != null) {
+            return ResponseEntity.ok(tokenIntrospectionService.introspect(request.token()));
+        }
+        if (request.tokens().size() > jwtConfig.getBatch().getIntrospectionMaxSize()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(request.tokens()));
+    }
+
+    /**
+     * トークンのイントロスペクション（RFC 7662のフォーム形式）
+     *
+     * @param token トークン
+     * @return 結果
+     */
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<Introspection> introspectForm(@RequestParam("token") String token) {
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(token));
+    }
+}
\ No newline at end of file
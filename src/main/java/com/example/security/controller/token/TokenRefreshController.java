@@ -1,5 +1,7 @@
 package com.example.security.controller.token;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,8 +12,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.security.service.jfr.AuthEvent;
+import com.example.security.service.jfr.TokenRefreshEvent;
 import com.example.security.service.jwt.JwtService;
 import com.example.security.service.jwt.JwtService.JwtToken;
+import com.example.security.service.user.CachingUserDetailsService;
+import com.example.security.service.user.TokenVersionCache;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +45,11 @@ public class TokenRefreshController {
      */
     private final UserDetailsService userDetailsService;
 
+    /**
+     * トークンのバージョンのキャッシュ
+     */
+    private final TokenVersionCache tokenVersionCache;
+
     /**
      * トークンリフレッシュレスポンス
      *
@@ -51,20 +62,28 @@ public class TokenRefreshController {
     /**
      * トークンリフレッシュ
      *
+     * <p>リフレッシュトークンのバージョンが現在のものであれば、トークンに含めたロールでアクセストークンを発行し、
+     * ユーザー詳細を取得しない。バージョンが古い場合（ロールやパスワードが変更された場合）や
+     * バージョンを含まない以前の形式の場合は、ユーザー詳細を取得して現在のバージョンのリフレッシュトークンに差し替える。
+     *
      * @param request リクエスト
      * @return トークンリフレッシュレスポンス
      */
     @PostMapping("/refresh-token")
     public ResponseEntity<TokenRefreshResponse> refreshToken(
             HttpServletRequest request) {
-        // Authorizationヘッダーからリフレッシュトークンを取得
-        final String authHeader = request.getHeader("Authorization");
+        TokenRefreshEvent event = new TokenRefreshEvent();
+        event.begin();
+        String outcome = AuthEvent.FAILURE;
+        boolean cached = false;
+        try {
+            // Authorizationヘッダーからリフレッシュトークンを取得
+            final String authHeader = request.getHeader("Authorization");
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return ResponseEntity.badRequest().build();
-        }
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return ResponseEntity.badRequest().build();
+            }
 
-        try {
             // トークンの取得と検証
             String refreshToken = authHeader.substring(7);
             var jwt = jwtDecoder.decode(refreshToken);
@@ -72,16 +91,34 @@ public class TokenRefreshController {
             // サブジェクトからユーザー名を取得
             String username = jwt.getSubject();
 
+            // バージョンが現在のものであれば、トークンのロールで新しいアクセストークンを生成（リフレッシュトークンは再利用）
+            List<String> roles = jwt.getClaimAsStringList(JwtService.REFRESH_ROLES_CLAIM);
+            if (roles != null && jwt.getClaim(JwtService.TOKEN_VERSION_CLAIM) instanceof Number version
+                    && tokenVersionCache.isCurrent(username, version.intValue())) {
+                cached = true;
+                JwtToken jwtToken = jwtService.generateAccessToken(username, roles);
+                outcome = AuthEvent.SUCCESS;
+                return ResponseEntity.ok(
+                        new TokenRefreshResponse(jwtToken.token(), refreshToken));
+            }
+
             // ユーザー情報の取得
+            cached = event.isEnabled() && CachingUserDetailsService.isCached(userDetailsService, username);
             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-            // 新しいアクセストークンの生成（リフレッシュトークンは再利用）
+            // 新しいアクセストークンとリフレッシュトークンの生成
             JwtToken jwtToken = jwtService.generateToken(userDetails);
 
+            outcome = AuthEvent.SUCCESS;
             return ResponseEntity.ok(
-                    new TokenRefreshResponse(jwtToken.token(), refreshToken));
+                    new TokenRefreshResponse(jwtToken.token(), jwtToken.refreshToken()));
         } catch (JwtException | BadCredentialsException e) {
             return ResponseEntity.status(401).build();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit(outcome, jwtService.getAlgorithm(), cached);
+            }
         }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.security.controller.token;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.security.service.revocation.TokenRevocationStore;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * トークン失効コントローラー
+ */
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class TokenRevocationController {
+
+    /**
+     * JWTデコーダー
+     */
+    private final JwtDecoder jwtDecoder;
+
+    /**
+     * 失効したトークンのストア
+     */
+    private final TokenRevocationStore tokenRevocationStore;
+
+    /**
+     * トークン失効
+     *
+     * <p>Authorizationヘッダーのトークン（アクセストークン・リフレッシュトークンのどちらも可）を有効期限まで失効させる。
+     *
+     * @param request リクエスト
+     * @return 失効した場合は204、トークンがjtiを持たない場合は400
+     */
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(HttpServletRequest request) {
+        // Authorizationヘッダーから失効させるトークンを取得
+        final String authHeader = request.getHeader("Authorization");
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            // トークンの取得と検証
+            Jwt jwt = jwtDecoder.decode(authHeader.substring(7));
+
+            // jtiを持たないトークンは失効できない
+            if (jwt.getId() == null || jwt.getExpiresAt() == null) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            tokenRevocationStore.revoke(jwt.getId(), jwt.getExpiresAt());
+            return ResponseEntity.noContent().build();
+        } catch (JwtException e) {
+            return ResponseEntity.status(401).build();
+        }
+    }
+}
\ No newline at end of file
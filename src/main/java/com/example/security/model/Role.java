@@ -1,5 +1,11 @@
 package com.example.security.model;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
 /**
  * ユーザーのロール
  */
@@ -13,5 +19,19 @@ public enum Role {
     /**
      * 管理者
      */
-    ADMIN
+    ADMIN;
+
+    /**
+     * ロールに対応する権限（不変・共有インスタンス）
+     */
+    private final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(name()));
+
+    /**
+     * 権限の取得
+     *
+     * @return ロールに対応する権限
+     */
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
 }
\ No newline at end of file
@@ -1,17 +1,26 @@
 package com.example.security.model;
 
 import java.util.Collection;
-import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 
+import com.example.security.repository.user.UserEntityListener;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,22 +29,30 @@ import lombok.NoArgsConstructor;
 
 /**
  * ユーザー
+ *
+ * <p>メールアドレスは{@link #normalizeEmail(String)}で正規化して保存し、一意なインデックスで検索する。
+ * ロールかパスワードを変更するとトークンのバージョンが増え、発行済みのリフレッシュトークンのロールは使われなくなる。
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "_user")
-public class User implements UserDetails {
+@EntityListeners(UserEntityListener.class)
+@Table(name = "_user", indexes = @Index(name = "ux_user_email", columnList = "email", unique = true))
+public class User implements VersionedUserDetails {
 
     private static final long serialVersionUID = 1L;
 
     /**
      * ID
+     *
+     * <p>シーケンスから50件ずつまとめて採番し（pooled）、INSERTをJDBCのバッチにまとめられるようにする。
+     * シーケンス名と増分はHibernateの既定値と同じにし、既存のスキーマをそのまま使えるようにする。
      */
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "_user_seq", allocationSize = 50)
     private Integer id;
 
     /**
@@ -49,7 +66,7 @@ public class User implements UserDetails {
     private String lastname;
 
     /**
-     * メールアドレス
+     * メールアドレス（正規化済み）
      */
     private String email;
 
@@ -64,12 +81,62 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    /**
+     * トークンのバージョン（ロールかパスワードの変更で増やす）
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int tokenVersion;
+
+    /**
+     * パスワードの設定（変更した場合はトークンのバージョンを増やす）
+     *
+     * @param password パスワード
+     */
+    public void setPassword(String password) {
+        if (!Objects.equals(this.password, password)) {
+            tokenVersion++;
+        }
+        this.password = password;
+    }
+
+    /**
+     * ロールの設定（変更した場合はトークンのバージョンを増やす）
+     *
+     * @param role ロール
+     */
+    public void setRole(Role role) {
+        if (this.role != role) {
+            tokenVersion++;
+        }
+        this.role = role;
+    }
+
+    /**
+     * メールアドレスの正規化（前後の空白を除き、小文字にする）
+     *
+     * @param email メールアドレス
+     * @return 正規化したメールアドレス（nullの場合はnull）
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 保存前のメールアドレスの正規化
+     */
+    @PrePersist
+    @PreUpdate
+    void normalizeEmail() {
+        email = normalizeEmail(email);
+    }
+
     /**
      * 権限の取得
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority(role.name()));
+        return role.getAuthorities();
     }
 
     /**
@@ -0,0 +1,64 @@
+package com.example.security.model;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * 認証に必要な項目だけを持つユーザー詳細（不変）
+ *
+ * <p>ログインとトークンの更新では、{@link User}エンティティの代わりにこの射影を問い合わせる。
+ * 管理対象のエンティティにならないため、永続化コンテキストへの登録や変更検知用のスナップショットが不要になる。
+ * {@link org.springframework.security.core.CredentialsContainer}を実装しないため、
+ * 認証後にパスワードが消去されず、ユーザー詳細キャッシュでそのまま共有できる。
+ *
+ * @param email        メールアドレス（正規化済み）
+ * @param password     パスワード（ハッシュ）
+ * @param role         ロール
+ * @param tokenVersion トークンのバージョン
+ */
+public record UserCredentials(String email, String password, Role role, int tokenVersion)
+        implements VersionedUserDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 権限の取得
+     */
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role.getAuthorities();
+    }
+
+    /**
+     * パスワードの取得
+     */
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * ユーザー名の取得
+     */
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    /**
+     * トークンのバージョンの取得
+     */
+    @Override
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    /**
+     * パスワードを含めない文字列表現
+     */
+    @Override
+    public String toString() {
+        return "UserCredentials[email=" + email + ", role=" + role + ", tokenVersion=" + tokenVersion + "]";
+    }
+}
\ No newline at end of file
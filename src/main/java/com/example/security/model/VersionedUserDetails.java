@@ -0,0 +1,19 @@
+package com.example.security.model;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * トークンのバージョンを持つユーザー詳細
+ *
+ * <p>バージョンはロールかパスワードを変更するたびに増え、リフレッシュトークンに含めて発行する。
+ * トークンの更新時にバージョンが現在のものと一致すれば、トークンに含めたロールをそのまま使用できる。
+ */
+public interface VersionedUserDetails extends UserDetails {
+
+    /**
+     * トークンのバージョンの取得
+     *
+     * @return トークンのバージョン
+     */
+    int getTokenVersion();
+}
\ No newline at end of file
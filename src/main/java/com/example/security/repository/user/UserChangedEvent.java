@@ -0,0 +1,38 @@
+package com.example.security.repository.user;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * ユーザーの登録・更新・削除イベント
+ *
+ * <p>トランザクションがある場合はコミット後に発行される。
+ */
+public class UserChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 変更されたユーザーのメールアドレス
+     */
+    private final String email;
+
+    /**
+     * コンストラクタ
+     *
+     * @param source 発行元
+     * @param email  変更されたユーザーのメールアドレス
+     */
+    public UserChangedEvent(Object source, String email) {
+        super(source);
+        this.email = email;
+    }
+
+    /**
+     * 変更されたユーザーのメールアドレスの取得
+     *
+     * @return メールアドレス
+     */
+    public String getEmail() {
+        return email;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.example.security.repository.user;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.security.model.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ユーザーエンティティの変更を{@link UserChangedEvent}として通知するリスナー
+ *
+ * <p>HibernateがSpringのBeanコンテナ経由で生成するため、コンストラクタインジェクションが利用できる。
+ */
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+    /**
+     * イベント発行者
+     */
+    private final ApplicationEventPublisher publisher;
+
+    /**
+     * ユーザーの変更を通知
+     *
+     * @param user 変更されたユーザー
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        UserChangedEvent event = new UserChangedEvent(this, user.getEmail());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publisher.publishEvent(event);
+            return;
+        }
+
+        // コミット前に通知すると、キャッシュが古い値で再ロードされる可能性があるため
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publisher.publishEvent(event);
+            }
+        });
+    }
+}
\ No newline at end of file
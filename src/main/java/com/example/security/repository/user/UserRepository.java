@@ -1,13 +1,25 @@
 package com.example.security.repository.user;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.security.model.User;
+import com.example.security.model.UserCredentials;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * ユーザーリポジトリ
+ *
+ * <p>メールアドレスは{@link User#normalizeEmail(String)}で正規化したもので検索する。
  */
 public interface UserRepository extends JpaRepository<User, Integer> {
 
@@ -18,4 +30,49 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * @return ユーザー
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * メールアドレスで認証に必要な項目だけを検索
+     *
+     * <p>エンティティを読み込まず、メールアドレス・パスワード・ロール・トークンのバージョンの列だけを
+     * 不変の{@link UserCredentials}として返す。
+     * 読み取り専用のトランザクションで実行し、書き込み可能なトランザクションの中から呼ばれた場合も
+     * 問い合わせの前にフラッシュしない。
+     *
+     * @param email メールアドレス
+     * @return 認証に必要な項目
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select new com.example.security.model.UserCredentials(u.email, u.password, u.role, u.tokenVersion) "
+            + "from User u where u.email = :email")
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+    /**
+     * メールアドレスでトークンのバージョンを検索
+     *
+     * @param email メールアドレス
+     * @return トークンのバージョン
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+    @Query("select u.tokenVersion from User u where u.email = :email")
+    Optional<Integer> findTokenVersionByEmail(@Param("email") String email);
+
+    /**
+     * メールアドレスのユーザーが存在するか
+     *
+     * @param email メールアドレス
+     * @return 存在する場合はtrue
+     */
+    boolean existsByEmail(String email);
+
+    /**
+     * 登録済みのメールアドレスの検索
+     *
+     * @param emails メールアドレス
+     * @return 引数のうち登録済みのメールアドレス
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
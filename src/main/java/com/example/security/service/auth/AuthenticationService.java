@@ -1,17 +1,24 @@
 package com.example.security.service.auth;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.example.security.model.Role;
 import com.example.security.model.User;
 import com.example.security.repository.user.UserRepository;
+import com.example.security.service.jfr.AuthEvent;
+import com.example.security.service.jfr.LoginEvent;
+import com.example.security.service.jfr.RegistrationEvent;
 import com.example.security.service.jwt.JwtService;
 import com.example.security.service.jwt.JwtService.JwtToken;
+import com.example.security.service.throttle.LoginThrottle;
+import com.example.security.service.user.CachingUserDetailsService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,6 +32,8 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserDetailsService userDetailsService;
+    private final LoginThrottle loginThrottle;
 
     /**
      * 認証リクエスト
@@ -60,39 +69,85 @@ public class AuthenticationService {
      *
      * @param request 登録リクエスト
      * @return 認証レスポンス
+     * @throws EmailAlreadyRegisteredException メールアドレスが登録済みの場合
      */
     @SuppressWarnings("null")
     public AuthenticationResponse register(RegisterRequest request) {
-        User user = User.builder()
-                .firstname(request.firstname())
-                .lastname(request.lastname())
-                .email(request.email())
-                .password(passwordEncoder.encode(request.password()))
-                .role(Role.USER)
-                .build();
-        User savedUser = repository.save(user);
-
-        JwtToken jwtToken = jwtService.generateToken(savedUser);
-
-        return new AuthenticationResponse(jwtToken.token(), jwtToken.refreshToken());
+        RegistrationEvent event = new RegistrationEvent();
+        event.begin();
+        String outcome = AuthEvent.SUCCESS;
+        try {
+            // パスワードのハッシュ計算の前に判定する（同時の登録は一意制約で検出する）
+            String email = User.normalizeEmail(request.email());
+            if (repository.existsByEmail(email)) {
+                throw new EmailAlreadyRegisteredException();
+            }
+
+            User user = User.builder()
+                    .firstname(request.firstname())
+                    .lastname(request.lastname())
+                    .email(email)
+                    .password(passwordEncoder.encode(request.password()))
+                    .role(Role.USER)
+                    .build();
+            User savedUser;
+            try {
+                savedUser = repository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                throw new EmailAlreadyRegisteredException(e);
+            }
+
+            JwtToken jwtToken = jwtService.generateToken(savedUser);
+
+            return new AuthenticationResponse(jwtToken.token(), jwtToken.refreshToken());
+        } catch (RuntimeException e) {
+            outcome = AuthEvent.outcomeOf(e);
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit(outcome, jwtService.getAlgorithm(), false);
+            }
+        }
     }
 
     /**
      * 認証
      *
-     * @param request 認証リクエスト
+     * <p>パスワードを照合する前に試行回数を判定し、上限を超えた試行ではパスワードのハッシュ計算を行わない。
+     *
+     * @param request       認証リクエスト
+     * @param clientAddress 接続元のアドレス
      * @return 認証レスポンス
+     * @throws com.example.security.service.throttle.LoginThrottledException 試行回数が上限を超えた場合
      */
-    public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.email(),
-                        request.password()));
+    public AuthenticationResponse authenticate(AuthenticationRequest request, String clientAddress) {
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        // 認証でユーザー詳細がキャッシュされるため、認証の前に判定する
+        boolean cached = event.isEnabled() && CachingUserDetailsService.isCached(userDetailsService, request.email());
+        String outcome = AuthEvent.SUCCESS;
+        try {
+            loginThrottle.check(request.email(), clientAddress);
+
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.email(),
+                            request.password()));
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+            SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        JwtToken jwtToken = jwtService.generateToken(authentication);
+            JwtToken jwtToken = jwtService.generateToken(authentication);
 
-        return new AuthenticationResponse(jwtToken.token(), jwtToken.refreshToken());
+            return new AuthenticationResponse(jwtToken.token(), jwtToken.refreshToken());
+        } catch (RuntimeException e) {
+            outcome = AuthEvent.outcomeOf(e);
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit(outcome, jwtService.getAlgorithm(), cached);
+            }
+        }
     }
 }
\ No newline at end of file
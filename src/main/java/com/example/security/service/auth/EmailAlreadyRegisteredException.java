@@ -0,0 +1,25 @@
+package com.example.security.service.auth;
+
+/**
+ * メールアドレスが登録済みであることを示す例外
+ */
+public class EmailAlreadyRegisteredException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * コンストラクタ
+     */
+    public EmailAlreadyRegisteredException() {
+        super("Email is already registered");
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param cause 原因（同時の登録による一意制約違反）
+     */
+    public EmailAlreadyRegisteredException(Throwable cause) {
+        super("Email is already registered", cause);
+    }
+}
\ No newline at end of file
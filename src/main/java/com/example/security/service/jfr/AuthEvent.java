@@ -0,0 +1,98 @@
+package com.example.security.service.jfr;
+
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
+
+import com.example.security.service.password.PasswordEncoderBusyException;
+import com.example.security.service.throttle.LoginThrottledException;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * 認証とトークンの操作のJFRイベントの基底クラス
+ *
+ * <p>処理時間に加えて、結果・アルゴリズム・キャッシュにヒットしたかを記録する。
+ * 呼び出し元は{@link #begin()}・{@link #end()}で処理を挟み、{@link #shouldCommit()}がtrueの場合だけ
+ * 各項目を求めて{@link #commit(String, String, boolean)}する。イベントが無効な場合はいずれも何もせず、
+ * イベントのインスタンスもエスケープ解析で割り当てが除去されるため、記録しない間のコストはかからない。
+ * 常時記録で扱いやすいようスタックトレースは記録しない。
+ */
+@Category({ "Application", "Authentication" })
+@StackTrace(false)
+public abstract class AuthEvent extends Event {
+
+    /**
+     * 成功
+     */
+    public static final String SUCCESS = "SUCCESS";
+
+    /**
+     * 失敗（認証情報やトークンが不正な場合など）
+     */
+    public static final String FAILURE = "FAILURE";
+
+    /**
+     * パスワードハッシュ処理が混み合っているため拒否した
+     */
+    public static final String BUSY = "BUSY";
+
+    /**
+     * 試行回数が上限を超えたため拒否した
+     */
+    public static final String THROTTLED = "THROTTLED";
+
+    // JFRは基底クラスのprivateフィールドを記録しないためprotectedにする
+    @Label("Outcome")
+    @Description("SUCCESS, FAILURE, BUSY or THROTTLED")
+    protected String outcome;
+
+    @Label("Algorithm")
+    @Description("JWS algorithm of the token that was signed or verified")
+    protected String algorithm;
+
+    @Label("Cache Hit")
+    @Description("Whether the result was served from a cache (see the event description)")
+    protected boolean cacheHit;
+
+    /**
+     * 各項目を設定して記録
+     *
+     * @param outcome   結果
+     * @param algorithm アルゴリズム
+     * @param cacheHit  キャッシュにヒットしたか
+     */
+    public void commit(String outcome, String algorithm, boolean cacheHit) {
+        this.outcome = outcome;
+        this.algorithm = algorithm;
+        this.cacheHit = cacheHit;
+        commit();
+    }
+
+    /**
+     * 各項目を設定して記録
+     *
+     * @param outcome   結果
+     * @param algorithm アルゴリズム（nullの場合は記録しない）
+     * @param cacheHit  キャッシュにヒットしたか
+     */
+    public void commit(String outcome, JwsAlgorithm algorithm, boolean cacheHit) {
+        commit(outcome, algorithm == null ? null : algorithm.getName(), cacheHit);
+    }
+
+    /**
+     * 例外に対応する結果
+     *
+     * @param e 例外
+     * @return パスワードハッシュ処理が混み合っている場合は{@link #BUSY}、試行回数が上限を超えた場合は{@link #THROTTLED}、
+     *         それ以外は{@link #FAILURE}
+     */
+    public static String outcomeOf(RuntimeException e) {
+        if (e instanceof PasswordEncoderBusyException) {
+            return BUSY;
+        }
+        return e instanceof LoginThrottledException ? THROTTLED : FAILURE;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.security.service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * ログインのJFRイベント
+ *
+ * <p>パスワードの照合を含む認証とトークンの発行の全体を計測する。アルゴリズムは発行したトークンの署名アルゴリズム、
+ * キャッシュのヒットは認証前にユーザー詳細がキャッシュにあったかを表す。
+ */
+@Name("com.example.security.Login")
+@Label("Login")
+@Description("Authentication with email and password, including token issuance. Cache Hit: user details were cached")
+public class LoginEvent extends AuthEvent {
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.security.service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * ユーザー登録のJFRイベント
+ *
+ * <p>パスワードのハッシュ化・ユーザーの保存・トークンの発行の全体を計測する。アルゴリズムは発行したトークンの署名アルゴリズム。
+ * 登録はキャッシュを使用しないため、キャッシュのヒットは常にfalse。
+ */
+@Name("com.example.security.Registration")
+@Label("Registration")
+@Description("User registration, including password hashing and token issuance. Cache Hit: always false")
+public class RegistrationEvent extends AuthEvent {
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.security.service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * トークンリフレッシュのJFRイベント
+ *
+ * <p>リフレッシュトークンの検証・ユーザー詳細の取得・アクセストークンの発行の全体を計測する。
+ * アルゴリズムは発行したトークンの署名アルゴリズム、キャッシュのヒットはリフレッシュトークンのクレームから発行したか、
+ * ユーザー詳細がキャッシュにあったかを表す。
+ */
+@Name("com.example.security.TokenRefresh")
+@Label("Token Refresh")
+@Description("Access token refresh with a refresh token. Cache Hit: issued from the refresh token claims or user details were cached")
+public class TokenRefreshEvent extends AuthEvent {
+}
\ No newline at end of file
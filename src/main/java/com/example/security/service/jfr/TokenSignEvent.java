@@ -0,0 +1,17 @@
+package com.example.security.service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * トークンの署名のJFRイベント
+ *
+ * <p>ペイロードのシリアライズと署名を計測する。キャッシュのヒットはシリアライズ済みのrolesクレームを使用したかを表す
+ * （rolesクレームを含まないリフレッシュトークンは常にfalse）。
+ */
+@Name("com.example.security.TokenSign")
+@Label("Token Sign")
+@Description("Token serialization and signing. Cache Hit: a pre-serialized roles claim was used")
+public class TokenSignEvent extends AuthEvent {
+}
\ No newline at end of file
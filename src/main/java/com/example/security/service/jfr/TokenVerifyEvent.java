@@ -0,0 +1,17 @@
+package com.example.security.service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * トークンの検証のJFRイベント
+ *
+ * <p>検証済みトークンのキャッシュにヒットした場合はキャッシュのデコーダーが、それ以外は署名を検証するデコーダーが記録する。
+ * 失効の判定は含まない。アルゴリズムはトークンのJWSヘッダーのalg（検証に失敗した場合は記録しない）。
+ */
+@Name("com.example.security.TokenVerify")
+@Label("Token Verify")
+@Description("Token signature and claims verification. Cache Hit: served from the verified token cache")
+public class TokenVerifyEvent extends AuthEvent {
+}
\ No newline at end of file
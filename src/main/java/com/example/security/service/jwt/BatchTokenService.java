@@ -0,0 +1,153 @@
+package com.example.security.service.jwt;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.model.Role;
+import com.example.security.service.jwt.JwtService.JwtToken;
+
+/**
+ * トークンの一括発行サービス
+ *
+ * <p>発行依頼を一定件数ごとのチャンクに分け、CPUコア数のスレッドで並列に{@link JwtService}で署名する。
+ * 呼び出し元には完了したチャンクから順に渡すため、結果の順序は依頼の順序と一致しない（{@link IssuedToken#index()}で対応付ける）。
+ * スレッドはすべての一括発行で共有し、同時に複数の依頼があっても署名の並列度はスレッド数を超えない。
+ */
+@Service
+public class BatchTokenService implements AutoCloseable {
+
+    /**
+     * 1タスクで署名する件数（タスクの受け渡しのコストを署名のコストに比べて小さくする）
+     */
+    static final int CHUNK_SIZE = 64;
+
+    private final JwtService jwtService;
+    private final ExecutorService executor;
+
+    /**
+     * 発行依頼
+     *
+     * @param subject サブジェクト
+     * @param roles   ロール
+     */
+    public record TokenRequest(String subject, List<Role> roles) {
+    }
+
+    /**
+     * 発行したトークン
+     *
+     * @param index        発行依頼の位置
+     * @param subject      サブジェクト
+     * @param accessToken  アクセストークン
+     * @param refreshToken リフレッシュトークン
+     * @param expiresAt    アクセストークンの有効期限
+     */
+    public record IssuedToken(int index, String subject, String accessToken, String refreshToken,
+            Instant expiresAt) {
+    }
+
+    /**
+     * 完了したチャンクの受け取り先
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+
+        /**
+         * 完了したチャンクの受け取り（呼び出し元のスレッドから1チャンクずつ呼び出される）
+         *
+         * @param tokens 発行したトークン
+         * @throws IOException 書き込みに失敗した場合（残りの発行は取り消す）
+         */
+        void accept(List<IssuedToken> tokens) throws IOException;
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param jwtService JWTサービス
+     * @param jwtConfig  JWT設定
+     */
+    public BatchTokenService(JwtService jwtService, JwtConfig jwtConfig) {
+        this.jwtService = jwtService;
+        int parallelism = jwtConfig.getBatch().getParallelism();
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("jwt-batch-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+
+    /**
+     * トークンの一括発行
+     *
+     * <p>すべてのチャンクを受け取り先に渡し終えるまで呼び出し元のスレッドをブロックする。
+     *
+     * @param requests 発行依頼
+     * @param consumer 完了したチャンクの受け取り先
+     * @throws IOException 受け取り先が書き込みに失敗した場合、または割り込まれた場合
+     */
+    public void issue(List<TokenRequest> requests, ChunkConsumer consumer) throws IOException {
+        CompletionService<List<IssuedToken>> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<List<IssuedToken>>> futures = new ArrayList<>();
+        for (int from = 0; from < requests.size(); from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(from + CHUNK_SIZE, requests.size());
+            futures.add(completionService.submit(() -> issueChunk(requests, start, end)));
+        }
+
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                consumer.accept(completionService.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("トークンの一括発行が中断されました");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // 失敗・中断した場合に残りの署名を止める（完了済みのタスクには影響しない）
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * チャンクの発行
+     */
+    private List<IssuedToken> issueChunk(List<TokenRequest> requests, int start, int end) {
+        List<IssuedToken> tokens = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            TokenRequest request = requests.get(i);
+            List<String> roles = request.roles() == null ? List.of()
+                    : request.roles().stream().map(Role::name).toList();
+            JwtToken token = jwtService.generateToken(request.subject(), roles);
+            tokens.add(new IssuedToken(i, request.subject(), token.token(), token.refreshToken(),
+                    token.expiresAt()));
+        }
+        return tokens;
+    }
+
+    /**
+     * スレッドの停止
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.example.security.service.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JoseHeaderNames;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.example.security.service.jfr.AuthEvent;
+import com.example.security.service.jfr.TokenVerifyEvent;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 検証済みトークンをキャッシュするJWTデコーダー
+ *
+ * <p>コンパクト形式のトークンのSHA-256ダイジェストをキーに、デコード結果をトークンの有効期限（exp）まで保持する。
+ * 検証に失敗したトークンと有効期限を持たないトークンはキャッシュしない。
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    /**
+     * メトリクスに付与するキャッシュ名
+     */
+    static final String CACHE_NAME = "jwtDecoder";
+
+    private final JwtDecoder delegate;
+    private final Clock clock;
+    private final Cache<String, Jwt> cache;
+
+    /**
+     * コンストラクタ
+     *
+     * @param delegate    署名検証を行うデコーダー
+     * @param maximumSize キャッシュする最大件数
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize) {
+        this(delegate, maximumSize, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Clock clock, Ticker ticker) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * トークンのデコード
+     *
+     * @param token コンパクト形式のトークン
+     * @return デコード済みのJWT
+     * @throws JwtException 検証に失敗した場合（トークンが空の場合は{@link BadJwtException}）
+     */
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null || token.isEmpty()) {
+            throw new BadJwtException("トークンが空です");
+        }
+        TokenVerifyEvent event = new TokenVerifyEvent();
+        event.begin();
+        Loader loader = new Loader(token);
+        Jwt jwt = cache.get(digest(token), loader);
+        // ミスした場合は署名を検証するデコーダーが記録する
+        if (!loader.loaded) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit(AuthEvent.SUCCESS, Objects.toString(jwt.getHeaders().get(JoseHeaderNames.ALG), null), true);
+            }
+        }
+        return jwt;
+    }
+
+    /**
+     * ヒット数・ミス数・追い出し数をメトリクスとして登録
+     *
+     * @param registry メーターレジストリ
+     */
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * トークンのダイジェストを算出
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256が利用できません", e);
+        }
+    }
+
+    /**
+     * 署名を検証するデコーダーでのロード（キャッシュにヒットしたかを判別するため、ロードしたかを記録する）
+     */
+    private final class Loader implements Function<String, Jwt> {
+
+        private final String token;
+
+        private boolean loaded;
+
+        Loader(String token) {
+            this.token = token;
+        }
+
+        @Override
+        public Jwt apply(String key) {
+            loaded = true;
+            return delegate.decode(token);
+        }
+    }
+
+    /**
+     * トークンのexpまでエントリを保持する有効期限ポリシー
+     */
+    private final class TokenExpiry implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return 0;
+            }
+            long remainingMillis = expiresAt.toEpochMilli() - clock.millis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
\ No newline at end of file
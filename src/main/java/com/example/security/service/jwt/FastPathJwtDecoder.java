@@ -0,0 +1,456 @@
+package com.example.security.service.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.security.oauth2.jwt.JoseHeaderNames;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.example.security.model.Role;
+import com.example.security.service.jfr.AuthEvent;
+import com.example.security.service.jfr.TokenVerifyEvent;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 発行するトークンの形（sub・jti・iat・exp・roles、リフレッシュトークンではver・refresh_roles）に特化したJWTデコーダー
+ *
+ * <p>Nimbusのデコーダーはヘッダーとペイロードを汎用のJSONマップに変換してから検証するが、
+ * このデコーダーはトークンのバイト列に対して直接署名を検証し、ペイロードからこれらのクレームだけを取り出す。
+ * ヘッダーが{@link TemplateJwtSerializer}の出力と異なるトークン、それ以外のクレームを含むトークン、
+ * 署名の検証に失敗したトークン、有効期限切れのトークンはNimbusのデコーダーに委ね、同じ結果・例外を返す。
+ *
+ * <p>検証鍵はヘッダー（algとkid）で{@link JwtKeyRing}から選択し、鍵ごとに初期化済みの検証器を使用する。
+ * 候補の鍵を順に試すことはしない。
+ */
+public class FastPathJwtDecoder implements JwtDecoder {
+
+    /**
+     * メトリクス名
+     */
+    static final String METRIC_NAME = "jwt.decoder.fast.path";
+
+    /**
+     * Spring SecurityのJwtTimestampValidatorと同じ時刻のずれの許容値
+     */
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private static final Base64.Decoder BASE64URL = Base64.getUrlDecoder();
+
+    private final JwtKeyRing keyRing;
+    private final JwtDecoder fallback;
+    private final Clock clock;
+
+    /**
+     * ロール名からロールへの対応表
+     */
+    private final Map<String, Role> rolesByName;
+
+    /**
+     * ロールのビットマスクをインデックスとするロール名のリスト
+     */
+    private final List<List<String>> rolesByMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * コンストラクタ（ヘッダーにkidを含まないトークンを1つの検証鍵で検証する）
+     *
+     * @param algorithm       署名アルゴリズム
+     * @param verificationKey 検証鍵（HS256の場合は共通鍵、それ以外は公開鍵）
+     * @param fallback        高速パスで扱えないトークンをデコードするデコーダー
+     */
+    public FastPathJwtDecoder(SigningAlgorithm algorithm, Key verificationKey, JwtDecoder fallback) {
+        this(algorithm, verificationKey, fallback, Clock.systemUTC());
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param keyRing  鍵リング（ヘッダーが鍵リングのいずれかの鍵のヘッダーと一致するトークンを、その鍵で検証する）
+     * @param fallback 高速パスで扱えないトークンをデコードするデコーダー
+     */
+    public FastPathJwtDecoder(JwtKeyRing keyRing, JwtDecoder fallback) {
+        this(keyRing, fallback, Clock.systemUTC());
+    }
+
+    FastPathJwtDecoder(SigningAlgorithm algorithm, Key verificationKey, JwtDecoder fallback, Clock clock) {
+        this(new JwtKeyRing(new JwtKey(null, algorithm, null, verificationKey)), fallback, clock);
+    }
+
+    FastPathJwtDecoder(JwtKeyRing keyRing, JwtDecoder fallback, Clock clock) {
+        this.keyRing = keyRing;
+        this.fallback = fallback;
+        this.clock = clock;
+
+        Role[] roles = Role.values();
+
+        Map<String, Role> byName = new HashMap<>();
+        for (Role role : roles) {
+            byName.put(role.name(), role);
+        }
+        this.rolesByName = Map.copyOf(byName);
+
+        List<List<String>> byMask = new ArrayList<>();
+        for (int mask = 0; mask < 1 << roles.length; mask++) {
+            List<String> names = new ArrayList<>();
+            for (Role role : roles) {
+                if ((mask & 1 << role.ordinal()) != 0) {
+                    names.add(role.name());
+                }
+            }
+            byMask.add(List.copyOf(names));
+        }
+        this.rolesByMask = List.copyOf(byMask);
+    }
+
+    /**
+     * トークンのデコード
+     *
+     * @param token コンパクト形式のトークン
+     * @return デコード済みのJWT
+     * @throws JwtException 検証に失敗した場合
+     */
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        TokenVerifyEvent event = new TokenVerifyEvent();
+        event.begin();
+        Jwt jwt = null;
+        try {
+            jwt = token != null ? tryDecode(token) : null;
+            if (jwt == null) {
+                fallbacks.increment();
+                jwt = fallback.decode(token);
+            } else {
+                hits.increment();
+            }
+            return jwt;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit(jwt != null ? AuthEvent.SUCCESS : AuthEvent.FAILURE,
+                        jwt != null ? Objects.toString(jwt.getHeaders().get(JoseHeaderNames.ALG), null) : null, false);
+            }
+        }
+    }
+
+    /**
+     * 高速パスで処理したトークン数・委譲したトークン数をメトリクスとして登録
+     *
+     * @param registry メーターレジストリ
+     */
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_NAME, hits, LongAdder::sum)
+                .description("Tokens decoded by the fast path or delegated to the Nimbus decoder")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME, fallbacks, LongAdder::sum)
+                .description("Tokens decoded by the fast path or delegated to the Nimbus decoder")
+                .tag("result", "fallback")
+                .register(registry);
+    }
+
+    /**
+     * 高速パスでのデコード
+     *
+     * @return 高速パスで扱えない場合はnull
+     */
+    private Jwt tryDecode(String token) {
+        JwtKey key = findKey(token);
+        if (key == null) {
+            return null;
+        }
+        String encodedHeader = key.getEncodedHeader();
+        int signatureStart = token.indexOf('.', encodedHeader.length()) + 1;
+        if (signatureStart == 0 || token.indexOf('.', signatureStart) >= 0) {
+            return null;
+        }
+
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        int signingInputLength = signatureStart - 1;
+        try {
+            byte[] signature = BASE64URL.decode(ByteBuffer.wrap(bytes, signatureStart, bytes.length - signatureStart))
+                    .array();
+            if (!key.verify(bytes, signingInputLength, signature)) {
+                return null;
+            }
+            ByteBuffer payload = BASE64URL.decode(ByteBuffer.wrap(bytes, encodedHeader.length(),
+                    signingInputLength - encodedHeader.length()));
+            Claims claims = new PayloadParser(payload.array(), payload.limit()).parse();
+            if (claims == null || clock.instant().minus(CLOCK_SKEW).isAfter(claims.expiresAt())) {
+                return null;
+            }
+            return new Jwt(token, claims.issuedAt(), claims.expiresAt(), key.getHeaders(), claims.toMap());
+        } catch (IllegalArgumentException e) {
+            // Base64URLとして不正な場合
+            return null;
+        }
+    }
+
+    /**
+     * ヘッダーが一致する鍵の選択
+     *
+     * <p>ほとんどのトークンは現在の署名鍵で署名されているため、先に現在の署名鍵のヘッダーと比較し、
+     * 一致しない場合だけヘッダーを切り出して以前の署名鍵を探す。
+     *
+     * @return 一致する鍵がない場合はnull
+     */
+    private JwtKey findKey(String token) {
+        JwtKey signingKey = keyRing.signingKey();
+        if (token.startsWith(signingKey.getEncodedHeader())) {
+            return signingKey;
+        }
+        int headerEnd = token.indexOf('.') + 1;
+        return headerEnd == 0 ? null : keyRing.verificationKeyByEncodedHeader(token.substring(0, headerEnd));
+    }
+
+    /**
+     * ペイロードから取り出したクレーム
+     */
+    private record Claims(String subject, String id, Instant issuedAt, Instant expiresAt, List<String> roles,
+            Long version, List<String> refreshRoles) {
+
+        Map<String, Object> toMap() {
+            Map<String, Object> claims = new HashMap<>(8);
+            claims.put("sub", subject);
+            if (id != null) {
+                claims.put("jti", id);
+            }
+            claims.put("iat", issuedAt);
+            claims.put("exp", expiresAt);
+            if (roles != null) {
+                claims.put(RoleAuthoritiesConverter.ROLES_CLAIM, roles);
+            }
+            // Nimbusと同じく整数はLongにする
+            if (version != null) {
+                claims.put(JwtService.TOKEN_VERSION_CLAIM, version);
+            }
+            if (refreshRoles != null) {
+                claims.put(JwtService.REFRESH_ROLES_CLAIM, refreshRoles);
+            }
+            return claims;
+        }
+    }
+
+    /**
+     * sub・jti・iat・exp・roles・ver・refresh_rolesだけを含むペイロードのパーサー
+     *
+     * <p>エスケープを含む文字列、整数以外の数値、それ以外のクレームや重複したクレームがある場合は扱えないものとしてnullを返す。
+     */
+    private final class PayloadParser {
+
+        private static final int SUB = 1;
+        private static final int IAT = 1 << 1;
+        private static final int EXP = 1 << 2;
+        private static final int ROLES = 1 << 3;
+        private static final int JTI = 1 << 4;
+        private static final int VER = 1 << 5;
+        private static final int REFRESH_ROLES = 1 << 6;
+
+        private final byte[] json;
+        private final int end;
+        private int pos;
+
+        PayloadParser(byte[] json, int end) {
+            this.json = json;
+            this.end = end;
+        }
+
+        Claims parse() {
+            String subject = null;
+            String id = null;
+            long issuedAt = 0;
+            long expiresAt = 0;
+            List<String> roles = null;
+            long version = 0;
+            List<String> refreshRoles = null;
+
+            int seen = 0;
+            if (!consume('{')) {
+                return null;
+            }
+            do {
+                int key = key();
+                if (key == 0 || (seen & key) != 0 || !consume(':')) {
+                    return null;
+                }
+                seen |= key;
+                switch (key) {
+                    case SUB -> subject = string();
+                    case JTI -> id = string();
+                    case IAT -> issuedAt = number();
+                    case EXP -> expiresAt = number();
+                    case VER -> version = number();
+                    case REFRESH_ROLES -> refreshRoles = roles();
+                    default -> roles = roles();
+                }
+                if (subject == null && key == SUB || id == null && key == JTI || issuedAt < 0 || expiresAt < 0 || roles == null && key == ROLES
+                        || version < 0 || refreshRoles == null && key == REFRESH_ROLES) {
+                    return null;
+                }
+            } while (consume(','));
+            if (!consume('}') || skipWhitespace() != end || (seen & (SUB | IAT | EXP)) != (SUB | IAT | EXP)) {
+                return null;
+            }
+            return new Claims(subject, id, Instant.ofEpochSecond(issuedAt), Instant.ofEpochSecond(expiresAt), roles,
+                    (seen & VER) != 0 ? Long.valueOf(version) : null, refreshRoles);
+        }
+
+        /**
+         * クレーム名の読み取り
+         *
+         * @return クレーム名に対応するビット（対象外の場合は0）
+         */
+        private int key() {
+            int start = stringStart();
+            if (start < 0) {
+                return 0;
+            }
+            int length = pos - start - 1;
+            if (length == 3 && matches(start, "sub")) {
+                return SUB;
+            } else if (length == 3 && matches(start, "jti")) {
+                return JTI;
+            } else if (length == 3 && matches(start, "iat")) {
+                return IAT;
+            } else if (length == 3 && matches(start, "exp")) {
+                return EXP;
+            } else if (length == 3 && matches(start, JwtService.TOKEN_VERSION_CLAIM)) {
+                return VER;
+            } else if (length == 5 && matches(start, RoleAuthoritiesConverter.ROLES_CLAIM)) {
+                return ROLES;
+            } else if (length == 13 && matches(start, JwtService.REFRESH_ROLES_CLAIM)) {
+                return REFRESH_ROLES;
+            }
+            return 0;
+        }
+
+        /**
+         * 文字列の読み取り
+         *
+         * @return エスケープを含む場合はnull
+         */
+        private String string() {
+            int start = stringStart();
+            return start < 0 ? null : new String(json, start, pos - start - 1, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * ロールの配列の読み取り
+         *
+         * <p>{@link Role}の名前が定義順に重複なく並んでいる場合は共有のリストを返す。
+         *
+         * @return 文字列の配列でない場合はnull
+         */
+        private List<String> roles() {
+            if (!consume('[')) {
+                return null;
+            }
+            if (consume(']')) {
+                return rolesByMask.get(0);
+            }
+            List<String> names = new ArrayList<>(2);
+            do {
+                String name = string();
+                if (name == null) {
+                    return null;
+                }
+                names.add(name);
+            } while (consume(','));
+            if (!consume(']')) {
+                return null;
+            }
+
+            int mask = 0;
+            int lastOrdinal = -1;
+            for (String name : names) {
+                Role role = rolesByName.get(name);
+                if (role == null || role.ordinal() <= lastOrdinal) {
+                    return List.copyOf(names);
+                }
+                mask |= 1 << role.ordinal();
+                lastOrdinal = role.ordinal();
+            }
+            return rolesByMask.get(mask);
+        }
+
+        /**
+         * 0以上の整数の読み取り
+         *
+         * @return 整数でない場合は-1
+         */
+        private long number() {
+            skipWhitespace();
+            int start = pos;
+            long value = 0;
+            while (pos < end && json[pos] >= '0' && json[pos] <= '9' && pos - start < 18) {
+                value = value * 10 + (json[pos++] - '0');
+            }
+            if (pos == start || pos < end && (json[pos] == '.' || json[pos] == 'e' || json[pos] == 'E'
+                    || json[pos] >= '0' && json[pos] <= '9')) {
+                return -1;
+            }
+            return value;
+        }
+
+        /**
+         * 文字列の開始の読み取り
+         *
+         * @return 文字列の先頭位置（エスケープを含む場合や文字列でない場合は-1）。posは終端の「"」の次に進む
+         */
+        private int stringStart() {
+            if (!consume('"')) {
+                return -1;
+            }
+            int start = pos;
+            while (pos < end) {
+                byte b = json[pos++];
+                if (b == '"') {
+                    return start;
+                } else if (b == '\\' || b >= 0 && b < 0x20) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matches(int start, String name) {
+            for (int i = 0; i < name.length(); i++) {
+                if (json[start + i] != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean consume(char c) {
+            if (skipWhitespace() < end && json[pos] == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private int skipWhitespace() {
+            while (pos < end && (json[pos] == ' ' || json[pos] == '\t' || json[pos] == '\n' || json[pos] == '\r')) {
+                pos++;
+            }
+            return pos;
+        }
+    }
+}
\ No newline at end of file
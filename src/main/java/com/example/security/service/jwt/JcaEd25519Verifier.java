@@ -0,0 +1,70 @@
+package com.example.security.service.jwt;
+
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.util.Set;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.util.Base64URL;
+
+/**
+ * JDK標準のEd25519実装で検証するJWS検証器
+ *
+ * <p>NimbusのEd25519検証器はTinkを必要とするため、JDKの{@link Signature}（Ed25519）で代替する。
+ */
+public class JcaEd25519Verifier implements JWSVerifier {
+
+    private final PublicKey publicKey;
+    private final JCAContext jcaContext = new JCAContext();
+
+    /**
+     * コンストラクタ
+     *
+     * @param publicKey Ed25519の公開鍵
+     */
+    public JcaEd25519Verifier(PublicKey publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    /**
+     * 署名の検証
+     *
+     * @param header        JWSヘッダー
+     * @param signedContent 署名対象（ヘッダーとペイロードのBase64URL）
+     * @param signature     署名
+     * @return 署名が正しい場合はtrue
+     * @throws JOSEException 検証処理に失敗した場合
+     */
+    @Override
+    public boolean verify(JWSHeader header, byte[] signedContent, Base64URL signature) throws JOSEException {
+        if (!JWSAlgorithm.EdDSA.equals(header.getAlgorithm())) {
+            return false;
+        }
+        try {
+            Signature verifier = Signature.getInstance("Ed25519");
+            verifier.initVerify(publicKey);
+            verifier.update(signedContent);
+            return verifier.verify(signature.decode());
+        } catch (SignatureException e) {
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new JOSEException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+        return Set.of(JWSAlgorithm.EdDSA);
+    }
+
+    @Override
+    public JCAContext getJCAContext() {
+        return jcaContext;
+    }
+}
\ No newline at end of file
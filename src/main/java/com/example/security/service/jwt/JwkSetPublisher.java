@@ -0,0 +1,88 @@
+package com.example.security.service.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+
+/**
+ * 鍵リングの検証鍵を公開するJWKセット
+ *
+ * <p>JSONとETagは鍵リングの検証鍵が変わったときにだけ作り直し、それ以外のリクエストにはシリアライズ済みのバイト列を返す。
+ * 検証鍵の一覧は鍵リングのスナップショットごとに同じインスタンスのため、参照の比較だけで変更を検出できる。
+ * 共通鍵（HS256）は公開できないため、JWKセットに含めない。
+ */
+public class JwkSetPublisher {
+
+    private final JwtKeyRing keyRing;
+
+    private volatile JwkSetDocument document;
+
+    /**
+     * コンストラクタ
+     *
+     * @param keyRing 鍵リング
+     */
+    public JwkSetPublisher(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.document = serialize(keyRing.verificationKeys());
+    }
+
+    /**
+     * 現在のJWKセット
+     *
+     * @return シリアライズ済みのJWKセットとETag
+     */
+    public JwkSetDocument current() {
+        JwkSetDocument current = document;
+        List<JwtKey> keys = keyRing.verificationKeys();
+        if (current.keys() != keys) {
+            // 同時に作り直しても結果は同じため、排他制御はしない
+            current = serialize(keys);
+            document = current;
+        }
+        return current;
+    }
+
+    /**
+     * JWKセットのシリアライズ
+     */
+    private static JwkSetDocument serialize(List<JwtKey> keys) {
+        List<JWK> jwks = new ArrayList<>(keys.size());
+        for (JwtKey key : keys) {
+            JWK jwk = key.toPublicJwk();
+            if (jwk != null) {
+                jwks.add(jwk);
+            }
+        }
+        byte[] json = new JWKSet(jwks).toString(true).getBytes(StandardCharsets.UTF_8);
+        return new JwkSetDocument(keys, json, eTag(json));
+    }
+
+    /**
+     * 内容のSHA-256から強いETagを計算
+     */
+    private static String eTag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * シリアライズ済みのJWKセット
+     *
+     * @param keys 元になった検証鍵の一覧
+     * @param json JWKセットのJSON（UTF-8）
+     * @param eTag 強いETag（引用符を含む）
+     */
+    public record JwkSetDocument(List<JwtKey> keys, byte[] json, String eTag) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.example.security.service.jwt;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+/**
+ * 署名アルゴリズムごとの検証鍵で検証するJWTデコーダーの生成
+ *
+ * <p>トークンのalgヘッダー、または鍵リングの場合はkidヘッダーで検証鍵と検証器を選択する。
+ * 検証鍵が見つからないトークンは拒否する。
+ */
+public final class JwsJwtDecoders {
+
+    private JwsJwtDecoders() {
+    }
+
+    /**
+     * 検証鍵からデコーダーを生成
+     *
+     * @param verificationKeys 署名アルゴリズムごとの検証鍵（HS256の場合は共通鍵、それ以外は公開鍵）
+     * @return デコーダー
+     */
+    public static NimbusJwtDecoder withVerificationKeys(Map<SigningAlgorithm, ? extends Key> verificationKeys) {
+        Map<JWSAlgorithm, List<Key>> keysByAlgorithm = new HashMap<>();
+        verificationKeys.forEach((algorithm, key) -> keysByAlgorithm.put(algorithm.getJwsAlgorithm(), List.of(key)));
+
+        return withKeySelector((header, context) -> keysByAlgorithm.getOrDefault(header.getAlgorithm(), List.of()));
+    }
+
+    /**
+     * 鍵リングからデコーダーを生成
+     *
+     * <p>kidヘッダーを持つトークンは鍵リングのうち鍵IDが一致する鍵だけで、kidヘッダーを持たないトークンは
+     * 現在の署名鍵だけで検証する。algヘッダーが鍵のアルゴリズムと一致しない場合は拒否する。
+     *
+     * @param keyRing 鍵リング
+     * @return デコーダー
+     */
+    public static NimbusJwtDecoder withKeyRing(JwtKeyRing keyRing) {
+        return withKeySelector((header, context) -> {
+            JwtKey key = header.getKeyID() != null
+                    ? keyRing.verificationKey(header.getKeyID())
+                    : keyRing.signingKey();
+            if (key == null || key.getVerificationKey() == null
+                    || !key.getAlgorithm().getJwsAlgorithm().equals(header.getAlgorithm())) {
+                return List.of();
+            }
+            return List.of(key.getVerificationKey());
+        });
+    }
+
+    /**
+     * 鍵の選択方法からデコーダーを生成
+     */
+    private static NimbusJwtDecoder withKeySelector(JWSKeySelector<SecurityContext> keySelector) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(keySelector);
+        jwtProcessor.setJWSVerifierFactory(new EdDsaAwareVerifierFactory());
+        // クレームの検証はNimbusJwtDecoderのOAuth2TokenValidatorで行う
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(jwtProcessor);
+    }
+
+    /**
+     * EdDSAにはJDK標準の検証器を、それ以外にはNimbusの検証器を生成するファクトリー
+     */
+    private static final class EdDsaAwareVerifierFactory implements JWSVerifierFactory {
+
+        private final DefaultJWSVerifierFactory delegate = new DefaultJWSVerifierFactory();
+
+        @Override
+        public JWSVerifier createJWSVerifier(JWSHeader header, Key key) throws JOSEException {
+            if (JWSAlgorithm.EdDSA.equals(header.getAlgorithm()) && key instanceof PublicKey publicKey) {
+                return new JcaEd25519Verifier(publicKey);
+            }
+            return delegate.createJWSVerifier(header, key);
+        }
+
+        @Override
+        public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+            Set<JWSAlgorithm> algorithms = new LinkedHashSet<>(delegate.supportedJWSAlgorithms());
+            algorithms.add(JWSAlgorithm.EdDSA);
+            return algorithms;
+        }
+
+        @Override
+        public JCAContext getJCAContext() {
+            return delegate.getJCAContext();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.example.security.service.jwt;
+
+import java.net.URL;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+/**
+ * 鍵リングの現在の署名鍵で署名するJWTエンコーダー
+ *
+ * <p>Spring Securityの{@code NimbusJwtEncoder}は署名のたびにJWKセットから鍵を選択して署名器を生成するうえ、
+ * EdDSAの鍵を選択できない。このエンコーダーは{@link JwtKey}ごとに用意された署名器とヘッダーを再利用する。
+ */
+public class JwsJwtEncoder implements JwtEncoder {
+
+    private final JwtKeyRing keyRing;
+
+    /**
+     * コンストラクタ
+     *
+     * <p>スレッドごとに初期化済みの{@link java.security.Signature}を再利用する署名器を使用し、ヘッダーにkidを含めない。
+     *
+     * @param algorithm  署名アルゴリズム
+     * @param signingKey 署名鍵（HS256の場合は共通鍵、それ以外は秘密鍵）
+     */
+    public JwsJwtEncoder(SigningAlgorithm algorithm, Key signingKey) {
+        this(algorithm, new ThreadLocalJwsSigner(algorithm, signingKey));
+    }
+
+    /**
+     * コンストラクタ（ヘッダーにkidを含めない）
+     *
+     * @param algorithm 署名アルゴリズム
+     * @param signer    署名器
+     */
+    public JwsJwtEncoder(SigningAlgorithm algorithm, JWSSigner signer) {
+        this(new JwtKeyRing(new JwtKey(null, algorithm, signer, null)));
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * <p>トークンごとに鍵リングの現在の署名鍵で署名し、その鍵のkidをヘッダーに含める。
+     *
+     * @param keyRing 鍵リング
+     */
+    public JwsJwtEncoder(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    /**
+     * トークンの生成
+     *
+     * @param parameters ヘッダーとクレーム（ヘッダーのalgは署名鍵のアルゴリズムと一致すること）
+     * @return 署名済みのJWT
+     * @throws JwtEncodingException 署名に失敗した場合
+     */
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        JwtKey key = keyRing.signingKey();
+        JwsHeader headers = parameters.getJwsHeader();
+        if (headers != null && !key.getAlgorithm().getName().equals(headers.getAlgorithm().getName())) {
+            throw new JwtEncodingException("Unsupported algorithm: " + headers.getAlgorithm().getName());
+        }
+        JwtClaimsSet claims = parameters.getClaims();
+
+        SignedJWT signedJwt = new SignedJWT(key.getHeader(), toClaimsSet(claims.getClaims()));
+        try {
+            signedJwt.sign(key.getSigner());
+        } catch (JOSEException e) {
+            throw new JwtEncodingException("Failed to sign the JWT", e);
+        }
+
+        return Jwt.withTokenValue(signedJwt.serialize())
+                .headers(h -> h.putAll(key.getHeaders()))
+                .claims(c -> c.putAll(claims.getClaims()))
+                .build();
+    }
+
+    /**
+     * Spring Securityのクレームを、日時をDate・URLを文字列としたNimbusのクレームに変換
+     */
+    private static JWTClaimsSet toClaimsSet(Map<String, Object> claims) {
+        JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder();
+        claims.forEach((name, value) -> {
+            if (value instanceof Instant instant) {
+                builder.claim(name, Date.from(instant));
+            } else if (value instanceof URL url) {
+                builder.claim(name, url.toExternalForm());
+            } else {
+                builder.claim(name, value);
+            }
+        });
+        return builder.build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,279 @@
+package com.example.security.service.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+
+/**
+ * 鍵ID（kid）で識別される署名鍵・検証鍵
+ *
+ * <p>kidを含むJOSEヘッダーとそのBase64URLエンコード、署名器、スレッドごとに初期化済みの検証用の
+ * {@link Signature}・{@link Mac}を生成時に用意しておき、署名と検証のたびに再利用する。
+ */
+public final class JwtKey {
+
+    /**
+     * Ed25519の公開鍵（X.509形式）の末尾にある鍵本体の長さ
+     */
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    private final String keyId;
+    private final SigningAlgorithm algorithm;
+    private final Key verificationKey;
+    private final JWSSigner signer;
+    private final JWSHeader header;
+
+    /**
+     * Base64URLエンコード済みのヘッダーと区切りの「.」
+     */
+    private final String encodedHeader;
+
+    private final byte[] encodedHeaderBytes;
+    private final Map<String, Object> headers;
+    private final ThreadLocal<Signature> signatures;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * コンストラクタ
+     *
+     * @param keyId           鍵ID（nullの場合はヘッダーにkidを含めない）
+     * @param algorithm       署名アルゴリズム
+     * @param signer          署名器（nullの場合は検証専用）
+     * @param verificationKey 検証鍵（HS256の場合は共通鍵、それ以外は公開鍵。nullの場合は署名専用）
+     * @throws IllegalArgumentException 検証鍵がアルゴリズムに合わない場合
+     */
+    public JwtKey(String keyId, SigningAlgorithm algorithm, JWSSigner signer, Key verificationKey) {
+        this.keyId = keyId;
+        this.algorithm = algorithm;
+        this.verificationKey = verificationKey;
+        this.signer = signer;
+        this.header = new JWSHeader.Builder(algorithm.getJwsAlgorithm()).keyID(keyId).build();
+        this.encodedHeader = header.toBase64URL() + ".";
+        this.encodedHeaderBytes = encodedHeader.getBytes(StandardCharsets.US_ASCII);
+        this.headers = Map.copyOf(header.toJSONObject());
+
+        if (verificationKey == null) {
+            this.signatures = null;
+            this.macs = null;
+        } else if (algorithm.isAsymmetric()) {
+            this.signatures = ThreadLocal.withInitial(() -> newSignature(algorithm, (PublicKey) verificationKey));
+            this.macs = null;
+            signatures.get();
+        } else {
+            this.signatures = null;
+            this.macs = ThreadLocal.withInitial(() -> newMac(algorithm, verificationKey));
+            macs.get();
+        }
+    }
+
+    /**
+     * 署名鍵と検証鍵から、検証鍵のJWKサムプリント（RFC 7638）を鍵IDとする鍵を生成
+     *
+     * <p>スレッドごとに初期化済みの{@link Signature}・{@link Mac}を再利用する署名器を使用する。
+     * 同じ鍵からは常に同じ鍵IDが得られるため、再起動や複数のインスタンスの間でも鍵IDが一致する。
+     *
+     * @param algorithm       署名アルゴリズム
+     * @param signingKey      署名鍵（HS256の場合は共通鍵、それ以外は秘密鍵）
+     * @param verificationKey 検証鍵（HS256の場合は共通鍵、それ以外は公開鍵）
+     * @return 鍵
+     * @throws IllegalArgumentException 鍵がアルゴリズムに合わない場合
+     */
+    public static JwtKey of(SigningAlgorithm algorithm, Key signingKey, Key verificationKey) {
+        return new JwtKey(thumbprint(algorithm, verificationKey), algorithm,
+                new ThreadLocalJwsSigner(algorithm, signingKey), verificationKey);
+    }
+
+    /**
+     * 鍵IDの取得
+     *
+     * @return 鍵ID（ヘッダーにkidを含めない場合はnull）
+     */
+    public String getKeyId() {
+        return keyId;
+    }
+
+    /**
+     * 署名アルゴリズムの取得
+     *
+     * @return 署名アルゴリズム
+     */
+    public SigningAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 検証鍵の取得
+     *
+     * @return 検証鍵（署名専用の場合はnull）
+     */
+    public Key getVerificationKey() {
+        return verificationKey;
+    }
+
+    /**
+     * 署名器の取得
+     *
+     * @return 署名器（検証専用の場合はnull）
+     */
+    public JWSSigner getSigner() {
+        return signer;
+    }
+
+    /**
+     * JOSEヘッダーの取得
+     *
+     * @return algとkidを含むヘッダー
+     */
+    public JWSHeader getHeader() {
+        return header;
+    }
+
+    /**
+     * Base64URLエンコード済みのヘッダーと区切りの「.」
+     */
+    String getEncodedHeader() {
+        return encodedHeader;
+    }
+
+    /**
+     * Base64URLエンコード済みのヘッダーと区切りの「.」（US-ASCII）
+     */
+    byte[] getEncodedHeaderBytes() {
+        return encodedHeaderBytes;
+    }
+
+    /**
+     * デコード済みのヘッダー
+     */
+    Map<String, Object> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * 公開鍵のJWK（use・alg・kidを含む）への変換
+     *
+     * @return 公開鍵のJWK（共通鍵の場合、検証鍵を持たない場合は公開できないためnull）
+     */
+    public JWK toPublicJwk() {
+        if (!algorithm.isAsymmetric() || verificationKey == null) {
+            return null;
+        }
+        return toJwk(algorithm, verificationKey, keyId);
+    }
+
+    /**
+     * 署名の検証
+     *
+     * @param token              トークンのバイト列
+     * @param signingInputLength 署名対象（ヘッダーとペイロード）の長さ
+     * @param signature          署名
+     * @return 署名が正しい場合はtrue（検証鍵を持たない場合は常にfalse）
+     */
+    boolean verify(byte[] token, int signingInputLength, byte[] signature) {
+        if (macs != null) {
+            Mac mac = macs.get();
+            mac.update(token, 0, signingInputLength);
+            return MessageDigest.isEqual(mac.doFinal(), signature);
+        }
+        if (signatures == null) {
+            return false;
+        }
+        Signature verifier = signatures.get();
+        try {
+            verifier.update(token, 0, signingInputLength);
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException e) {
+            // 例外発生時は状態が不定になるため、次回は初期化し直す
+            signatures.remove();
+            return false;
+        }
+    }
+
+    /**
+     * 検証鍵のJWKサムプリント（SHA-256）の計算
+     *
+     * @param algorithm       署名アルゴリズム
+     * @param verificationKey 検証鍵（HS256の場合は共通鍵、それ以外は公開鍵）
+     * @return Base64URLエンコードしたサムプリント
+     * @throws IllegalArgumentException 検証鍵がアルゴリズムに合わない場合
+     */
+    static String thumbprint(SigningAlgorithm algorithm, Key verificationKey) {
+        try {
+            return toJwk(algorithm, verificationKey, null).computeThumbprint().toString();
+        } catch (JOSEException | ClassCastException e) {
+            throw new IllegalArgumentException("検証鍵が不正です: " + algorithm, e);
+        }
+    }
+
+    /**
+     * 検証鍵のJWKへの変換（サムプリントはktyと鍵の値だけから計算されるため、use・alg・kidの有無に影響されない）
+     */
+    private static JWK toJwk(SigningAlgorithm algorithm, Key verificationKey, String keyId) {
+        KeyUse use = KeyUse.SIGNATURE;
+        JWSAlgorithm alg = algorithm.getJwsAlgorithm();
+        return switch (algorithm) {
+            case RS256 -> new RSAKey.Builder((RSAPublicKey) verificationKey)
+                    .keyUse(use).algorithm(alg).keyID(keyId).build();
+            case ES256 -> new ECKey.Builder(Curve.P_256, (ECPublicKey) verificationKey)
+                    .keyUse(use).algorithm(alg).keyID(keyId).build();
+            case EDDSA -> {
+                // X.509形式の末尾32バイトがRFC 8037のxに当たる
+                byte[] encoded = ((PublicKey) verificationKey).getEncoded();
+                byte[] x = Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+                yield new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(x))
+                        .keyUse(use).algorithm(alg).keyID(keyId).build();
+            }
+            case HS256 -> new OctetSequenceKey.Builder((SecretKey) verificationKey)
+                    .keyUse(use).algorithm(alg).keyID(keyId).build();
+        };
+    }
+
+    /**
+     * 検証鍵で初期化したSignatureの生成
+     */
+    private static Signature newSignature(SigningAlgorithm algorithm, PublicKey publicKey) {
+        try {
+            Signature signature = Signature.getInstance(algorithm.getJcaName());
+            signature.initVerify(publicKey);
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("検証鍵が不正です: " + algorithm, e);
+        }
+    }
+
+    /**
+     * 共通鍵で初期化したMacの生成
+     */
+    private static Mac newMac(SigningAlgorithm algorithm, Key secretKey) {
+        try {
+            Mac mac = Mac.getInstance(algorithm.getJcaName());
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("共通鍵が不正です: " + algorithm, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,249 @@
+package com.example.security.service.jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 署名鍵のローテーションと、鍵ID（kid）による検証鍵の選択を行う鍵リング
+ *
+ * <p>一定間隔で鍵の取得元から新しい鍵を取得して署名鍵を切り替え、それまでの署名鍵は、
+ * その鍵で署名したトークンが有効期限を迎えるまで検証用に保持する。取得元が同じ鍵を返した場合は切り替えない。
+ *
+ * <p>署名鍵と検証鍵の対応表は不変のスナップショットとして保持し、ローテーションのたびに作り直して差し替える。
+ * 署名と検証の経路はスナップショットを1度読むだけでロックを取らないため、ローテーション中も処理が止まらない。
+ * 鍵の生成や読み込みはローテーション用のスレッドで行う。
+ */
+@Slf4j
+public class JwtKeyRing implements AutoCloseable {
+
+    /**
+     * メトリクス名の接頭辞
+     */
+    static final String METRIC_PREFIX = "jwt.key";
+
+    private final Supplier<JwtKey> keySource;
+    private final Duration retention;
+    private final Clock clock;
+    private final Object lock = new Object();
+    private final ScheduledExecutorService rotator;
+
+    private volatile Keys keys;
+
+    /**
+     * ローテーション回数（排他制御の中でのみ更新）
+     */
+    private volatile long rotations;
+
+    /**
+     * コンストラクタ（ローテーションしない）
+     *
+     * @param key 署名鍵
+     */
+    public JwtKeyRing(JwtKey key) {
+        this(key, () -> key, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param initialKey       最初の署名鍵
+     * @param keySource        ローテーションのたびに呼び出す鍵の取得元
+     * @param rotationInterval ローテーションの間隔（0以下の場合はローテーションしない）
+     * @param retention        署名鍵を切り替えた後に検証用に保持する期間（トークンの最長の有効期限以上）
+     */
+    public JwtKeyRing(JwtKey initialKey, Supplier<JwtKey> keySource, Duration rotationInterval,
+            Duration retention) {
+        this(initialKey, keySource, rotationInterval, retention, Clock.systemUTC());
+    }
+
+    JwtKeyRing(JwtKey initialKey, Supplier<JwtKey> keySource, Duration rotationInterval, Duration retention,
+            Clock clock) {
+        this.keySource = keySource;
+        this.retention = retention;
+        this.clock = clock;
+        this.keys = new Keys(initialKey, List.of());
+
+        if (rotationInterval.isPositive()) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("jwt-key-rotation-");
+            threadFactory.setDaemon(true);
+            this.rotator = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            rotator.scheduleWithFixedDelay(this::rotateSafely,
+                    rotationInterval.toMillis(), rotationInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.rotator = null;
+        }
+    }
+
+    /**
+     * 現在の署名鍵
+     *
+     * @return 署名鍵
+     */
+    public JwtKey signingKey() {
+        return keys.signingKey();
+    }
+
+    /**
+     * 鍵IDに対応する検証鍵
+     *
+     * @param keyId 鍵ID（kid）
+     * @return 検証鍵（保持していない場合はnull）
+     */
+    public JwtKey verificationKey(String keyId) {
+        return keyId == null ? null : keys.byKeyId().get(keyId);
+    }
+
+    /**
+     * Base64URLエンコード済みのヘッダーに対応する検証鍵
+     *
+     * @param encodedHeader Base64URLエンコード済みのヘッダーと区切りの「.」
+     * @return 検証鍵（このリングが生成したヘッダーでない場合はnull）
+     */
+    JwtKey verificationKeyByEncodedHeader(String encodedHeader) {
+        return keys.byEncodedHeader().get(encodedHeader);
+    }
+
+    /**
+     * 検証に使用できるすべての鍵
+     *
+     * @return 現在の署名鍵、以前の署名鍵の新しい順
+     */
+    public List<JwtKey> verificationKeys() {
+        return keys.all();
+    }
+
+    /**
+     * 鍵の取得元から新しい鍵を取得し、署名鍵を切り替える
+     *
+     * <p>保持期間を過ぎた以前の署名鍵はこの時点で取り除く。
+     *
+     * @return 署名鍵を切り替えた場合はtrue（取得元が現在の署名鍵と同じ鍵を返した場合はfalse）
+     */
+    public boolean rotate() {
+        JwtKey next = keySource.get();
+        synchronized (lock) {
+            Keys current = keys;
+            Instant now = clock.instant();
+            JwtKey signingKey = current.signingKey();
+            boolean rotated = !sameKey(signingKey, next);
+
+            List<RetiredKey> retired = new ArrayList<>(current.retired().size() + 1);
+            if (rotated) {
+                retired.add(new RetiredKey(signingKey, now.plus(retention)));
+                signingKey = next;
+            }
+            for (RetiredKey key : current.retired()) {
+                if (key.until().isAfter(now) && !sameKey(signingKey, key.key())) {
+                    retired.add(key);
+                }
+            }
+            keys = new Keys(signingKey, List.copyOf(retired));
+            if (rotated) {
+                rotations++;
+                log.info("署名鍵を切り替えました: kid={}", signingKey.getKeyId());
+            }
+            return rotated;
+        }
+    }
+
+    /**
+     * 後続の実行を止めないよう、ローテーションの失敗をログに記録して継続する
+     */
+    private void rotateSafely() {
+        try {
+            rotate();
+        } catch (RuntimeException e) {
+            log.warn("署名鍵のローテーションに失敗しました。現在の署名鍵を使い続けます", e);
+        }
+    }
+
+    /**
+     * ローテーションの停止
+     */
+    @Override
+    public void close() {
+        if (rotator != null) {
+            rotator.shutdown();
+        }
+    }
+
+    /**
+     * 検証に使用できる鍵の数とローテーション回数をメトリクスとして登録
+     *
+     * @param registry メーターレジストリ
+     */
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".verification.keys", this, ring -> ring.keys.all().size())
+                .description("Keys accepted for verification, including retired signing keys")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".rotations", this, ring -> ring.rotations)
+                .description("Signing key rotations")
+                .register(registry);
+    }
+
+    private static boolean sameKey(JwtKey a, JwtKey b) {
+        return a.getKeyId() != null && a.getKeyId().equals(b.getKeyId());
+    }
+
+    /**
+     * 切り替え済みの署名鍵と、検証用に保持する期限
+     */
+    private record RetiredKey(JwtKey key, Instant until) {
+    }
+
+    /**
+     * 署名鍵と検証鍵のスナップショット
+     */
+    private record Keys(JwtKey signingKey, List<RetiredKey> retired, List<JwtKey> all,
+            Map<String, JwtKey> byKeyId, Map<String, JwtKey> byEncodedHeader) {
+
+        Keys(JwtKey signingKey, List<RetiredKey> retired) {
+            this(signingKey, retired, all(signingKey, retired));
+        }
+
+        private Keys(JwtKey signingKey, List<RetiredKey> retired, List<JwtKey> all) {
+            this(signingKey, retired, all, byKeyId(all), byEncodedHeader(all));
+        }
+
+        private static List<JwtKey> all(JwtKey signingKey, List<RetiredKey> retired) {
+            List<JwtKey> all = new ArrayList<>(retired.size() + 1);
+            all.add(signingKey);
+            retired.forEach(key -> all.add(key.key()));
+            return List.copyOf(all);
+        }
+
+        private static Map<String, JwtKey> byKeyId(List<JwtKey> keys) {
+            Map<String, JwtKey> byKeyId = new HashMap<>();
+            for (JwtKey key : keys) {
+                if (key.getKeyId() != null) {
+                    byKeyId.putIfAbsent(key.getKeyId(), key);
+                }
+            }
+            return Map.copyOf(byKeyId);
+        }
+
+        private static Map<String, JwtKey> byEncodedHeader(List<JwtKey> keys) {
+            Map<String, JwtKey> byEncodedHeader = new HashMap<>();
+            for (JwtKey key : keys) {
+                byEncodedHeader.putIfAbsent(key.getEncodedHeader(), key);
+            }
+            return Map.copyOf(byEncodedHeader);
+        }
+    }
+}
\ No newline at end of file
@@ -2,30 +2,43 @@ package com.example.security.service.jwt;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.oauth2.jwt.JwtClaimsSet;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Service;
 
 import com.example.security.config.JwtConfig;
+import com.example.security.model.VersionedUserDetails;
 
 import lombok.RequiredArgsConstructor;
 
 /**
  * JWTサービス
+ *
+ * <p>トークンの形が決まっているため、汎用の{@link org.springframework.security.oauth2.jwt.JwtEncoder}ではなく
+ * {@link TemplateJwtSerializer}でシリアライズする。
+ *
+ * <p>ユーザーのトークンのバージョンがわかる場合は、リフレッシュトークンにロールとバージョンを含める。
+ * トークンの更新では、バージョンが現在のものと一致すればユーザー詳細を読み込まずにアクセストークンを発行できる。
  */
 @Service
 @RequiredArgsConstructor
 public class JwtService {
 
-    private final JwtEncoder jwtEncoder;
+    /**
+     * リフレッシュトークンに含めるロールのクレーム名（アクセストークンのrolesとは別にし、権限として扱わない）
+     */
+    public static final String REFRESH_ROLES_CLAIM = "refresh_roles";
+
+    /**
+     * リフレッシュトークンに含めるトークンのバージョンのクレーム名
+     */
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final TemplateJwtSerializer jwtSerializer;
     private final JwtConfig jwtConfig;
 
     /**
@@ -41,7 +54,8 @@ public class JwtService {
         return generateToken(authentication.getName(),
                 authentication.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
-                        .collect(Collectors.toList()));
+                        .collect(Collectors.toList()),
+                tokenVersionOf(authentication.getPrincipal()));
     }
 
     /**
@@ -51,13 +65,26 @@ public class JwtService {
         return generateToken(userDetails.getUsername(),
                 userDetails.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
-                        .collect(Collectors.toList()));
+                        .collect(Collectors.toList()),
+                tokenVersionOf(userDetails));
     }
 
     /**
-     * ユーザー名と権限リストからトークンを生成
+     * ユーザー名と権限リストからトークンを生成（リフレッシュトークンにロールを含めない）
      */
     public JwtToken generateToken(String username, Iterable<String> roles) {
+        return generateToken(username, roles, null);
+    }
+
+    /**
+     * ユーザー名と権限リストからトークンを生成
+     *
+     * @param username     ユーザー名
+     * @param roles        権限リスト
+     * @param tokenVersion トークンのバージョン（nullの場合はリフレッシュトークンにロールとバージョンを含めない）
+     * @return トークンレスポンス
+     */
+    public JwtToken generateToken(String username, Iterable<String> roles, Integer tokenVersion) {
         // 現在の時刻
         Instant now = Instant.now();
 
@@ -67,31 +94,52 @@ public class JwtService {
         // リフレッシュトークンの有効期限
         Instant refreshTokenExpiry = now.plus(jwtConfig.getRefreshExpiration(), ChronoUnit.MILLIS);
 
-        // アクセストークンに含めるクレーム
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("roles", roles);
-
         // アクセストークンの生成
-        String accessToken = createToken(username, now, accessTokenExpiry, claims);
+        String accessToken = jwtSerializer.serialize(username, newTokenId(), now, accessTokenExpiry, roles);
 
-        // リフレッシュトークンの生成（権限情報は含めない）
-        String refreshToken = createToken(username, now, refreshTokenExpiry, new HashMap<>());
+        // リフレッシュトークンの生成（権限情報はrolesクレームに含めない）
+        String refreshToken = tokenVersion == null
+                ? jwtSerializer.serialize(username, newTokenId(), now, refreshTokenExpiry, null)
+                : jwtSerializer.serializeRefreshToken(username, newTokenId(), now, refreshTokenExpiry, roles,
+                        tokenVersion);
 
         return new JwtToken(accessToken, refreshToken, accessTokenExpiry);
     }
 
     /**
-     * トークンの生成
+     * ユーザー名と権限リストからアクセストークンだけを生成（リフレッシュトークンを再利用する更新用）
+     *
+     * @param username ユーザー名
+     * @param roles    権限リスト
+     * @return トークンレスポンス（リフレッシュトークンはnull）
      */
-    private String createToken(String subject, Instant issuedAt, Instant expiresAt, Map<String, Object> claims) {
-        JwtClaimsSet.Builder claimsBuilder = JwtClaimsSet.builder()
-                .subject(subject)
-                .issuedAt(issuedAt)
-                .expiresAt(expiresAt);
+    public JwtToken generateAccessToken(String username, Iterable<String> roles) {
+        Instant now = Instant.now();
+        Instant accessTokenExpiry = now.plus(jwtConfig.getExpiration(), ChronoUnit.MILLIS);
+        String accessToken = jwtSerializer.serialize(username, newTokenId(), now, accessTokenExpiry, roles);
+        return new JwtToken(accessToken, null, accessTokenExpiry);
+    }
+
+    /**
+     * 発行するトークンの署名アルゴリズム
+     *
+     * @return 署名アルゴリズム
+     */
+    public SigningAlgorithm getAlgorithm() {
+        return jwtSerializer.getAlgorithm();
+    }
 
-        // カスタムクレームの追加
-        claims.forEach(claimsBuilder::claim);
+    /**
+     * トークンのバージョン（バージョンを持たないユーザー詳細の場合はnull）
+     */
+    private static Integer tokenVersionOf(Object principal) {
+        return principal instanceof VersionedUserDetails versioned ? versioned.getTokenVersion() : null;
+    }
 
-        return jwtEncoder.encode(JwtEncoderParameters.from(claimsBuilder.build())).getTokenValue();
+    /**
+     * 失効の対象を識別するトークンのID（jti）を生成
+     */
+    private static String newTokenId() {
+        return UUID.randomUUID().toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.security.service.jwt;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.example.security.service.revocation.TokenRevocationStore;
+import com.example.security.service.timing.StageTimer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 失効したトークンを拒否するJWTデコーダー
+ *
+ * <p>検証済みトークンのキャッシュにヒットした場合も失効を判定するよう、デコーダーの最も外側に置く。
+ * jtiを持たないトークンは失効できないため判定しない。
+ * 最も外側に置くため、失効の判定を含む検証全体の処理時間をここで記録する。
+ */
+public class RevocationCheckingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final TokenRevocationStore revocationStore;
+    private final StageTimer decoding = new StageTimer("token-decode");
+
+    /**
+     * コンストラクタ
+     *
+     * @param delegate        署名とクレームを検証するデコーダー
+     * @param revocationStore 失効したトークンのストア
+     */
+    public RevocationCheckingJwtDecoder(JwtDecoder delegate, TokenRevocationStore revocationStore) {
+        this.delegate = delegate;
+        this.revocationStore = revocationStore;
+    }
+
+    /**
+     * トークンのデコード
+     *
+     * @param token コンパクト形式のトークン
+     * @return デコード済みのJWT
+     * @throws JwtException 検証に失敗した場合、またはトークンが失効している場合
+     */
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        try {
+            Jwt jwt = delegate.decode(token);
+            String tokenId = jwt.getId();
+            if (tokenId != null && revocationStore.isRevoked(tokenId)) {
+                throw new BadJwtException("Token has been revoked");
+            }
+            return jwt;
+        } finally {
+            decoding.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 検証の処理時間をメトリクスとして登録
+     *
+     * @param registry メーターレジストリ
+     */
+    public void bindTo(MeterRegistry registry) {
+        decoding.bindTo(registry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.example.security.service.jwt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.example.security.model.Role;
+
+/**
+ * rolesクレームを権限に変換するコンバーター
+ *
+ * <p>{@link Role}の組み合わせごとに、ロール階層を展開済みの不変な権限リストを起動時に構築しておき、
+ * リクエストごとにはクレームの値からビットマスクを求めて共有インスタンスを返すだけにする。
+ * {@link Role}に存在しない値は無視する。
+ */
+public class RoleAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    /**
+     * ロールを格納するクレーム名
+     */
+    public static final String ROLES_CLAIM = "roles";
+
+    /**
+     * 権限に付与するプレフィックス
+     */
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    /**
+     * クレームの値（プレフィックスあり・なし）からロールへの対応表
+     */
+    private final Map<String, Role> rolesByName;
+
+    /**
+     * ロールのビットマスクをインデックスとする権限リスト
+     */
+    private final List<Collection<GrantedAuthority>> authoritiesByMask;
+
+    /**
+     * コンストラクタ
+     *
+     * @param roleHierarchy 事前に展開するロール階層
+     */
+    public RoleAuthoritiesConverter(RoleHierarchy roleHierarchy) {
+        Role[] roles = Role.values();
+
+        Map<String, Role> byName = new HashMap<>();
+        for (Role role : roles) {
+            byName.put(role.name(), role);
+            byName.put(ROLE_PREFIX + role.name(), role);
+        }
+        this.rolesByName = Map.copyOf(byName);
+
+        List<Collection<GrantedAuthority>> byMask = new ArrayList<>();
+        for (int mask = 0; mask < 1 << roles.length; mask++) {
+            List<GrantedAuthority> granted = new ArrayList<>();
+            for (Role role : roles) {
+                if ((mask & 1 << role.ordinal()) != 0) {
+                    granted.add(new SimpleGrantedAuthority(ROLE_PREFIX + role.name()));
+                }
+            }
+            byMask.add(List.copyOf(new LinkedHashSet<>(roleHierarchy.getReachableGrantedAuthorities(granted))));
+        }
+        this.authoritiesByMask = List.copyOf(byMask);
+    }
+
+    /**
+     * JWTから権限を取得
+     *
+     * @param jwt JWT
+     * @return 権限（不変・共有インスタンス）
+     */
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        Object claim = jwt.getClaims().get(ROLES_CLAIM);
+        int mask = 0;
+        if (claim instanceof List<?> list && list instanceof RandomAccess) {
+            // イテレーターを生成しないようにインデックスで走査
+            for (int i = 0; i < list.size(); i++) {
+                mask |= maskOf(list.get(i));
+            }
+        } else if (claim instanceof Collection<?> collection) {
+            for (Object value : collection) {
+                mask |= maskOf(value);
+            }
+        } else if (claim instanceof String value) {
+            for (String name : value.split(" ")) {
+                mask |= maskOf(name);
+            }
+        }
+        return authoritiesByMask.get(mask);
+    }
+
+    /**
+     * クレームの値に対応するロールのビット
+     */
+    private int maskOf(Object value) {
+        Role role = rolesByName.get(value);
+        return role == null ? 0 : 1 << role.ordinal();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.example.security.service.jwt;
+
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
+
+import com.nimbusds.jose.JWSAlgorithm;
+
+/**
+ * JWTの署名アルゴリズム
+ *
+ * <p>RS256・ES256・EdDSAは公開鍵で検証でき、外部に検証を委ねる構成に使用する。
+ * HS256は署名と検証に同じ共通鍵を使用するため、トークンを発行したサービス内でのみ検証する構成に限って使用する。
+ */
+public enum SigningAlgorithm implements JwsAlgorithm {
+
+    /**
+     * RSASSA-PKCS1-v1_5（SHA-256、RSA 2048ビット）
+     */
+    RS256(JWSAlgorithm.RS256, "SHA256withRSA", "RSA"),
+
+    /**
+     * ECDSA（P-256、SHA-256）
+     */
+    ES256(JWSAlgorithm.ES256, "SHA256withECDSAinP1363Format", "EC"),
+
+    /**
+     * EdDSA（Ed25519）
+     */
+    EDDSA(JWSAlgorithm.EdDSA, "Ed25519", "EdDSA"),
+
+    /**
+     * HMAC（SHA-256）
+     */
+    HS256(JWSAlgorithm.HS256, "HmacSHA256", "HmacSHA256");
+
+    private final JWSAlgorithm jwsAlgorithm;
+    private final String jcaName;
+    private final String keyAlgorithm;
+
+    SigningAlgorithm(JWSAlgorithm jwsAlgorithm, String jcaName, String keyAlgorithm) {
+        this.jwsAlgorithm = jwsAlgorithm;
+        this.jcaName = jcaName;
+        this.keyAlgorithm = keyAlgorithm;
+    }
+
+    /**
+     * JWSヘッダーのalgの値の取得
+     *
+     * @return algの値
+     */
+    @Override
+    public String getName() {
+        return jwsAlgorithm.getName();
+    }
+
+    /**
+     * Nimbusのアルゴリズムの取得
+     *
+     * @return Nimbusのアルゴリズム
+     */
+    public JWSAlgorithm getJwsAlgorithm() {
+        return jwsAlgorithm;
+    }
+
+    /**
+     * JCAのアルゴリズム名の取得
+     *
+     * <p>ES256はJWSの署名形式（RとSの連結）で署名・検証するアルゴリズム名を返す。
+     *
+     * @return HS256の場合は{@link javax.crypto.Mac}、それ以外は{@link java.security.Signature}のアルゴリズム名
+     */
+    public String getJcaName() {
+        return jcaName;
+    }
+
+    /**
+     * 鍵のアルゴリズム名の取得
+     *
+     * @return {@link java.security.KeyFactory}のアルゴリズム名（{@link java.security.Key#getAlgorithm()}の値と一致する）
+     */
+    public String getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    /**
+     * 公開鍵で検証できるかどうか
+     *
+     * @return 公開鍵暗号のアルゴリズムの場合はtrue
+     */
+    public boolean isAsymmetric() {
+        return this != HS256;
+    }
+}
\ No newline at end of file
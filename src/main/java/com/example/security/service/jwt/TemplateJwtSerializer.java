@@ -0,0 +1,299 @@
+package com.example.security.service.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import com.example.security.model.Role;
+import com.example.security.service.jfr.AuthEvent;
+import com.example.security.service.jfr.TokenSignEvent;
+import com.example.security.service.timing.StageTimer;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSSigner;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 発行するトークンの形（sub・jti・iat・exp・roles、リフレッシュトークンではver・refresh_roles）に特化したJWTシリアライザー
+ *
+ * <p>{@link JwsJwtEncoder}はクレームをMapに詰めてNimbusで汎用的にJSONへ変換するが、
+ * このシリアライザーはBase64URLエンコード済みのJOSEヘッダーと{@link Role}の組み合わせごとに
+ * シリアライズ済みのrolesクレームを起動時に用意しておき、ペイロードを直接書き出す。
+ * トークンごとに計算するのはペイロードのエンコードと署名だけになる。
+ * エンコード済みのヘッダーは{@link JwtKey}ごとに用意されたものを使用する。
+ */
+public class TemplateJwtSerializer {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final JwtKeyRing keyRing;
+
+    /**
+     * ロール名からロールへの対応表
+     */
+    private final Map<String, Role> rolesByName;
+
+    /**
+     * ロールのビットマスクをインデックスとする、シリアライズ済みのrolesクレーム
+     */
+    private final List<String> rolesClaimsByMask;
+
+    /**
+     * ロールのビットマスクをインデックスとする、シリアライズ済みのrefresh_rolesクレーム
+     */
+    private final List<String> refreshRolesClaimsByMask;
+
+    /**
+     * 署名のタイマー
+     */
+    private final StageTimer signing = new StageTimer("token-sign");
+
+    /**
+     * コンストラクタ
+     *
+     * <p>スレッドごとに初期化済みの{@link java.security.Signature}を再利用する署名器を使用し、ヘッダーにkidを含めない。
+     *
+     * @param algorithm  署名アルゴリズム
+     * @param signingKey 署名鍵（HS256の場合は共通鍵、それ以外は秘密鍵）
+     */
+    public TemplateJwtSerializer(SigningAlgorithm algorithm, Key signingKey) {
+        this(algorithm, new ThreadLocalJwsSigner(algorithm, signingKey));
+    }
+
+    /**
+     * コンストラクタ（ヘッダーにkidを含めない）
+     *
+     * @param algorithm 署名アルゴリズム
+     * @param signer    署名器
+     */
+    public TemplateJwtSerializer(SigningAlgorithm algorithm, JWSSigner signer) {
+        this(new JwtKeyRing(new JwtKey(null, algorithm, signer, null)));
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * <p>トークンごとに鍵リングの現在の署名鍵で署名し、その鍵のkidをヘッダーに含める。
+     *
+     * @param keyRing 鍵リング
+     */
+    public TemplateJwtSerializer(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+
+        Role[] roles = Role.values();
+
+        Map<String, Role> byName = new HashMap<>();
+        for (Role role : roles) {
+            byName.put(role.name(), role);
+        }
+        this.rolesByName = Map.copyOf(byName);
+        this.rolesClaimsByMask = claimsByMask(roles, RoleAuthoritiesConverter.ROLES_CLAIM);
+        this.refreshRolesClaimsByMask = claimsByMask(roles, JwtService.REFRESH_ROLES_CLAIM);
+    }
+
+    /**
+     * ロールのビットマスクごとのシリアライズ済みのクレーム
+     */
+    private static List<String> claimsByMask(Role[] roles, String claimName) {
+        List<String> byMask = new ArrayList<>();
+        for (int mask = 0; mask < 1 << roles.length; mask++) {
+            StringBuilder claim = new StringBuilder(",\"").append(claimName).append("\":[");
+            for (Role role : roles) {
+                if ((mask & 1 << role.ordinal()) != 0) {
+                    if (claim.charAt(claim.length() - 1) != '[') {
+                        claim.append(',');
+                    }
+                    claim.append('"').append(role.name()).append('"');
+                }
+            }
+            byMask.add(claim.append(']').toString());
+        }
+        return List.copyOf(byMask);
+    }
+
+    /**
+     * トークンの生成
+     *
+     * @param subject   サブジェクト（sub）
+     * @param id        トークンのID（jti）
+     * @param issuedAt  発行日時（iat）
+     * @param expiresAt 有効期限（exp）
+     * @param roles     ロール（nullの場合はrolesクレームを含めない）
+     * @return コンパクト形式の署名済みトークン
+     * @throws JwtEncodingException 署名に失敗した場合
+     */
+    public String serialize(String subject, String id, Instant issuedAt, Instant expiresAt, Iterable<String> roles) {
+        return serialize(subject, id, issuedAt, expiresAt, null, RoleAuthoritiesConverter.ROLES_CLAIM,
+                rolesClaimsByMask, roles);
+    }
+
+    /**
+     * リフレッシュトークンの生成
+     *
+     * <p>ロールはrolesではなくrefresh_rolesクレームに含め、リフレッシュトークンをアクセストークンとして使っても
+     * 権限が付与されないようにする。
+     *
+     * @param subject   サブジェクト（sub）
+     * @param id        トークンのID（jti）
+     * @param issuedAt  発行日時（iat）
+     * @param expiresAt 有効期限（exp）
+     * @param roles     ロール（nullの場合はrefresh_rolesクレームを含めない）
+     * @param version   トークンのバージョン（nullの場合はverクレームを含めない）
+     * @return コンパクト形式の署名済みトークン
+     * @throws JwtEncodingException 署名に失敗した場合
+     */
+    public String serializeRefreshToken(String subject, String id, Instant issuedAt, Instant expiresAt,
+            Iterable<String> roles, Integer version) {
+        return serialize(subject, id, issuedAt, expiresAt, version, JwtService.REFRESH_ROLES_CLAIM,
+                refreshRolesClaimsByMask, roles);
+    }
+
+    /**
+     * トークンの生成（verクレームとロールのクレーム名を指定する）
+     */
+    private String serialize(String subject, String id, Instant issuedAt, Instant expiresAt, Integer version,
+            String rolesClaim, List<String> serializedRolesClaims, Iterable<String> roles) {
+        TokenSignEvent event = new TokenSignEvent();
+        event.begin();
+        JwtKey key = keyRing.signingKey();
+        String outcome = AuthEvent.FAILURE;
+        boolean rolesClaimCached = false;
+        try {
+            StringBuilder payload = new StringBuilder(160).append("{\"sub\":");
+            appendString(payload, subject);
+            payload.append(",\"jti\":");
+            appendString(payload, id);
+            payload.append(",\"iat\":").append(issuedAt.getEpochSecond())
+                    .append(",\"exp\":").append(expiresAt.getEpochSecond());
+            if (version != null) {
+                payload.append(",\"").append(JwtService.TOKEN_VERSION_CLAIM).append("\":").append(version.intValue());
+            }
+            if (roles != null) {
+                rolesClaimCached = appendRoles(payload, rolesClaim, serializedRolesClaims, roles);
+            }
+            payload.append('}');
+
+            byte[] encodedHeader = key.getEncodedHeaderBytes();
+            byte[] encodedPayload = BASE64URL.encode(payload.toString().getBytes(StandardCharsets.UTF_8));
+            byte[] signingInput = new byte[encodedHeader.length + encodedPayload.length];
+            System.arraycopy(encodedHeader, 0, signingInput, 0, encodedHeader.length);
+            System.arraycopy(encodedPayload, 0, signingInput, encodedHeader.length, encodedPayload.length);
+
+            String token = sign(key, signingInput);
+            outcome = AuthEvent.SUCCESS;
+            return token;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit(outcome, key.getAlgorithm(), rolesClaimCached);
+            }
+        }
+    }
+
+    /**
+     * 署名入力への署名
+     *
+     * @return コンパクト形式の署名済みトークン
+     */
+    private String sign(JwtKey key, byte[] signingInput) {
+        long signingStartedAt = System.nanoTime();
+        try {
+            return new String(signingInput, StandardCharsets.US_ASCII) + '.' + key.getSigner().sign(key.getHeader(), signingInput);
+        } catch (JOSEException e) {
+            throw new JwtEncodingException("Failed to sign the JWT", e);
+        } finally {
+            signing.record(System.nanoTime() - signingStartedAt);
+        }
+    }
+
+    /**
+     * 現在の署名鍵の署名アルゴリズム
+     *
+     * @return 署名アルゴリズム
+     */
+    public SigningAlgorithm getAlgorithm() {
+        return keyRing.signingKey().getAlgorithm();
+    }
+
+    /**
+     * rolesクレーム（またはrefresh_rolesクレーム）の書き出し
+     *
+     * <p>{@link Role}の名前が定義順に重複なく並んでいる場合はシリアライズ済みのクレームを使用し、
+     * それ以外の場合は値を1つずつ書き出す。
+     *
+     * @return シリアライズ済みのクレームを使用した場合はtrue
+     */
+    private boolean appendRoles(StringBuilder payload, String rolesClaim, List<String> serializedRolesClaims,
+            Iterable<String> roles) {
+        int mask = 0;
+        int lastOrdinal = -1;
+        for (String name : roles) {
+            Role role = rolesByName.get(name);
+            if (role == null || role.ordinal() <= lastOrdinal) {
+                mask = -1;
+                break;
+            }
+            mask |= 1 << role.ordinal();
+            lastOrdinal = role.ordinal();
+        }
+        if (mask >= 0) {
+            payload.append(serializedRolesClaims.get(mask));
+            return true;
+        }
+
+        payload.append(",\"").append(rolesClaim).append("\":[");
+        boolean first = true;
+        for (String name : roles) {
+            if (!first) {
+                payload.append(',');
+            }
+            appendString(payload, name);
+            first = false;
+        }
+        payload.append(']');
+        return false;
+    }
+
+    /**
+     * 署名の処理時間をメトリクスとして登録
+     *
+     * @param registry メーターレジストリ
+     */
+    public void bindTo(MeterRegistry registry) {
+        signing.bindTo(registry);
+    }
+
+    /**
+     * JSON文字列の書き出し
+     */
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
\ No newline at end of file
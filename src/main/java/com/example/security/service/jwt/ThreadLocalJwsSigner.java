@@ -0,0 +1,114 @@
+package com.example.security.service.jwt;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Set;
+
+import javax.crypto.Mac;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.util.Base64URL;
+
+/**
+ * スレッドごとに初期化済みの{@link Signature}・{@link Mac}を再利用するJWS署名器
+ *
+ * <p>Nimbusの署名器は署名のたびに{@link Signature}を取得して鍵で初期化するが、この署名器はスレッドごとに
+ * 1度だけ初期化し、署名後に初期化直後の状態へ戻る性質を利用して以降の署名に再利用する。
+ * ES256の署名はJWSの形式（RとSの連結）で出力する。
+ */
+public class ThreadLocalJwsSigner implements JWSSigner {
+
+    private final SigningAlgorithm algorithm;
+    private final ThreadLocal<Signature> signatures;
+    private final ThreadLocal<Mac> macs;
+    private final JCAContext jcaContext = new JCAContext();
+
+    /**
+     * コンストラクタ
+     *
+     * @param algorithm  署名アルゴリズム
+     * @param signingKey 署名鍵（HS256の場合は共通鍵、それ以外は秘密鍵）
+     * @throws IllegalArgumentException 署名鍵がアルゴリズムに合わない場合
+     */
+    public ThreadLocalJwsSigner(SigningAlgorithm algorithm, Key signingKey) {
+        this.algorithm = algorithm;
+        if (algorithm.isAsymmetric()) {
+            this.signatures = ThreadLocal.withInitial(() -> newSignature(algorithm, (PrivateKey) signingKey));
+            this.macs = null;
+            signatures.get();
+        } else {
+            this.signatures = null;
+            this.macs = ThreadLocal.withInitial(() -> newMac(algorithm, signingKey));
+            macs.get();
+        }
+    }
+
+    /**
+     * 署名
+     *
+     * @param header       JWSヘッダー
+     * @param signingInput 署名対象（ヘッダーとペイロードのBase64URL）
+     * @return 署名
+     * @throws JOSEException 署名に失敗した場合
+     */
+    @Override
+    public Base64URL sign(JWSHeader header, byte[] signingInput) throws JOSEException {
+        if (!algorithm.getJwsAlgorithm().equals(header.getAlgorithm())) {
+            throw new JOSEException("Unsupported JWS algorithm: " + header.getAlgorithm());
+        }
+        if (macs != null) {
+            return Base64URL.encode(macs.get().doFinal(signingInput));
+        }
+        Signature signature = signatures.get();
+        try {
+            signature.update(signingInput);
+            return Base64URL.encode(signature.sign());
+        } catch (GeneralSecurityException e) {
+            // 例外発生時は状態が不定になるため、次回は初期化し直す
+            signatures.remove();
+            throw new JOSEException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+        return Set.of(algorithm.getJwsAlgorithm());
+    }
+
+    @Override
+    public JCAContext getJCAContext() {
+        return jcaContext;
+    }
+
+    /**
+     * 署名鍵で初期化したSignatureの生成
+     */
+    private static Signature newSignature(SigningAlgorithm algorithm, PrivateKey privateKey) {
+        try {
+            Signature signature = Signature.getInstance(algorithm.getJcaName());
+            signature.initSign(privateKey);
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("署名鍵が不正です: " + algorithm, e);
+        }
+    }
+
+    /**
+     * 共通鍵で初期化したMacの生成
+     */
+    private static Mac newMac(SigningAlgorithm algorithm, Key secretKey) {
+        try {
+            Mac mac = Mac.getInstance(algorithm.getJcaName());
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("共通鍵が不正です: " + algorithm, e);
+        }
+    }
+}
\ No newline at end of file
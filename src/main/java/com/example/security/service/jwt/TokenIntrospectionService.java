@@ -0,0 +1,132 @@
+package com.example.security.service.jwt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Service;
+
+import com.example.security.config.JwtConfig;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * トークンのイントロスペクションサービス（RFC 7662）
+ *
+ * <p>{@link JwtDecoder}（失効の判定と検証済みトークンキャッシュを含む）で検証し、有効かどうかと主なクレームを返す。
+ * 複数のトークンは一定件数ごとのチャンクに分けて並列に検証する。1チャンクに収まる件数は、スレッドの受け渡しの方が
+ * 検証より高くつくため呼び出し元のスレッドで検証する。
+ */
+@Service
+public class TokenIntrospectionService implements AutoCloseable {
+
+    /**
+     * 1タスクで検証する件数
+     */
+    static final int CHUNK_SIZE = 32;
+
+    private final JwtDecoder jwtDecoder;
+    private final ExecutorService executor;
+
+    /**
+     * イントロスペクションの結果（無効なトークンはactiveのみ）
+     *
+     * @param active 有効なトークンか
+     * @param exp    有効期限（エポック秒）
+     * @param sub    サブジェクト
+     * @param roles  ロール
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Introspection(boolean active, Long exp, String sub, List<String> roles) {
+
+        /**
+         * 無効なトークンの結果（共有インスタンス）
+         */
+        public static final Introspection INACTIVE = new Introspection(false, null, null, null);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param jwtDecoder JWTデコーダー
+     * @param jwtConfig  JWT設定
+     */
+    public TokenIntrospectionService(JwtDecoder jwtDecoder, JwtConfig jwtConfig) {
+        this.jwtDecoder = jwtDecoder;
+        int parallelism = jwtConfig.getBatch().getParallelism();
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("jwt-introspection-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+
+    /**
+     * トークンのイントロスペクション
+     *
+     * @param token トークン
+     * @return 結果
+     */
+    public Introspection introspect(String token) {
+        if (token == null || token.isEmpty()) {
+            return Introspection.INACTIVE;
+        }
+        try {
+            Jwt jwt = jwtDecoder.decode(token);
+            return new Introspection(true,
+                    jwt.getExpiresAt() == null ? null : jwt.getExpiresAt().getEpochSecond(),
+                    jwt.getSubject(),
+                    jwt.getClaimAsStringList(RoleAuthoritiesConverter.ROLES_CLAIM));
+        } catch (JwtException e) {
+            return Introspection.INACTIVE;
+        }
+    }
+
+    /**
+     * 複数のトークンのイントロスペクション
+     *
+     * @param tokens トークン
+     * @return 結果（トークンと同じ順序）
+     */
+    public List<Introspection> introspect(List<String> tokens) {
+        Introspection[] results = new Introspection[tokens.size()];
+        if (tokens.size() <= CHUNK_SIZE) {
+            introspectChunk(tokens, results, 0, tokens.size());
+            return Arrays.asList(results);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < tokens.size(); from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(from + CHUNK_SIZE, tokens.size());
+            futures.add(CompletableFuture.runAsync(() -> introspectChunk(tokens, results, start, end), executor));
+        }
+        // 各タスクは結果の配列の別々の範囲に書き込み、join()で書き込みが見えるようになる
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        return Arrays.asList(results);
+    }
+
+    /**
+     * チャンクのイントロスペクション
+     */
+    private void introspectChunk(List<String> tokens, Introspection[] results, int start, int end) {
+        for (int i = start; i < end; i++) {
+            results[i] = introspect(tokens.get(i));
+        }
+    }
+
+    /**
+     * スレッドの停止
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
\ No newline at end of file
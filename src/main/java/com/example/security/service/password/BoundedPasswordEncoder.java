@@ -0,0 +1,159 @@
+package com.example.security.service.password;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.security.service.timing.StageTimer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * パスワードのハッシュ化・照合を専用スレッドプールで実行するエンコーダー
+ *
+ * <p>リクエストスレッドは結果を待つだけにし、同時に実行されるハッシュ計算をプールサイズに制限する。
+ * 待ち行列が満杯の場合は待たずに{@link PasswordEncoderBusyException}をスローする。
+ * ハッシュ計算の時間（待ち時間を除く）は、Server-Timingに含まれるよう結果を待つスレッドで記録する。
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer queueWait;
+    private final Counter rejections;
+    private final StageTimer hashing = new StageTimer("password-hash");
+    private final StageTimer verification = new StageTimer("password-verify");
+
+    /**
+     * コンストラクタ
+     *
+     * @param delegate      ハッシュ計算を行うエンコーダー
+     * @param poolSize      ハッシュ計算を行うスレッド数
+     * @param queueCapacity 待ち行列の長さ
+     * @param retryAfter    拒否時に通知する再試行までの待ち時間
+     * @param registry      メーターレジストリ
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+            Duration retryAfter, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.retryAfter = retryAfter;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-encoder-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.encoder.queue.size", executor, e -> e.getQueue().size())
+                .description("Number of password hashing tasks waiting for a thread")
+                .register(registry);
+        Gauge.builder("password.encoder.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Number of password hashing tasks currently running")
+                .register(registry);
+        this.queueWait = Timer.builder("password.encoder.queue.wait")
+                .description("Time password hashing tasks spent waiting in the queue")
+                .register(registry);
+        this.rejections = Counter.builder("password.encoder.rejected")
+                .description("Number of password hashing tasks rejected because the queue was full")
+                .register(registry);
+        hashing.bindTo(registry);
+        verification.bindTo(registry);
+    }
+
+    /**
+     * パスワードのハッシュ化
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword), hashing);
+    }
+
+    /**
+     * パスワードの照合
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword), verification);
+    }
+
+    /**
+     * 再ハッシュが必要かどうか（ハッシュ計算を伴わないため呼び出しスレッドで実行）
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * スレッドプールの停止
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * タスクをプールで実行し、結果を待つ
+     *
+     * <p>処理時間はタスクが失敗した場合や待機が中断された場合も記録する（キューでの待ち時間は含めない）。
+     */
+    private <T> T execute(Callable<T> task, StageTimer stage) {
+        long enqueuedAt = System.nanoTime();
+        // プールのスレッドで書き込み、呼び出し元のスレッドで読み出す（0は未設定）
+        AtomicLong startedAt = new AtomicLong();
+        AtomicLong elapsed = new AtomicLong();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                startedAt.set(start);
+                queueWait.record(start - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    elapsed.set(Math.max(1, System.nanoTime() - start));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordEncoderBusyException(retryAfter, e);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("パスワードのハッシュ処理が中断されました", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("パスワードのハッシュ処理に失敗しました", e.getCause());
+        } finally {
+            // 完了したタスクは処理時間を、中断時に実行中だったタスクはその時点までの時間を記録する
+            long nanos = elapsed.get();
+            long start = startedAt.get();
+            if (nanos > 0) {
+                stage.record(nanos);
+            } else if (start != 0) {
+                stage.record(System.nanoTime() - start);
+            }
+        }
+    }
+}
\ No newline at end of file
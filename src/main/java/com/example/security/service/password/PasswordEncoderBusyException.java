@@ -0,0 +1,36 @@
+package com.example.security.service.password;
+
+import java.time.Duration;
+
+/**
+ * パスワードハッシュ処理の待ち行列が満杯であることを示す例外
+ */
+public class PasswordEncoderBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 再試行までの推奨待ち時間
+     */
+    private final Duration retryAfter;
+
+    /**
+     * コンストラクタ
+     *
+     * @param retryAfter 再試行までの推奨待ち時間
+     * @param cause      原因
+     */
+    public PasswordEncoderBusyException(Duration retryAfter, Throwable cause) {
+        super("Password encoder is busy", cause);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * 再試行までの推奨待ち時間の取得
+     *
+     * @return 再試行までの推奨待ち時間
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.example.security.service.password;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ハッシュ1回あたりの処理時間の目標値からコストを決定するキャリブレーター
+ *
+ * <p>選択したアルゴリズムで下限のコストのハッシュ化を実際に行って処理時間を計測し、目標値に収まる最大のコストを外挿する。
+ * BCryptはコストが1増えるごとに処理時間が倍になり、Argon2は反復回数に比例する。
+ * 下限はSpring Securityの推奨値とし、計測結果が目標値を超える場合も下限は下回らない。
+ * PBKDF2はハッシュ値に反復回数が記録されず、変更すると既存のハッシュを照合できなくなるため推奨値に固定する。
+ */
+@Slf4j
+public class PasswordEncoderCalibrator {
+
+    /**
+     * BCryptのコストの下限
+     */
+    static final int MIN_BCRYPT_STRENGTH = 10;
+
+    /**
+     * BCryptのコストの上限
+     */
+    static final int MAX_BCRYPT_STRENGTH = 31;
+
+    /**
+     * Argon2の反復回数の下限
+     */
+    static final int MIN_ARGON2_ITERATIONS = 2;
+
+    /**
+     * 再ハッシュせずに許容する、目標値を超えるBCryptのコストの段階数の既定値
+     */
+    static final int DEFAULT_BCRYPT_COST_TOLERANCE = 1;
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    private final Duration latencyBudget;
+
+    private final int bcryptCostTolerance;
+
+    /**
+     * コンストラクタ
+     *
+     * @param latencyBudget ハッシュ1回あたりの処理時間の目標値（0の場合は計測せず下限のコストを使用）
+     */
+    public PasswordEncoderCalibrator(Duration latencyBudget) {
+        this(latencyBudget, DEFAULT_BCRYPT_COST_TOLERANCE);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param latencyBudget       ハッシュ1回あたりの処理時間の目標値（0の場合は計測せず下限のコストを使用）
+     * @param bcryptCostTolerance 再ハッシュせずに許容する、目標値を超えるBCryptのコストの段階数
+     */
+    public PasswordEncoderCalibrator(Duration latencyBudget, int bcryptCostTolerance) {
+        this.latencyBudget = latencyBudget;
+        this.bcryptCostTolerance = bcryptCostTolerance;
+    }
+
+    /**
+     * 委譲パスワードエンコーダーの生成
+     *
+     * <p>ハッシュ化には指定したアルゴリズムをキャリブレーションしたコストで使用し、照合はbcrypt・pbkdf2・argon2の
+     * いずれのIDにも対応する。IDを持たない既存のハッシュはBCryptとして照合し、再ハッシュの対象とする。
+     *
+     * @param algorithm ハッシュ化に使用するアルゴリズム
+     * @return パスワードエンコーダー
+     */
+    public DelegatingPasswordEncoder calibrate(PasswordHashAlgorithm algorithm) {
+        PasswordEncoder bcrypt = algorithm == PasswordHashAlgorithm.BCRYPT
+                ? calibrateBCrypt()
+                : new StrictCostBCryptPasswordEncoder(MIN_BCRYPT_STRENGTH, bcryptCostTolerance);
+        PasswordEncoder argon2 = algorithm == PasswordHashAlgorithm.ARGON2
+                ? calibrateArgon2()
+                : argon2(MIN_ARGON2_ITERATIONS);
+        PasswordEncoder pbkdf2 = Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+
+        Map<String, PasswordEncoder> encoders = Map.of(
+                PasswordHashAlgorithm.BCRYPT.getId(), bcrypt,
+                PasswordHashAlgorithm.PBKDF2.getId(), pbkdf2,
+                PasswordHashAlgorithm.ARGON2.getId(), argon2);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm.getId(), encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * BCryptのキャリブレーション
+     */
+    private StrictCostBCryptPasswordEncoder calibrateBCrypt() {
+        StrictCostBCryptPasswordEncoder baseline = new StrictCostBCryptPasswordEncoder(MIN_BCRYPT_STRENGTH,
+                bcryptCostTolerance);
+        if (latencyBudget.isZero()) {
+            return baseline;
+        }
+        Duration measured = measure(baseline);
+        int strength = logarithmicWorkFactor(measured, MIN_BCRYPT_STRENGTH, latencyBudget, MAX_BCRYPT_STRENGTH);
+        log.info("Calibrated bcrypt strength {} (cost {} took {} ms, budget {} ms)",
+                strength, MIN_BCRYPT_STRENGTH, measured.toMillis(), latencyBudget.toMillis());
+        return strength == MIN_BCRYPT_STRENGTH ? baseline
+                : new StrictCostBCryptPasswordEncoder(strength, bcryptCostTolerance);
+    }
+
+    /**
+     * Argon2のキャリブレーション
+     */
+    private Argon2PasswordEncoder calibrateArgon2() {
+        Argon2PasswordEncoder baseline = argon2(MIN_ARGON2_ITERATIONS);
+        if (latencyBudget.isZero()) {
+            return baseline;
+        }
+        Duration measured = measure(baseline);
+        int iterations = linearWorkFactor(measured, MIN_ARGON2_ITERATIONS, latencyBudget);
+        log.info("Calibrated argon2 iterations {} ({} iterations took {} ms, budget {} ms)",
+                iterations, MIN_ARGON2_ITERATIONS, measured.toMillis(), latencyBudget.toMillis());
+        return iterations == MIN_ARGON2_ITERATIONS ? baseline : argon2(iterations);
+    }
+
+    /**
+     * Spring Securityの推奨値（メモリ16MiB・並列度1）で反復回数のみを指定したArgon2エンコーダー
+     */
+    private static Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(16, 32, 1, 1 << 14, iterations);
+    }
+
+    /**
+     * ハッシュ化1回の処理時間（ウォームアップ後の中央値）
+     */
+    static Duration measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[SAMPLES / 2]);
+    }
+
+    /**
+     * 1増えるごとに処理時間が倍になるコストの外挿
+     *
+     * @param measured       下限のコストでの処理時間
+     * @param measuredFactor 下限のコスト
+     * @param budget         処理時間の目標値
+     * @param maxFactor      コストの上限
+     * @return 目標値に収まる最大のコスト（下限未満にはならない）
+     */
+    static int logarithmicWorkFactor(Duration measured, int measuredFactor, Duration budget, int maxFactor) {
+        double ratio = (double) budget.toNanos() / Math.max(1, measured.toNanos());
+        int factor = measuredFactor + (int) Math.floor(Math.log(ratio) / Math.log(2));
+        return Math.clamp(factor, measuredFactor, maxFactor);
+    }
+
+    /**
+     * 処理時間に比例するコストの外挿
+     *
+     * @param measured       下限のコストでの処理時間
+     * @param measuredFactor 下限のコスト
+     * @param budget         処理時間の目標値
+     * @return 目標値に収まる最大のコスト（下限未満にはならない）
+     */
+    static int linearWorkFactor(Duration measured, int measuredFactor, Duration budget) {
+        double ratio = (double) budget.toNanos() / Math.max(1, measured.toNanos());
+        long factor = (long) Math.floor(measuredFactor * ratio);
+        return (int) Math.clamp(factor, measuredFactor, Integer.MAX_VALUE);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.security.service.password;
+
+/**
+ * パスワードハッシュのアルゴリズム
+ *
+ * <p>ハッシュ値の先頭に付与されるID（例: {@code {bcrypt}}）を保持する。
+ */
+public enum PasswordHashAlgorithm {
+
+    /**
+     * BCrypt
+     */
+    BCRYPT("bcrypt"),
+
+    /**
+     * PBKDF2（HMAC-SHA256）
+     */
+    PBKDF2("pbkdf2"),
+
+    /**
+     * Argon2id
+     */
+    ARGON2("argon2");
+
+    private final String id;
+
+    PasswordHashAlgorithm(String id) {
+        this.id = id;
+    }
+
+    /**
+     * ハッシュ値に付与するIDの取得
+     *
+     * @return ID
+     */
+    public String getId() {
+        return id;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.security.service.password;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * コストが目標値より低いか、許容幅を超えて高いハッシュを再ハッシュ対象とするBCryptエンコーダー
+ *
+ * <p>{@link BCryptPasswordEncoder}はコストが目標値より低い場合のみ再ハッシュ対象とするが、
+ * このエンコーダーは許容幅を超えて高い場合も対象とし、ノードの性能に合わせてコストを下げられるようにする。
+ * 目標値は起動時のキャリブレーションで決まり、ノードや再起動ごとに1段階程度ずれるため、
+ * 許容幅の範囲内の差では再ハッシュせず、同じアカウントをノード間で繰り返し再ハッシュしないようにする。
+ */
+public class StrictCostBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final int strength;
+
+    private final int downgradeTolerance;
+
+    /**
+     * コンストラクタ
+     *
+     * @param strength           コスト（4〜31）
+     * @param downgradeTolerance 再ハッシュせずに許容する、目標値を超えるコストの段階数
+     */
+    public StrictCostBCryptPasswordEncoder(int strength, int downgradeTolerance) {
+        super(strength);
+        this.strength = strength;
+        this.downgradeTolerance = downgradeTolerance;
+    }
+
+    /**
+     * コストの取得
+     *
+     * @return コスト
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * 再ハッシュが必要かどうか
+     *
+     * @param encodedPassword ハッシュ化済みパスワード
+     * @return コストが目標値より低いか、目標値に許容幅を加えた値より高い場合はtrue
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Encoded password does not look like BCrypt");
+        }
+        int cost = Integer.parseInt(matcher.group(1));
+        return cost < strength || cost > strength + downgradeTolerance;
+    }
+}
\ No newline at end of file
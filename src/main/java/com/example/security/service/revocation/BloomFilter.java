@@ -0,0 +1,157 @@
+package com.example.security.service.revocation;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 文字列のロックフリーなBloomフィルター
+ *
+ * <p>ビット列を{@link AtomicLongArray}で保持し、追加はCASでビットを立て、判定は読み取りだけで行う。
+ * 要素を削除することはできないため、不要な要素を除くには作り直す。
+ *
+ * <p>ビット列を512ビット（キャッシュライン1本分）のブロックに分け、1つの要素のビットはすべて同じブロックに立てる。
+ * 追加・判定ごとのキャッシュミスがハッシュ関数の数によらずほぼ1回になる（偽陽性率はわずかに上がる）。
+ */
+public class BloomFilter {
+
+    /**
+     * ブロックあたりのワード数（512ビット）
+     */
+    private static final int BLOCK_WORDS = 8;
+
+    private static final int BLOCK_BITS = BLOCK_WORDS * Long.SIZE;
+
+    private final AtomicLongArray words;
+    private final long blockMask;
+    private final int hashFunctions;
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * コンストラクタ
+     *
+     * @param expectedInsertions       想定する要素数
+     * @param falsePositiveProbability 想定する要素数での偽陽性率
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException(
+                    "falsePositiveProbability must be between 0 and 1: " + falsePositiveProbability);
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability)
+                / (Math.log(2) * Math.log(2)));
+        // 剰余の代わりにマスクでビット位置を求めるため、2のべき乗に切り上げる
+        long bitSize = Math.max(BLOCK_BITS, Long.highestOneBit(bits - 1) << 1);
+        this.words = new AtomicLongArray(Math.toIntExact(bitSize / Long.SIZE));
+        this.blockMask = bitSize / BLOCK_BITS - 1;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * 要素をまとめて追加したフィルターの生成
+     *
+     * <p>生成中のフィルターは他のスレッドから参照されないため、CASを使わずにビットを立てる。
+     * 他のスレッドへはvolatileフィールドなどを介して公開すること。
+     *
+     * @param values                   追加する要素
+     * @param expectedInsertions       想定する要素数
+     * @param falsePositiveProbability 想定する要素数での偽陽性率
+     * @return フィルター
+     */
+    public static BloomFilter copyOf(Collection<String> values, long expectedInsertions,
+            double falsePositiveProbability) {
+        BloomFilter filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        for (String value : values) {
+            long hash1 = hash(value);
+            long hash2 = mix(hash1) | 1;
+            int block = filter.block(hash1);
+            for (int i = 0; i < filter.hashFunctions; i++) {
+                int bit = (int) (hash1 + i * hash2) & BLOCK_BITS - 1;
+                int index = block + (bit >>> 6);
+                filter.words.setPlain(index, filter.words.getPlain(index) | 1L << bit);
+            }
+        }
+        filter.insertions.setPlain(values.size());
+        return filter;
+    }
+
+    /**
+     * 要素の追加
+     *
+     * @param value 要素
+     */
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1) | 1;
+        int block = block(hash1);
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = (int) (hash1 + i * hash2) & BLOCK_BITS - 1;
+            int index = block + (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * 要素が含まれている可能性があるかどうか
+     *
+     * @param value 要素
+     * @return 含まれている可能性がある場合はtrue（falseの場合は確実に含まれていない）
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1) | 1;
+        int block = block(hash1);
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = (int) (hash1 + i * hash2) & BLOCK_BITS - 1;
+            if ((words.get(block + (bit >>> 6)) & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 追加した要素数（重複を含む）
+     *
+     * @return 追加した要素数
+     */
+    public long getInsertions() {
+        return insertions.get();
+    }
+
+    /**
+     * 文字列の64ビットハッシュ
+     *
+     * <p>{@link String#hashCode()}（JDKで最適化され、インスタンスにキャッシュされる）を拡散して使用する。
+     */
+    private static long hash(String value) {
+        return mix(value.hashCode());
+    }
+
+    /**
+     * ハッシュ値の上位ビットから求めたブロックの先頭のワード位置
+     */
+    private int block(long hash) {
+        return (int) (hash >>> 32 & blockMask) * BLOCK_WORDS;
+    }
+
+    /**
+     * ビットの拡散（MurmurHash3のfmix64）
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,333 @@
+package com.example.security.service.revocation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 失効したトークンを記録する、メモリーマップトファイル上の追記型ログ
+ *
+ * <p>ファイルは64バイトのヘッダーと固定長（64バイト）のレコードからなり、レコードには有効期限（エポック秒）と
+ * トークンのID（UTF-8で55バイトまで）を格納する。起動時はレコードを先頭から1度だけ順に読んで再生する。
+ *
+ * <p>同じホストの複数のJVMで1つのファイルを共有できる。追記とコンパクションはファイルロックで排他制御し、
+ * 件数をレコードの書き込み後に公開する。他のJVMの追記は{@link #poll(BiConsumer)}で末尾から取り込む。
+ * コンパクションは有効期限切れのレコードを詰めて世代番号を進めるため、読み手は世代番号が変わったら先頭から読み直す。
+ * 世代番号が奇数の間はコンパクション中のため読まない。
+ */
+public class RevocationLog implements AutoCloseable {
+
+    /**
+     * ヘッダーのサイズ
+     */
+    static final int HEADER_SIZE = 64;
+
+    /**
+     * レコードのサイズ
+     */
+    static final int RECORD_SIZE = 64;
+
+    /**
+     * 記録できるトークンのIDの最大バイト数
+     */
+    static final int MAX_ID_BYTES = RECORD_SIZE - Long.BYTES - 1;
+
+    private static final int MAGIC = 0x4a524556;
+    private static final int VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int RECORD_SIZE_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int GENERATION_OFFSET = 16;
+    private static final int COUNT_OFFSET = 24;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * JVM内で同じファイルを開いたインスタンス間の排他制御（ファイルロックはJVM単位のため）
+     */
+    private static final ConcurrentHashMap<Path, Object> JVM_LOCKS = new ConcurrentHashMap<>();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Object jvmLock;
+    private final int capacity;
+    private final Clock clock;
+
+    /**
+     * 取り込み済みのレコード数と、その時点の世代番号
+     */
+    private long readCount;
+    private long readGeneration = -1;
+
+    private RevocationLog(FileChannel channel, MappedByteBuffer buffer, Object jvmLock, int capacity, Clock clock) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.jvmLock = jvmLock;
+        this.capacity = capacity;
+        this.clock = clock;
+    }
+
+    /**
+     * ログを開く（存在しない場合は作成する）
+     *
+     * @param path     ファイルのパス
+     * @param capacity 記録できる最大件数（既存のファイルの場合はファイルの値を使用する）
+     * @return ログ
+     * @throws IOException ファイルを開けない場合、または形式が異なる場合
+     */
+    public static RevocationLog open(Path path, int capacity) throws IOException {
+        return open(path, capacity, Clock.systemUTC());
+    }
+
+    static RevocationLog open(Path path, int capacity, Clock clock) throws IOException {
+        Path absolutePath = path.toAbsolutePath().normalize();
+        if (absolutePath.getParent() != null) {
+            Files.createDirectories(absolutePath.getParent());
+        }
+        Object jvmLock = JVM_LOCKS.computeIfAbsent(absolutePath, key -> new Object());
+        FileChannel channel = FileChannel.open(absolutePath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            synchronized (jvmLock) {
+                try (FileLock lock = channel.lock()) {
+                    int fileCapacity = channel.size() == 0 ? capacity : readHeader(channel, absolutePath);
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                            HEADER_SIZE + (long) fileCapacity * RECORD_SIZE);
+                    if (buffer.getInt(MAGIC_OFFSET) == 0) {
+                        buffer.putInt(VERSION_OFFSET, VERSION)
+                                .putInt(RECORD_SIZE_OFFSET, RECORD_SIZE)
+                                .putInt(CAPACITY_OFFSET, fileCapacity)
+                                .putInt(MAGIC_OFFSET, MAGIC);
+                    }
+                    long generation = (long) LONGS.getAcquire(buffer, GENERATION_OFFSET);
+                    if ((generation & 1) != 0) {
+                        // コンパクション中に終了した場合。前方へのコピーのためレコードは失われていない
+                        LONGS.setRelease(buffer, GENERATION_OFFSET, generation + 1);
+                    }
+                    return new RevocationLog(channel, buffer, jvmLock, fileCapacity, clock);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 既存のファイルのヘッダーの検証
+     *
+     * @return ファイルに記録された最大件数
+     */
+    private static int readHeader(FileChannel channel, Path path) throws IOException {
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt(MAGIC_OFFSET) != MAGIC
+                || header.getInt(VERSION_OFFSET) != VERSION
+                || header.getInt(RECORD_SIZE_OFFSET) != RECORD_SIZE) {
+            throw new IOException("失効ログの形式が不正です: " + path);
+        }
+        return header.getInt(CAPACITY_OFFSET);
+    }
+
+    /**
+     * 失効の追記
+     *
+     * @param tokenId   トークンのID（jti）
+     * @param expiresAt トークンの有効期限（exp）
+     * @return 追記した場合はtrue（ログが満杯、またはIDが長すぎる場合はfalse）
+     */
+    public boolean append(String tokenId, Instant expiresAt) {
+        byte[] id = tokenId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > MAX_ID_BYTES) {
+            return false;
+        }
+        return withFileLock(() -> {
+            long count = count();
+            if (count >= capacity) {
+                return false;
+            }
+            int offset = recordOffset(count);
+            buffer.putLong(offset, expiresAt.getEpochSecond())
+                    .put(offset + Long.BYTES, (byte) id.length)
+                    .put(offset + Long.BYTES + 1, id);
+            LONGS.setRelease(buffer, COUNT_OFFSET, count + 1);
+            if (readCount == count && readGeneration == generation()) {
+                // 自身の追記は取り込み済みとして扱う
+                readCount = count + 1;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * 有効期限内のレコードを先頭から再生
+     *
+     * @param consumer トークンのIDと有効期限を受け取る処理
+     */
+    public synchronized void replay(BiConsumer<String, Instant> consumer) {
+        readGeneration = -1;
+        poll(consumer);
+    }
+
+    /**
+     * 前回の読み取り以降に追記された有効期限内のレコードを取り込む
+     *
+     * <p>コンパクションで世代番号が変わった場合は先頭から読み直す。コンパクション中の場合は何もしない。
+     *
+     * @param consumer トークンのIDと有効期限を受け取る処理
+     */
+    public synchronized void poll(BiConsumer<String, Instant> consumer) {
+        long generation = generation();
+        if ((generation & 1) != 0) {
+            return;
+        }
+        long from = generation == readGeneration ? readCount : 0;
+        long count = count();
+        if (from == count) {
+            readCount = count;
+            readGeneration = generation;
+            return;
+        }
+
+        long now = clock.instant().getEpochSecond();
+        List<String> ids = new ArrayList<>();
+        List<Instant> expirations = new ArrayList<>();
+        byte[] id = new byte[MAX_ID_BYTES];
+        for (long i = from; i < count; i++) {
+            int offset = recordOffset(i);
+            long expiresAt = buffer.getLong(offset);
+            if (expiresAt > now) {
+                int length = Math.min(buffer.get(offset + Long.BYTES) & 0xff, MAX_ID_BYTES);
+                buffer.get(offset + Long.BYTES + 1, id, 0, length);
+                ids.add(new String(id, 0, length, StandardCharsets.UTF_8));
+                expirations.add(Instant.ofEpochSecond(expiresAt));
+            }
+        }
+
+        // 読み取り中にコンパクションされた場合は破棄して次回読み直す
+        if (generation() != generation) {
+            return;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            consumer.accept(ids.get(i), expirations.get(i));
+        }
+        readCount = count;
+        readGeneration = generation;
+    }
+
+    /**
+     * 有効期限切れのレコードを取り除いて詰める
+     *
+     * @return 取り除いたレコード数
+     */
+    public int compact() {
+        return withFileLock(() -> {
+            long generation = generation();
+            LONGS.setRelease(buffer, GENERATION_OFFSET, generation + 1);
+
+            long now = clock.instant().getEpochSecond();
+            long count = count();
+            long live = 0;
+            byte[] record = new byte[RECORD_SIZE];
+            for (long i = 0; i < count; i++) {
+                int offset = recordOffset(i);
+                if (buffer.getLong(offset) > now) {
+                    if (live != i) {
+                        buffer.get(offset, record).put(recordOffset(live), record);
+                    }
+                    live++;
+                }
+            }
+
+            LONGS.setRelease(buffer, COUNT_OFFSET, live);
+            LONGS.setRelease(buffer, GENERATION_OFFSET, generation + 2);
+            if (readGeneration == generation && readCount == count) {
+                // 取り込み済みの状態で詰めた場合は読み直さない
+                readGeneration = generation + 2;
+                readCount = live;
+            }
+            return (int) (count - live);
+        });
+    }
+
+    /**
+     * 記録されているレコード数（有効期限切れを含む）
+     *
+     * @return レコード数
+     */
+    public long size() {
+        return count();
+    }
+
+    /**
+     * 記録できる最大件数
+     *
+     * @return 最大件数
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 書き込んだ内容をディスクに反映してファイルを閉じる
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            buffer.force();
+        }
+        channel.close();
+    }
+
+    /**
+     * JVM内とプロセス間の両方で排他制御して実行
+     */
+    private <T> T withFileLock(IoSupplier<T> action) {
+        synchronized (jvmLock) {
+            synchronized (this) {
+                try (FileLock lock = channel.lock(0, HEADER_SIZE, false)) {
+                    return action.get();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private long count() {
+        return (long) LONGS.getAcquire(buffer, COUNT_OFFSET);
+    }
+
+    private long generation() {
+        return (long) LONGS.getAcquire(buffer, GENERATION_OFFSET);
+    }
+
+    private static int recordOffset(long index) {
+        return Math.toIntExact(HEADER_SIZE + index * RECORD_SIZE);
+    }
+
+    /**
+     * 入出力例外を送出できるSupplier
+     */
+    @FunctionalInterface
+    private interface IoSupplier<T> {
+
+        T get() throws IOException;
+    }
+}
\ No newline at end of file
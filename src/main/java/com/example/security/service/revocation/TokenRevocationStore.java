@@ -0,0 +1,271 @@
+package com.example.security.service.revocation;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 失効したトークンのID（jti）を保持するストア
+ *
+ * <p>判定はロックフリーの{@link BloomFilter}で行い、含まれている可能性がある場合だけ厳密な集合を参照する。
+ * 厳密な集合は有効期限（exp）を過ぎたエントリを失効していないものとして扱い、
+ * Bloomフィルターの作り直しと件数の取得の際にまとめて削除する。
+ * Bloomフィルターは要素を削除できないため、想定した要素数まで追加した時点で、有効なエントリから作り直す。
+ * 失効の登録とフィルターの作り直しは頻度が低いため排他制御し、判定の経路にはロックを置かない。
+ *
+ * <p>{@link RevocationLog}を指定した場合は失効をログに追記し、起動時にログを再生して復元する。
+ * 同じログを共有する他のJVMの失効は一定間隔で取り込み、有効期限切れのレコードが増えたらログを詰める。
+ */
+@Slf4j
+public class TokenRevocationStore implements AutoCloseable {
+
+    /**
+     * メトリクス名の接頭辞
+     */
+    static final String METRIC_PREFIX = "jwt.revocation";
+
+    /**
+     * ログを詰める最小のレコード数
+     */
+    static final long MIN_COMPACTION_RECORDS = 1_024;
+
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Instant> revoked;
+    private final Object lock = new Object();
+    private final RevocationLog revocationLog;
+    private final ScheduledExecutorService synchronizer;
+
+    private volatile BloomFilter filter;
+
+    /**
+     * 現在のBloomフィルターに想定した要素数（排他制御の中でのみ参照・更新）
+     */
+    private long filterCapacity;
+
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder exactLookups = new LongAdder();
+
+    /**
+     * コンストラクタ
+     *
+     * @param expectedInsertions       Bloomフィルターに想定する要素数
+     * @param falsePositiveProbability 想定する要素数での偽陽性率
+     */
+    public TokenRevocationStore(long expectedInsertions, double falsePositiveProbability) {
+        this(expectedInsertions, falsePositiveProbability, null, Duration.ZERO);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * <p>ログを再生して失効済みトークンを復元する。
+     *
+     * @param expectedInsertions       Bloomフィルターに想定する要素数
+     * @param falsePositiveProbability 想定する要素数での偽陽性率
+     * @param revocationLog            失効ログ（nullの場合は永続化しない）
+     * @param syncInterval             他のJVMの失効を取り込み、ログを詰める間隔（0以下の場合は行わない）
+     */
+    public TokenRevocationStore(long expectedInsertions, double falsePositiveProbability,
+            RevocationLog revocationLog, Duration syncInterval) {
+        this(expectedInsertions, falsePositiveProbability, revocationLog, syncInterval, Clock.systemUTC());
+    }
+
+    TokenRevocationStore(long expectedInsertions, double falsePositiveProbability, Clock clock) {
+        this(expectedInsertions, falsePositiveProbability, null, Duration.ZERO, clock);
+    }
+
+    TokenRevocationStore(long expectedInsertions, double falsePositiveProbability, RevocationLog revocationLog,
+            Duration syncInterval, Clock clock) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.clock = clock;
+        // 再生する件数が分かっている場合は、復元中に拡張しないようあらかじめ確保する
+        this.revoked = revocationLog == null
+                ? new ConcurrentHashMap<>()
+                : new ConcurrentHashMap<>(Math.toIntExact(revocationLog.size()));
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        this.filterCapacity = expectedInsertions;
+        this.revocationLog = revocationLog;
+
+        if (revocationLog != null) {
+            synchronized (lock) {
+                // 復元した件数に合わせてBloomフィルターを1度だけ作り直す
+                revocationLog.replay(revoked::put);
+                rebuild();
+            }
+        }
+        if (revocationLog != null && syncInterval.isPositive()) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("token-revocation-sync-");
+            threadFactory.setDaemon(true);
+            this.synchronizer = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            synchronizer.scheduleWithFixedDelay(this::synchronizeSafely,
+                    syncInterval.toMillis(), syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.synchronizer = null;
+        }
+    }
+
+    /**
+     * トークンの失効
+     *
+     * @param tokenId   トークンのID（jti）
+     * @param expiresAt トークンの有効期限（exp）。過ぎている場合は登録しない
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(clock.instant())) {
+            return;
+        }
+        synchronized (lock) {
+            if (filter.getInsertions() >= filterCapacity) {
+                rebuild();
+            }
+            revoked.put(tokenId, expiresAt);
+            filter.put(tokenId);
+        }
+        if (revocationLog != null && !appendToLog(tokenId, expiresAt)) {
+            log.warn("失効ログに追記できないため、失効はこのプロセスのメモリーにのみ保持します: {}", tokenId);
+        }
+    }
+
+    /**
+     * トークンが失効しているかどうか
+     *
+     * @param tokenId トークンのID（jti）
+     * @return 失効している場合はtrue
+     */
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            filtered.increment();
+            return false;
+        }
+        exactLookups.increment();
+        Instant expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt.isAfter(clock.instant());
+    }
+
+    /**
+     * 有効期限内の失効済みトークン数（有効期限切れのエントリを削除してから数える）
+     *
+     * @return 失効済みトークン数
+     */
+    public long size() {
+        removeExpired();
+        return revoked.size();
+    }
+
+    /**
+     * ログを共有する他のJVMの失効を取り込み、有効期限切れのレコードが有効なエントリより多ければログを詰める
+     */
+    void synchronize() {
+        revocationLog.poll(this::restore);
+        long records = revocationLog.size();
+        if (records >= MIN_COMPACTION_RECORDS && records > size() * 2) {
+            revocationLog.compact();
+        }
+    }
+
+    /**
+     * 後続の実行を止めないよう、同期の失敗をログに記録して継続する
+     */
+    private void synchronizeSafely() {
+        try {
+            synchronize();
+        } catch (RuntimeException e) {
+            log.warn("失効ログの同期に失敗しました", e);
+        }
+    }
+
+    /**
+     * ログから取り込んだ失効の登録（ログには追記しない）
+     */
+    private void restore(String tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(clock.instant())) {
+            return;
+        }
+        synchronized (lock) {
+            if (revoked.containsKey(tokenId)) {
+                return;
+            }
+            if (filter.getInsertions() >= filterCapacity) {
+                rebuild();
+            }
+            revoked.put(tokenId, expiresAt);
+            filter.put(tokenId);
+        }
+    }
+
+    /**
+     * 失効ログへの追記（満杯の場合は詰めてから再試行する）
+     */
+    private boolean appendToLog(String tokenId, Instant expiresAt) {
+        if (revocationLog.append(tokenId, expiresAt)) {
+            return true;
+        }
+        return revocationLog.compact() > 0 && revocationLog.append(tokenId, expiresAt);
+    }
+
+    /**
+     * 同期の停止とログのクローズ
+     */
+    @Override
+    public void close() throws IOException {
+        if (synchronizer != null) {
+            synchronizer.shutdown();
+        }
+        if (revocationLog != null) {
+            revocationLog.close();
+        }
+    }
+
+    /**
+     * 失効済みトークン数と、Bloomフィルターで判定した件数・厳密な集合を参照した件数をメトリクスとして登録
+     *
+     * @param registry メーターレジストリ
+     */
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".size", this, TokenRevocationStore::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".lookups", filtered, LongAdder::sum)
+                .description("Revocation checks answered by the Bloom filter or the exact set")
+                .tag("result", "filtered")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".lookups", exactLookups, LongAdder::sum)
+                .description("Revocation checks answered by the Bloom filter or the exact set")
+                .tag("result", "exact")
+                .register(registry);
+    }
+
+    /**
+     * 有効期限内のエントリからBloomフィルターを作り直す
+     */
+    private void rebuild() {
+        removeExpired();
+        long capacity = Math.max(expectedInsertions, revoked.size() * 2L);
+        filter = BloomFilter.copyOf(revoked.keySet(), capacity, falsePositiveProbability);
+        filterCapacity = capacity;
+    }
+
+    /**
+     * 有効期限切れのエントリの削除
+     */
+    private void removeExpired() {
+        Instant now = clock.instant();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+}
\ No newline at end of file
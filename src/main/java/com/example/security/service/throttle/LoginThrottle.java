@@ -0,0 +1,100 @@
+package com.example.security.service.throttle;
+
+import java.time.Duration;
+
+import com.example.security.config.AuthConfig;
+import com.example.security.model.User;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * ログインの試行回数の制限
+ *
+ * <p>接続元のアドレスごとと、アカウント（正規化したメールアドレス）ごとのトークンバケットで制限する。
+ * パスワードの照合より前に判定し、拒否した試行ではパスワードのハッシュ計算を行わない。
+ * 1つのアドレスから多数のアカウントを試す攻撃はアドレスの制限で、多数のアドレスから1つのアカウントを試す攻撃は
+ * アカウントの制限で止める。アドレスの制限で拒否した試行はアカウントのトークンを消費しない。
+ */
+public class LoginThrottle {
+
+    /**
+     * メトリクス名
+     */
+    static final String METRIC_NAME = "auth.login.throttled";
+
+    private final RateLimiter addressLimiter;
+    private final RateLimiter accountLimiter;
+
+    private volatile Counter addressRejections;
+    private volatile Counter accountRejections;
+
+    /**
+     * コンストラクタ
+     *
+     * @param throttle ログイン試行の制限設定（無効な場合はすべての試行を許可する）
+     */
+    public LoginThrottle(AuthConfig.LoginThrottle throttle) {
+        this(newLimiter(throttle, throttle.getAddress()), newLimiter(throttle, throttle.getAccount()));
+    }
+
+    LoginThrottle(RateLimiter addressLimiter, RateLimiter accountLimiter) {
+        this.addressLimiter = addressLimiter;
+        this.accountLimiter = accountLimiter;
+    }
+
+    /**
+     * ログインの試行の判定
+     *
+     * @param email         メールアドレス
+     * @param clientAddress 接続元のアドレス（nullの場合は判定しない）
+     * @throws LoginThrottledException 試行回数が上限を超えた場合
+     */
+    public void check(String email, String clientAddress) {
+        if (addressLimiter == null) {
+            return;
+        }
+        if (clientAddress != null) {
+            long wait = addressLimiter.tryAcquire(clientAddress);
+            if (wait > 0) {
+                reject(addressRejections, wait);
+            }
+        }
+        if (email != null) {
+            long wait = accountLimiter.tryAcquire(User.normalizeEmail(email));
+            if (wait > 0) {
+                reject(accountRejections, wait);
+            }
+        }
+    }
+
+    /**
+     * 拒否した試行の件数をメトリクスとして登録
+     *
+     * @param registry メーターレジストリ
+     */
+    public void bindTo(MeterRegistry registry) {
+        addressRejections = Counter.builder(METRIC_NAME)
+                .description("Login attempts rejected before password verification")
+                .tag("key", "address")
+                .register(registry);
+        accountRejections = Counter.builder(METRIC_NAME)
+                .description("Login attempts rejected before password verification")
+                .tag("key", "account")
+                .register(registry);
+    }
+
+    private static RateLimiter newLimiter(AuthConfig.LoginThrottle throttle, AuthConfig.LoginThrottle.Bucket bucket) {
+        if (!throttle.isEnabled()) {
+            return null;
+        }
+        return new RateLimiter(bucket.getCapacity(), bucket.getRefillInterval(), throttle.getMaximumKeys());
+    }
+
+    private static void reject(Counter rejections, long waitNanos) {
+        if (rejections != null) {
+            rejections.increment();
+        }
+        throw new LoginThrottledException(Duration.ofNanos(waitNanos));
+    }
+}
\ No newline at end of file
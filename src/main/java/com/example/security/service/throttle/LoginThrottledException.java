@@ -0,0 +1,35 @@
+package com.example.security.service.throttle;
+
+import java.time.Duration;
+
+/**
+ * ログインの試行回数が上限を超えたことを示す例外
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 再試行までの待ち時間
+     */
+    private final Duration retryAfter;
+
+    /**
+     * コンストラクタ
+     *
+     * @param retryAfter 再試行までの待ち時間
+     */
+    public LoginThrottledException(Duration retryAfter) {
+        super("Too many login attempts");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * 再試行までの待ち時間の取得
+     *
+     * @return 再試行までの待ち時間
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
\ No newline at end of file
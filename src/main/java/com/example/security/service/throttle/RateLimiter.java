@@ -0,0 +1,103 @@
+package com.example.security.service.throttle;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * キーごとのトークンバケットによるレート制限
+ *
+ * <p>GCRA（Generic Cell Rate Algorithm）で実装する。バケットの状態は次のトークンが補充される理論上の時刻
+ * （TAT）1つだけで表し、{@link AtomicLong}のCASで更新するためロックを取らない。
+ * 容量{@code capacity}のバケットに{@code refillInterval}ごとに1トークンを補充するトークンバケットと同じ判定になる。
+ *
+ * <p>バケットはCaffeineのキャッシュに最大{@code maximumKeys}件まで保持する。
+ * 最後のアクセスから満杯に戻るまでの時間（容量 × 補充間隔）が経てば、削除しても判定は変わらないため、
+ * その時間アクセスのないバケットは削除する。
+ */
+public class RateLimiter {
+
+    /**
+     * 1トークンを補充する間隔（ナノ秒）
+     */
+    private final long refillIntervalNanos;
+
+    /**
+     * 前借りできる時間（ナノ秒。容量から1を引いたトークン分）
+     */
+    private final long burstNanos;
+
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * 満杯のバケットの生成（TATを現在時刻にする）
+     */
+    private final Function<String, AtomicLong> newBucket;
+
+    /**
+     * コンストラクタ
+     *
+     * @param capacity       バケットの容量（連続で許可する回数）
+     * @param refillInterval 1トークンを補充する間隔
+     * @param maximumKeys    保持するバケットの最大件数
+     */
+    public RateLimiter(int capacity, Duration refillInterval, long maximumKeys) {
+        this(capacity, refillInterval, maximumKeys, Ticker.systemTicker());
+    }
+
+    RateLimiter(int capacity, Duration refillInterval, long maximumKeys, Ticker ticker) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (refillInterval.isNegative() || refillInterval.isZero()) {
+            throw new IllegalArgumentException("refillInterval must be positive: " + refillInterval);
+        }
+        this.refillIntervalNanos = refillInterval.toNanos();
+        this.burstNanos = refillIntervalNanos * (capacity - 1);
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(refillIntervalNanos * capacity))
+                .ticker(ticker)
+                .build();
+        this.newBucket = key -> new AtomicLong(ticker.read());
+    }
+
+    /**
+     * トークンの取得
+     *
+     * @param key キー
+     * @return 許可した場合は0、拒否した場合は次のトークンが補充されるまでの時間（ナノ秒）
+     */
+    public long tryAcquire(String key) {
+        AtomicLong bucket = buckets.get(key, newBucket);
+        long now = ticker.read();
+        while (true) {
+            long theoreticalArrival = bucket.get();
+            // ナノ秒のタイマーは原点が任意のため、差で比較する
+            long base = theoreticalArrival - now > 0 ? theoreticalArrival : now;
+            long wait = base - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(theoreticalArrival, base + refillIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 保持しているバケットの件数（アクセスのないバケットを削除してから数える）
+     *
+     * @return 件数
+     */
+    public long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
\ No newline at end of file
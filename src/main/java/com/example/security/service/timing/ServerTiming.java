@@ -0,0 +1,79 @@
+package com.example.security.service.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * リクエストごとの段階別の処理時間（Server-Timingヘッダー）
+ *
+ * <p>{@link #begin()}から{@link #end()}までの間に、同じスレッドで{@link StageTimer}が記録した処理時間を段階名ごとに合計する。
+ * 別のスレッドで実行する処理は、結果を待つ呼び出し元のスレッドで記録する必要がある。
+ */
+public final class ServerTiming {
+
+    /**
+     * ヘッダー名
+     */
+    public static final String HEADER_NAME = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+
+    /**
+     * 段階名ごとの合計時間（ナノ秒。記録した順）
+     */
+    private final Map<String, long[]> durations = new LinkedHashMap<>();
+
+    private ServerTiming() {
+    }
+
+    /**
+     * 現在のスレッドでの計測の開始
+     *
+     * @return 計測
+     */
+    public static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * 現在のスレッドでの計測の終了
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 現在のスレッドの計測への処理時間の加算（計測を開始していない場合は何もしない）
+     *
+     * @param stage 段階名
+     * @param nanos 処理時間（ナノ秒）
+     */
+    static void add(String stage, long nanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.durations.computeIfAbsent(stage, key -> new long[1])[0] += nanos;
+        }
+    }
+
+    /**
+     * Server-Timingヘッダーの値（段階ごとの合計時間と、開始からの経過時間をtotalとしてミリ秒で表す）
+     *
+     * @return ヘッダーの値
+     */
+    public String toHeaderValue() {
+        StringJoiner value = new StringJoiner(", ");
+        durations.forEach((stage, nanos) -> value.add(metric(stage, nanos[0])));
+        value.add(metric("total", System.nanoTime() - startedAt));
+        return value.toString();
+    }
+
+    private static String metric(String name, long nanos) {
+        return name + ";dur=" + String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.example.security.service.timing;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 認証処理の段階ごとのタイマー
+ *
+ * <p>処理時間をヒストグラム付きのタイマー（{@value #METRIC_NAME}、stageタグ）に記録し、
+ * リクエストの{@link ServerTiming}が開始されていれば同じ段階名で加算する。
+ * メーターレジストリに登録するまではServer-Timingへの加算だけを行う。
+ */
+public final class StageTimer {
+
+    /**
+     * メトリクス名
+     */
+    public static final String METRIC_NAME = "auth.stage";
+
+    /**
+     * ヒストグラムの下限（権限の変換やキャッシュにヒットした検証はマイクロ秒単位のため）
+     */
+    private static final Duration MINIMUM_EXPECTED = Duration.ofNanos(1_000);
+
+    /**
+     * ヒストグラムの上限
+     */
+    private static final Duration MAXIMUM_EXPECTED = Duration.ofSeconds(10);
+
+    private final String stage;
+
+    private volatile Timer timer;
+
+    /**
+     * コンストラクタ
+     *
+     * @param stage 段階名（stageタグとServer-Timingのメトリクス名）
+     */
+    public StageTimer(String stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * 段階名
+     *
+     * @return 段階名
+     */
+    public String getStage() {
+        return stage;
+    }
+
+    /**
+     * 処理時間の記録
+     *
+     * @param nanos 処理時間（ナノ秒）
+     */
+    public void record(long nanos) {
+        Timer current = timer;
+        if (current != null) {
+            current.record(nanos, TimeUnit.NANOSECONDS);
+        }
+        ServerTiming.add(stage, nanos);
+    }
+
+    /**
+     * 処理を実行し、処理時間を記録する（例外で終了した場合も記録する）
+     *
+     * @param <T>      結果の型
+     * @param supplier 処理
+     * @return 処理の結果
+     */
+    public <T> T time(Supplier<T> supplier) {
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * タイマーをメトリクスとして登録
+     *
+     * @param registry メーターレジストリ
+     */
+    public void bindTo(MeterRegistry registry) {
+        this.timer = Timer.builder(METRIC_NAME)
+                .tag("stage", stage)
+                .description("Time spent in each stage of authentication and token processing")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MINIMUM_EXPECTED)
+                .maximumExpectedValue(MAXIMUM_EXPECTED)
+                .register(registry);
+    }
+}
\ No newline at end of file
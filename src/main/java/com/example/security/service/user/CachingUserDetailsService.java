@@ -0,0 +1,119 @@
+package com.example.security.service.user;
+
+import java.time.Duration;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.example.security.model.User;
+import com.example.security.repository.user.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * ユーザー詳細をキャッシュするサービス
+ *
+ * <p>同じユーザー名への同時リクエストは1回のロードにまとめられ、他のリクエストはその結果を待つ。
+ * 存在しないユーザーはキャッシュしない。ユーザーが変更された場合は{@link UserChangedEvent}で無効化する。
+ * 大文字・小文字の違うユーザー名が別のエントリーにならないよう、正規化したメールアドレスをキーにする。
+ */
+public class CachingUserDetailsService implements UserDetailsService, ApplicationListener<UserChangedEvent> {
+
+    /**
+     * メトリクスに付与するキャッシュ名
+     */
+    static final String CACHE_NAME = "userDetails";
+
+    private final LoadingCache<String, UserDetails> cache;
+
+    /**
+     * コンストラクタ
+     *
+     * @param delegate    ユーザー詳細をロードするサービス
+     * @param ttl         キャッシュの有効期間
+     * @param maximumSize キャッシュする最大件数
+     */
+    public CachingUserDetailsService(UserDetailsService delegate, Duration ttl, long maximumSize) {
+        this(delegate, ttl, maximumSize, Ticker.systemTicker());
+    }
+
+    CachingUserDetailsService(UserDetailsService delegate, Duration ttl, long maximumSize, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .ticker(ticker)
+                .recordStats()
+                .build(delegate::loadUserByUsername);
+    }
+
+    /**
+     * ユーザー詳細の取得
+     *
+     * @param username ユーザー名
+     * @return ユーザー詳細
+     * @throws UsernameNotFoundException ユーザーが存在しない場合
+     */
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return cache.get(User.normalizeEmail(username));
+    }
+
+    /**
+     * キャッシュにあるか（ヒット数・ミス数には含めない）
+     *
+     * @param username ユーザー名
+     * @return キャッシュにある場合はtrue
+     */
+    public boolean isCached(String username) {
+        return cache.asMap().containsKey(User.normalizeEmail(username));
+    }
+
+    /**
+     * キャッシュにあるか（キャッシュしないサービスの場合はfalse）
+     *
+     * @param userDetailsService ユーザー詳細サービス
+     * @param username           ユーザー名
+     * @return キャッシュにある場合はtrue
+     */
+    public static boolean isCached(UserDetailsService userDetailsService, String username) {
+        return userDetailsService instanceof CachingUserDetailsService caching && username != null
+                && caching.isCached(username);
+    }
+
+    /**
+     * キャッシュの無効化
+     *
+     * @param username ユーザー名
+     */
+    public void invalidate(String username) {
+        cache.invalidate(User.normalizeEmail(username));
+    }
+
+    /**
+     * ユーザー変更時にキャッシュを無効化
+     */
+    @Override
+    public void onApplicationEvent(UserChangedEvent event) {
+        invalidate(event.getEmail());
+    }
+
+    /**
+     * ヒット数・ミス数・ヒット率をメトリクスとして登録
+     *
+     * @param registry メーターレジストリ
+     */
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("The ratio of cache requests which were hits")
+                .register(registry);
+    }
+}
\ No newline at end of file
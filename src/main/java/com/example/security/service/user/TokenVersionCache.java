@@ -0,0 +1,83 @@
+package com.example.security.service.user;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.context.ApplicationListener;
+
+import com.example.security.model.User;
+import com.example.security.repository.user.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * ユーザーごとのトークンのバージョンのキャッシュ
+ *
+ * <p>トークンの更新で、リフレッシュトークンに含めたバージョンが現在のものかをデータベースに問い合わせずに判定する。
+ * 値は整数1つのため、ユーザー詳細キャッシュより多くのユーザーを保持できる。キャッシュにないユーザーは
+ * バージョンだけを問い合わせてキャッシュし、存在しないユーザーはキャッシュしない。
+ * ユーザーが変更された場合は{@link UserChangedEvent}で無効化し、次の判定で変更後のバージョンを読み込む。
+ * 他のプロセスでの変更は有効期間が過ぎるまで反映されない。
+ */
+public class TokenVersionCache implements ApplicationListener<UserChangedEvent> {
+
+    /**
+     * メトリクスに付与するキャッシュ名
+     */
+    static final String CACHE_NAME = "tokenVersions";
+
+    private final LoadingCache<String, Integer> cache;
+
+    /**
+     * コンストラクタ
+     *
+     * @param loader      メールアドレスからバージョンを読み込む関数（ユーザーが存在しない場合はnullを返す）
+     * @param ttl         キャッシュの有効期間
+     * @param maximumSize キャッシュする最大件数
+     */
+    public TokenVersionCache(Function<String, Integer> loader, Duration ttl, long maximumSize) {
+        this(loader, ttl, maximumSize, Ticker.systemTicker());
+    }
+
+    TokenVersionCache(Function<String, Integer> loader, Duration ttl, long maximumSize, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .ticker(ticker)
+                .recordStats()
+                .build(loader::apply);
+    }
+
+    /**
+     * バージョンが現在のものか
+     *
+     * @param username ユーザー名
+     * @param version  リフレッシュトークンに含めたバージョン
+     * @return 現在のバージョンと一致する場合はtrue（ユーザーが存在しない場合はfalse）
+     */
+    public boolean isCurrent(String username, int version) {
+        Integer current = username == null ? null : cache.get(User.normalizeEmail(username));
+        return current != null && current == version;
+    }
+
+    /**
+     * ユーザー変更時にキャッシュを無効化
+     */
+    @Override
+    public void onApplicationEvent(UserChangedEvent event) {
+        cache.invalidate(User.normalizeEmail(event.getEmail()));
+    }
+
+    /**
+     * ヒット数・ミス数をメトリクスとして登録
+     *
+     * @param registry メーターレジストリ
+     */
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,398 @@
+package com.example.security.service.user;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.example.security.config.AuthConfig;
+import com.example.security.model.Role;
+import com.example.security.model.User;
+import com.example.security.repository.user.UserRepository;
+import com.example.security.service.password.PasswordEncoderBusyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * ユーザーの一括インポートサービス
+ *
+ * <p>入力を1行ずつ読み、一定件数ごとのチャンクに分けて並列に処理する。各チャンクは登録済みのメールアドレスを
+ * 1回の問い合わせで除いてからパスワードをハッシュ化し、1トランザクションでJDBCのバッチINSERTとして保存する。
+ * 処理中のチャンクはスレッド数の2倍までに制限し、それを超える場合は読み込みを待たせるため、
+ * 入力の大きさによらずメモリ使用量は一定になる。
+ *
+ * <p>ハッシュ計算は{@link PasswordEncoder}（ログインと共有する専用スレッドプール）で行う。
+ * 待ち行列が満杯の場合は、通知された待ち時間の後に再試行する。
+ */
+@Service
+public class UserImportService implements AutoCloseable {
+
+    private final UserRepository repository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionOperations transactionOperations;
+    private final ObjectReader recordReader;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final ExecutorService executor;
+
+    /**
+     * 入力形式
+     */
+    public enum Format {
+
+        /**
+         * 1行1件のJSON
+         */
+        NDJSON,
+
+        /**
+         * ヘッダー行のあるCSV（列は名前で対応付け、引用符で囲んだ値の中に改行は含められない）
+         */
+        CSV
+    }
+
+    /**
+     * インポートするユーザー
+     *
+     * @param firstname 名前
+     * @param lastname  姓
+     * @param email     メールアドレス
+     * @param password  パスワード（平文）
+     * @param role      ロール（省略した場合は{@link Role#USER}）
+     */
+    public record ImportRecord(String firstname, String lastname, String email, String password, Role role) {
+    }
+
+    /**
+     * インポートの結果
+     *
+     * @param imported   登録した件数
+     * @param duplicates メールアドレスが登録済み（または入力内で重複）のため登録しなかった件数
+     * @param invalid    形式が不正、またはメールアドレス・パスワードが空のため登録しなかった件数
+     */
+    public record ImportResult(long imported, long duplicates, long invalid) {
+
+        /**
+         * 結果がない状態
+         */
+        public static final ImportResult EMPTY = new ImportResult(0, 0, 0);
+
+        /**
+         * 結果の合算
+         *
+         * @param other 合算する結果
+         * @return 合算した結果
+         */
+        public ImportResult plus(ImportResult other) {
+            return new ImportResult(imported + other.imported, duplicates + other.duplicates,
+                    invalid + other.invalid);
+        }
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param repository            ユーザーリポジトリ
+     * @param passwordEncoder       パスワードエンコーダー
+     * @param transactionOperations チャンクを保存するトランザクション
+     * @param objectMapper          NDJSONの読み込みに使用するObjectMapper
+     * @param authConfig            認証設定
+     */
+    public UserImportService(UserRepository repository, PasswordEncoder passwordEncoder,
+            TransactionOperations transactionOperations, ObjectMapper objectMapper, AuthConfig authConfig) {
+        this.repository = repository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionOperations = transactionOperations;
+        this.recordReader = objectMapper.readerFor(ImportRecord.class);
+        AuthConfig.UserImport userImport = authConfig.getUserImport();
+        this.chunkSize = userImport.getChunkSize();
+        int parallelism = userImport.getParallelism();
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        this.maxChunksInFlight = parallelism * 2;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("user-import-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+
+    /**
+     * ユーザーのインポート
+     *
+     * <p>すべてのチャンクを保存し終えるまで呼び出し元のスレッドをブロックする。途中で失敗した場合も、
+     * それまでに保存したチャンクは取り消さない。
+     *
+     * @param reader 入力
+     * @param format 入力形式
+     * @return 結果
+     * @throws IOException              入力の読み込みに失敗した場合、または割り込まれた場合
+     * @throws IllegalArgumentException CSVのヘッダー行にメールアドレスかパスワードの列がない場合
+     */
+    public ImportResult importUsers(BufferedReader reader, Format format) throws IOException {
+        RecordParser parser = format == Format.CSV ? CsvRecordParser.of(reader.readLine()) : this::parseJson;
+        Deque<Future<ImportResult>> futures = new ArrayDeque<>();
+        ImportResult result = ImportResult.EMPTY;
+        long invalid = 0;
+        try {
+            List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                ImportRecord record = parser.parse(line);
+                if (record == null || isBlank(record.email()) || isBlank(record.password())) {
+                    invalid++;
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    // 古いチャンクの完了を待ってから次を投入し、保持するチャンク数を抑える
+                    if (futures.size() == maxChunksInFlight) {
+                        result = result.plus(futures.removeFirst().get());
+                    }
+                    List<ImportRecord> records = chunk;
+                    futures.addLast(executor.submit(() -> importChunk(records)));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                List<ImportRecord> records = chunk;
+                futures.addLast(executor.submit(() -> importChunk(records)));
+            }
+            while (!futures.isEmpty()) {
+                result = result.plus(futures.removeFirst().get());
+            }
+            return result.plus(new ImportResult(0, 0, invalid));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("ユーザーのインポートが中断されました");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // 失敗・中断した場合に残りのチャンクを止める（完了済みのタスクには影響しない）
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * チャンクのインポート
+     */
+    private ImportResult importChunk(List<ImportRecord> records) throws InterruptedException {
+        // 正規化したメールアドレスで入力内の重複を除き、登録済みのものは1回の問い合わせで除く
+        Map<String, ImportRecord> byEmail = new LinkedHashMap<>();
+        for (ImportRecord record : records) {
+            byEmail.putIfAbsent(User.normalizeEmail(record.email()), record);
+        }
+        Set<String> existing = repository.findExistingEmails(byEmail.keySet());
+        byEmail.keySet().removeAll(existing);
+
+        List<User> users = new ArrayList<>(byEmail.size());
+        for (Map.Entry<String, ImportRecord> entry : byEmail.entrySet()) {
+            ImportRecord record = entry.getValue();
+            users.add(User.builder()
+                    .firstname(record.firstname())
+                    .lastname(record.lastname())
+                    .email(entry.getKey())
+                    .password(encode(record.password()))
+                    .role(record.role() == null ? Role.USER : record.role())
+                    .build());
+        }
+
+        long duplicates = records.size() - users.size();
+        try {
+            transactionOperations.executeWithoutResult(status -> repository.saveAll(users));
+            return new ImportResult(users.size(), duplicates, 0);
+        } catch (DataIntegrityViolationException e) {
+            // 並行する登録と重複した場合は、1件ずつ保存して重複したものだけを除く
+            return saveEach(users, duplicates);
+        }
+    }
+
+    /**
+     * 1件ずつの保存
+     */
+    private ImportResult saveEach(List<User> users, long duplicates) {
+        long imported = 0;
+        for (User user : users) {
+            // ロールバックしたトランザクションで採番したIDは使わない
+            user.setId(null);
+            try {
+                repository.save(user);
+                imported++;
+            } catch (DataIntegrityViolationException e) {
+                duplicates++;
+            }
+        }
+        return new ImportResult(imported, duplicates, 0);
+    }
+
+    /**
+     * パスワードのハッシュ化（待ち行列が満杯の場合は待ってから再試行する）
+     */
+    private String encode(String rawPassword) throws InterruptedException {
+        while (true) {
+            try {
+                return passwordEncoder.encode(rawPassword);
+            } catch (PasswordEncoderBusyException e) {
+                Thread.sleep(e.getRetryAfter().toMillis());
+            }
+        }
+    }
+
+    /**
+     * NDJSONの1行の読み込み
+     */
+    private ImportRecord parseJson(String line) {
+        try {
+            return recordReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * スレッドの停止
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 1行の読み込み
+     */
+    @FunctionalInterface
+    private interface RecordParser {
+
+        /**
+         * 1行の読み込み
+         *
+         * @param line 行
+         * @return インポートするユーザー（形式が不正な場合はnull）
+         */
+        ImportRecord parse(String line);
+    }
+
+    /**
+     * CSVの1行の読み込み（ヘッダー行の列名で対応付ける）
+     */
+    static final class CsvRecordParser implements RecordParser {
+
+        private final int firstname;
+        private final int lastname;
+        private final int email;
+        private final int password;
+        private final int role;
+
+        private CsvRecordParser(List<String> header) {
+            List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+            this.firstname = names.indexOf("firstname");
+            this.lastname = names.indexOf("lastname");
+            this.email = names.indexOf("email");
+            this.password = names.indexOf("password");
+            this.role = names.indexOf("role");
+        }
+
+        /**
+         * ヘッダー行からの生成
+         *
+         * @param header ヘッダー行
+         * @return 読み込み
+         * @throws IllegalArgumentException ヘッダー行がない、またはメールアドレスかパスワードの列がない場合
+         */
+        static CsvRecordParser of(String header) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSVのヘッダー行がありません");
+            }
+            // 先頭のBOMは列名に含めない
+            if (header.startsWith("\uFEFF")) {
+                header = header.substring(1);
+            }
+            CsvRecordParser parser = new CsvRecordParser(split(header));
+            if (parser.email < 0 || parser.password < 0) {
+                throw new IllegalArgumentException("CSVのヘッダー行にemailとpasswordの列が必要です");
+            }
+            return parser;
+        }
+
+        @Override
+        public ImportRecord parse(String line) {
+            List<String> fields = split(line);
+            Role parsedRole = null;
+            String roleName = field(fields, role);
+            if (roleName != null && !roleName.isBlank()) {
+                try {
+                    parsedRole = Role.valueOf(roleName.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+            return new ImportRecord(field(fields, firstname), field(fields, lastname), field(fields, email),
+                    field(fields, password), parsedRole);
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+
+        /**
+         * 1行の列への分割（RFC 4180の引用符に対応する）
+         *
+         * @param line 行
+         * @return 列の値
+         */
+        static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.security.service.user;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.security.repository.user.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ログイン成功時にパスワードを再ハッシュして保存するサービス
+ *
+ * <p>保存されたハッシュのアルゴリズムやコストが現在の設定と異なる場合に、
+ * {@link org.springframework.security.authentication.dao.DaoAuthenticationProvider}から呼び出される。
+ * 更新は{@link com.example.security.repository.user.UserChangedEvent}を通じてユーザー詳細キャッシュにも反映される。
+ */
+@Service
+@RequiredArgsConstructor
+public class UserPasswordUpgradeService implements UserDetailsPasswordService {
+
+    private final UserRepository repository;
+
+    /**
+     * パスワードの更新
+     *
+     * @param user        認証済みのユーザー詳細
+     * @param newPassword 再ハッシュしたパスワード
+     * @return 更新後のユーザー（ユーザーが削除されていた場合は引数のユーザー詳細）
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        return repository.findByEmail(user.getUsername())
+                .<UserDetails>map(entity -> {
+                    entity.setPassword(newPassword);
+                    return repository.save(entity);
+                })
+                .orElse(user);
+    }
+}
\ No newline at end of file
@@ -4,6 +4,10 @@ import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
 
 import org.springframework.stereotype.Component;
 
@@ -25,6 +29,40 @@ public class KeyGeneratorUtil {
         return keyPairGenerator.generateKeyPair();
     }
 
+    /**
+     * EC（P-256）鍵ペアを生成する
+     *
+     * @return EC鍵ペア
+     * @throws Exception 例外
+     */
+    public static KeyPair generateEcKey() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    /**
+     * Ed25519鍵ペアを生成する
+     *
+     * @return Ed25519鍵ペア
+     * @throws Exception 例外
+     */
+    public static KeyPair generateEd25519Key() throws Exception {
+        return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+    }
+
+    /**
+     * HMAC-SHA256の共通鍵（256ビット）を生成する
+     *
+     * @return 共通鍵
+     * @throws Exception 例外
+     */
+    public static SecretKey generateHmacKey() throws Exception {
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("HmacSHA256");
+        keyGenerator.init(256);
+        return keyGenerator.generateKey();
+    }
+
     /**
      * RSA鍵ペアを含むオブジェクト
      */
@@ -0,0 +1,98 @@
+package com.example.security.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * 鍵読み込みユーティリティ
+ */
+public final class KeyLoaderUtil {
+
+    private static final String PRIVATE_KEY_LABEL = "PRIVATE KEY";
+    private static final String PUBLIC_KEY_LABEL = "PUBLIC KEY";
+
+    private KeyLoaderUtil() {
+    }
+
+    /**
+     * PKCS#8形式の秘密鍵（PEM）を読み込む
+     *
+     * @param resource     PEMファイル
+     * @param keyAlgorithm 鍵のアルゴリズム名（RSA・EC・EdDSA）
+     * @return 秘密鍵
+     * @throws IOException              ファイルを読み込めない場合、またはPEMの形式が不正な場合
+     * @throws GeneralSecurityException 鍵のアルゴリズムが一致しない場合
+     */
+    public static PrivateKey readPrivateKey(Resource resource, String keyAlgorithm)
+            throws IOException, GeneralSecurityException {
+        byte[] encoded = readPem(resource, PRIVATE_KEY_LABEL);
+        return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(encoded));
+    }
+
+    /**
+     * X.509形式の公開鍵（PEM）を読み込む
+     *
+     * @param resource     PEMファイル
+     * @param keyAlgorithm 鍵のアルゴリズム名（RSA・EC・EdDSA）
+     * @return 公開鍵
+     * @throws IOException              ファイルを読み込めない場合、またはPEMの形式が不正な場合
+     * @throws GeneralSecurityException 鍵のアルゴリズムが一致しない場合
+     */
+    public static PublicKey readPublicKey(Resource resource, String keyAlgorithm)
+            throws IOException, GeneralSecurityException {
+        byte[] encoded = readPem(resource, PUBLIC_KEY_LABEL);
+        return KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(encoded));
+    }
+
+    /**
+     * キーストアを読み込む
+     *
+     * @param resource キーストアのファイル
+     * @param type     キーストアの形式（PKCS12など）
+     * @param password パスワード（nullの場合は空）
+     * @return キーストア
+     * @throws IOException              ファイルを読み込めない場合、またはパスワードが一致しない場合
+     * @throws GeneralSecurityException キーストアの形式が不正な場合
+     */
+    public static KeyStore loadKeyStore(Resource resource, String type, char[] password)
+            throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance(type);
+        try (InputStream in = resource.getInputStream()) {
+            keyStore.load(in, password == null ? new char[0] : password);
+        }
+        return keyStore;
+    }
+
+    /**
+     * PEMの本文をデコードする
+     */
+    private static byte[] readPem(Resource resource, String label) throws IOException {
+        String pem;
+        try (InputStream in = resource.getInputStream()) {
+            pem = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+        String begin = "-----BEGIN " + label + "-----";
+        String end = "-----END " + label + "-----";
+        int start = pem.indexOf(begin);
+        int stop = pem.indexOf(end);
+        if (start < 0 || stop < start) {
+            throw new IOException(label + "のPEMではありません: " + resource.getDescription());
+        }
+        try {
+            return Base64.getMimeDecoder().decode(pem.substring(start + begin.length(), stop));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(label + "のPEMの本文が不正です: " + resource.getDescription(), e);
+        }
+    }
+}
\ No newline at end of file
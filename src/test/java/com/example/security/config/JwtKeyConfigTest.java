@@ -0,0 +1,179 @@
+package com.example.security.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.security.service.jwt.SigningAlgorithm;
+import com.example.security.util.KeyGeneratorUtil;
+
+@ExtendWith(MockitoExtension.class)
+class JwtKeyConfigTest {
+
+    @Mock
+    private JwtConfig jwtConfig;
+
+    @InjectMocks
+    private JwtKeyConfig jwtKeyConfig;
+
+    private JwtConfig.Key key;
+
+    @BeforeEach
+    void setUp() {
+        key = new JwtConfig.Key();
+        when(jwtConfig.getKey()).thenReturn(key);
+    }
+
+    @Test
+    void jwtKeyProperties_shouldReturnValidProperties() {
+        // given
+        when(jwtConfig.getAlgorithm()).thenReturn(SigningAlgorithm.RS256);
+        key.setGenerate(true);
+
+        // when
+        JwtKeyProperties properties = jwtKeyConfig.jwtKeyProperties();
+
+        // then
+        assertNotNull(properties);
+        assertNotNull(properties.getPublicKey());
+        assertNotNull(properties.getPrivateKey());
+    }
+
+    @Test
+    void jwtKeyProperties_shouldGenerateEd25519Keys_whenAlgorithmIsEdDsa() {
+        // given
+        when(jwtConfig.getAlgorithm()).thenReturn(SigningAlgorithm.EDDSA);
+        key.setGenerate(true);
+
+        // when
+        JwtKeyProperties properties = jwtKeyConfig.jwtKeyProperties();
+
+        // then
+        assertEquals(SigningAlgorithm.EDDSA, properties.getAlgorithm());
+        assertEquals("EdDSA", properties.getSigningKey().getAlgorithm());
+        assertSame(properties.getPublicKey(), properties.getVerificationKey());
+    }
+
+    @Test
+    void jwtKeyProperties_shouldGenerateSecretKey_whenAlgorithmIsHs256() {
+        // given
+        when(jwtConfig.getAlgorithm()).thenReturn(SigningAlgorithm.HS256);
+        key.setGenerate(true);
+
+        // when
+        JwtKeyProperties properties = jwtKeyConfig.jwtKeyProperties();
+
+        // then
+        assertNull(properties.getPublicKey());
+        assertNotNull(properties.getSecretKey());
+        assertSame(properties.getSecretKey(), properties.getSigningKey());
+        assertSame(properties.getSecretKey(), properties.getVerificationKey());
+    }
+
+    @Test
+    void jwtKeyProperties_shouldThrowException_whenNoKeyIsConfiguredAndGenerationIsDisabled() {
+        // given
+        when(jwtConfig.getAlgorithm()).thenReturn(SigningAlgorithm.RS256);
+
+        // when / then
+        assertThrows(IllegalStateException.class, () -> jwtKeyConfig.jwtKeyProperties());
+    }
+
+    @Test
+    void jwtKeyProperties_shouldLoadPemFiles() throws Exception {
+        // given
+        when(jwtConfig.getAlgorithm()).thenReturn(SigningAlgorithm.ES256);
+        KeyPair keyPair = KeyGeneratorUtil.generateEcKey();
+        key.setPrivateKeyLocation(pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        key.setPublicKeyLocation(pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+        key.setGenerate(true);
+
+        // when
+        JwtKeyProperties properties = jwtKeyConfig.jwtKeyProperties();
+
+        // then
+        assertArrayEquals(keyPair.getPrivate().getEncoded(), properties.getSigningKey().getEncoded());
+        assertArrayEquals(keyPair.getPublic().getEncoded(), properties.getVerificationKey().getEncoded());
+    }
+
+    @Test
+    void jwtKeyProperties_shouldLoadKeyStore_whenItHoldsASingleEntry() {
+        // given
+        when(jwtConfig.getAlgorithm()).thenReturn(SigningAlgorithm.RS256);
+        key.getKeyStore().setLocation(new ClassPathResource("keys/rsa.p12"));
+        key.getKeyStore().setPassword("changeit");
+
+        // when
+        JwtKeyProperties properties = jwtKeyConfig.jwtKeyProperties();
+
+        // then
+        assertEquals("RSA", properties.getSigningKey().getAlgorithm());
+        assertEquals("RSA", properties.getVerificationKey().getAlgorithm());
+    }
+
+    @Test
+    void jwtKeyProperties_shouldLoadEntryByAlias_forEachAlgorithm() {
+        for (String[] entry : new String[][] {
+                {"RS256", "rsa"}, {"ES256", "ec"}, {"EDDSA", "ed25519"}, {"HS256", "hmac"}}) {
+            // given
+            SigningAlgorithm algorithm = SigningAlgorithm.valueOf(entry[0]);
+            when(jwtConfig.getAlgorithm()).thenReturn(algorithm);
+            key.getKeyStore().setLocation(new ClassPathResource("keys/jwt-keys.p12"));
+            key.getKeyStore().setPassword("changeit");
+            key.getKeyStore().setAlias(entry[1]);
+
+            // when
+            JwtKeyProperties properties = jwtKeyConfig.jwtKeyProperties();
+
+            // then
+            assertEquals(algorithm.getKeyAlgorithm(), properties.getSigningKey().getAlgorithm());
+            assertNotNull(properties.getVerificationKey());
+        }
+    }
+
+    @Test
+    void jwtKeyProperties_shouldThrowException_whenKeyStoreHoldsSeveralEntriesWithoutAlias() {
+        // given
+        when(jwtConfig.getAlgorithm()).thenReturn(SigningAlgorithm.RS256);
+        key.getKeyStore().setLocation(new ClassPathResource("keys/jwt-keys.p12"));
+        key.getKeyStore().setPassword("changeit");
+
+        // when / then
+        assertThrows(IllegalStateException.class, () -> jwtKeyConfig.jwtKeyProperties());
+    }
+
+    @Test
+    void jwtKeyProperties_shouldThrowException_whenKeyDoesNotMatchAlgorithm() {
+        // given
+        when(jwtConfig.getAlgorithm()).thenReturn(SigningAlgorithm.ES256);
+        key.getKeyStore().setLocation(new ClassPathResource("keys/rsa.p12"));
+        key.getKeyStore().setPassword("changeit");
+
+        // when / then
+        assertThrows(IllegalStateException.class, () -> jwtKeyConfig.jwtKeyProperties());
+    }
+
+    private static ByteArrayResource pem(String label, byte[] encoded) {
+        String pem = "-----BEGIN " + label + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(encoded)
+                + "\n-----END " + label + "-----\n";
+        return new ByteArrayResource(pem.getBytes(StandardCharsets.US_ASCII));
+    }
+}
\ No newline at end of file
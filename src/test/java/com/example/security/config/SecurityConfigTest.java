@@ -1,65 +1,124 @@
 package com.example.security.config;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
-import java.math.BigInteger;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 
+import com.example.security.model.Role;
+import com.example.security.model.User;
+import com.example.security.service.jwt.JwsJwtEncoder;
+import com.example.security.service.jwt.JwtKey;
+import com.example.security.service.jwt.JwtKeyRing;
+import com.example.security.service.jwt.RevocationCheckingJwtDecoder;
+import com.example.security.service.jwt.SigningAlgorithm;
+import com.example.security.service.password.BoundedPasswordEncoder;
+import com.example.security.service.revocation.TokenRevocationStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class SecurityConfigTest {
 
-    @Mock
-    private JwtKeyProperties jwtKeyProperties;
+    @Spy
+    private JwtKeyRing jwtKeyRing = new JwtKeyRing(JwtKey.of(SigningAlgorithm.RS256,
+            RSA_KEYS.getSigningKey(), RSA_KEYS.getVerificationKey()));
 
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private UserDetailsPasswordService userDetailsPasswordService;
+
+    @Mock
+    private JwtConfig jwtConfig;
+
+    @Mock
+    private AuthConfig authConfig;
+
+    private static final JwtKeyProperties RSA_KEYS = keys(SigningAlgorithm.RS256);
+
+    private final JwtConfig.DecoderCache decoderCache = new JwtConfig.DecoderCache();
+    private final JwtConfig.Revocation revocation = new JwtConfig.Revocation();
+
+    private final AuthConfig.PasswordHashing passwordHashing = new AuthConfig.PasswordHashing();
+
     @InjectMocks
     private SecurityConfig securityConfig;
 
     @BeforeEach
     void setUp() {
-        RSAPublicKey publicKey = mock(RSAPublicKey.class);
-        RSAPrivateKey privateKey = mock(RSAPrivateKey.class);
-
-        // Using lenient stubs to avoid unnecessary stubbing warnings
-        lenient().when(jwtKeyProperties.getPublicKey()).thenReturn(publicKey);
-        lenient().when(jwtKeyProperties.getPrivateKey()).thenReturn(privateKey);
-
-        // Adding necessary methods for RSAKey.Builder
-        BigInteger modulus = new BigInteger("1234567890");
-        BigInteger publicExponent = new BigInteger("65537");
-        BigInteger privateExponent = new BigInteger("12345");
-
-        lenient().when(publicKey.getModulus()).thenReturn(modulus);
-        lenient().when(publicKey.getPublicExponent()).thenReturn(publicExponent);
-        lenient().when(privateKey.getModulus()).thenReturn(modulus);
-        lenient().when(privateKey.getPrivateExponent()).thenReturn(privateExponent);
+        lenient().when(jwtConfig.getDecoderCache()).thenReturn(decoderCache);
+        lenient().when(jwtConfig.getRevocation()).thenReturn(revocation);
+        lenient().when(authConfig.getPasswordHashing()).thenReturn(passwordHashing);
+        // キャリブレーションを省略して下限のコストを使用
+        passwordHashing.setLatencyBudget(Duration.ZERO);
     }
 
     @Test
-    void jwtDecoder_shouldReturnValidDecoder() {
+    void jwtDecoder_shouldReturnValidDecoder() throws IOException {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
         // when
-        JwtDecoder decoder = securityConfig.jwtDecoder();
+        JwtDecoder decoder = securityConfig.jwtDecoder(registry, revocationStore());
 
         // then
         assertNotNull(decoder);
+        assertTrue(decoder instanceof RevocationCheckingJwtDecoder);
+        assertNotNull(registry.find("cache.gets").tag("cache", "jwtDecoder").functionCounter());
+    }
+
+    @Test
+    void jwtDecoder_shouldNotCache_whenCacheIsDisabled() throws IOException {
+        // given
+        decoderCache.setMaximumSize(0);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // when
+        JwtDecoder decoder = securityConfig.jwtDecoder(registry, revocationStore());
+
+        // then
+        assertNotNull(decoder);
+        assertNull(registry.find("cache.gets").tag("cache", "jwtDecoder").functionCounter());
     }
 
     @Test
@@ -74,7 +133,7 @@ class SecurityConfigTest {
     @Test
     void jwtAuthenticationConverter_shouldReturnValidConverter() {
         // when
-        JwtAuthenticationConverter converter = securityConfig.jwtAuthenticationConverter();
+        JwtAuthenticationConverter converter = securityConfig.jwtAuthenticationConverter(new SimpleMeterRegistry());
 
         // then
         assertNotNull(converter);
@@ -83,18 +142,127 @@ class SecurityConfigTest {
     @Test
     void passwordEncoder_shouldReturnValidEncoder() {
         // when
-        PasswordEncoder encoder = securityConfig.passwordEncoder();
+        PasswordEncoder encoder = securityConfig.passwordEncoder(new SimpleMeterRegistry());
 
         // then
         assertNotNull(encoder);
+        assertTrue(encoder instanceof BoundedPasswordEncoder);
     }
 
     @Test
     void authenticationManager_shouldReturnValidManager() {
         // when
-        AuthenticationManager manager = securityConfig.authenticationManager();
+        AuthenticationManager manager = securityConfig.authenticationManager(mock(PasswordEncoder.class));
 
         // then
         assertNotNull(manager);
     }
+
+    @Test
+    void authenticationManager_shouldRehashPassword_whenStoredHashIsOutdated() {
+        // given
+        User user = User.builder()
+                .email("user@example.com")
+                .password(new BCryptPasswordEncoder(4).encode("password"))
+                .role(Role.USER)
+                .build();
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(user);
+        when(userDetailsPasswordService.updatePassword(eq(user), any())).thenReturn(user);
+        AuthenticationManager manager = securityConfig.authenticationManager(
+                securityConfig.passwordEncoder(new SimpleMeterRegistry()));
+
+        // when
+        manager.authenticate(new UsernamePasswordAuthenticationToken("user@example.com", "password"));
+
+        // then
+        verify(userDetailsPasswordService).updatePassword(eq(user), startsWith("{bcrypt}$2a$10$"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(SigningAlgorithm.class)
+    void jwtEncoderAndDecoder_shouldRoundTrip_forEachAlgorithm(SigningAlgorithm algorithm) throws IOException {
+        // given
+        JwtKeyProperties keys = keys(algorithm);
+        JwtKey key = JwtKey.of(algorithm, keys.getSigningKey(), keys.getVerificationKey());
+        when(jwtKeyRing.signingKey()).thenReturn(key);
+        String token = encode(securityConfig.jwtEncoder(), algorithm);
+
+        // when
+        Jwt jwt = securityConfig.jwtDecoder(new SimpleMeterRegistry(), revocationStore()).decode(token);
+
+        // then
+        assertEquals(algorithm.getName(), jwt.getHeaders().get("alg"));
+        assertEquals(key.getKeyId(), jwt.getHeaders().get("kid"));
+        assertEquals("user@example.com", jwt.getSubject());
+    }
+
+    @ParameterizedTest
+    @EnumSource(SigningAlgorithm.class)
+    void jwtSerializerAndDecoder_shouldRoundTrip_forEachAlgorithm(SigningAlgorithm algorithm) throws IOException {
+        // given
+        JwtKeyProperties keys = keys(algorithm);
+        JwtKey key = JwtKey.of(algorithm, keys.getSigningKey(), keys.getVerificationKey());
+        when(jwtKeyRing.signingKey()).thenReturn(key);
+        Instant now = Instant.now();
+        String token = securityConfig.jwtSerializer(new SimpleMeterRegistry())
+                .serialize("user@example.com", "token-id", now, now.plusSeconds(60), List.of("USER"));
+
+        // when
+        Jwt jwt = securityConfig.jwtDecoder(new SimpleMeterRegistry(), revocationStore()).decode(token);
+
+        // then
+        assertEquals(algorithm.getName(), jwt.getHeaders().get("alg"));
+        assertEquals(key.getKeyId(), jwt.getHeaders().get("kid"));
+        assertEquals("user@example.com", jwt.getSubject());
+        assertEquals(List.of("USER"), jwt.getClaimAsStringList("roles"));
+    }
+
+    @Test
+    void jwtDecoder_shouldRejectToken_whenRevoked() throws IOException {
+        // given
+        TokenRevocationStore revocationStore = revocationStore();
+        JwtDecoder decoder = securityConfig.jwtDecoder(new SimpleMeterRegistry(), revocationStore);
+        Instant now = Instant.now();
+        String token = securityConfig.jwtSerializer(new SimpleMeterRegistry())
+                .serialize("user@example.com", "token-id", now, now.plusSeconds(60), List.of("USER"));
+        decoder.decode(token);
+
+        // when
+        revocationStore.revoke("token-id", now.plusSeconds(60));
+
+        // then
+        assertThrows(JwtException.class, () -> decoder.decode(token));
+    }
+
+    @Test
+    void jwtDecoder_shouldRejectToken_whenAlgorithmDoesNotMatchKey() throws IOException {
+        // given
+        String token = encode(new JwsJwtEncoder(SigningAlgorithm.HS256, keys(SigningAlgorithm.HS256).getSigningKey()),
+                SigningAlgorithm.HS256);
+        JwtDecoder decoder = securityConfig.jwtDecoder(new SimpleMeterRegistry(), revocationStore());
+
+        // when, then
+        assertThrows(JwtException.class, () -> decoder.decode(token));
+    }
+
+    private static String encode(JwtEncoder encoder, SigningAlgorithm algorithm) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("user@example.com")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(60))
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(JwsHeader.with(algorithm).build(), claims)).getTokenValue();
+    }
+
+    private TokenRevocationStore revocationStore() throws IOException {
+        return securityConfig.tokenRevocationStore(new SimpleMeterRegistry());
+    }
+
+    private static JwtKeyProperties keys(SigningAlgorithm algorithm) {
+        JwtConfig config = new JwtConfig();
+        config.setAlgorithm(algorithm);
+        config.getKey().setGenerate(true);
+        return new JwtKeyConfig(config).jwtKeyProperties();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.example.security.controller.admin;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.model.Role;
+import com.example.security.service.jwt.BatchTokenService;
+import com.example.security.service.jwt.BatchTokenService.ChunkConsumer;
+import com.example.security.service.jwt.BatchTokenService.IssuedToken;
+import com.example.security.service.jwt.BatchTokenService.TokenRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+@SuppressWarnings("null")
+@ExtendWith(MockitoExtension.class)
+class BatchTokenControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private BatchTokenService batchTokenService;
+
+    @Spy
+    private JwtConfig jwtConfig = new JwtConfig();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private BatchTokenController controller;
+
+    private static final Instant EXPIRES_AT = Instant.parse("2030-01-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(controller)
+                .build();
+    }
+
+    @Test
+    void issue_shouldStreamIssuedTokensAsNdjson() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            ChunkConsumer consumer = invocation.getArgument(1);
+            consumer.accept(List.of(new IssuedToken(1, "worker-2", "access-2", "refresh-2", EXPIRES_AT)));
+            consumer.accept(List.of(new IssuedToken(0, "worker-1", "access-1", "refresh-1", EXPIRES_AT)));
+            return null;
+        }).when(batchTokenService).issue(anyList(), any());
+
+        // when, then
+        mockMvc.perform(post("/api/v1/admin/tokens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [{"subject":"worker-1","roles":["USER"]},{"subject":"worker-2","roles":["ADMIN"]}]
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BatchTokenController.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string("""
+                        {"index":1,"subject":"worker-2","accessToken":"access-2","refreshToken":"refresh-2",\
+                        "expiresAt":"2030-01-01T00:00:00Z"}
+                        {"index":0,"subject":"worker-1","accessToken":"access-1","refreshToken":"refresh-1",\
+                        "expiresAt":"2030-01-01T00:00:00Z"}
+                        """));
+        verify(batchTokenService).issue(
+                eq(List.of(new TokenRequest("worker-1", List.of(Role.USER)),
+                        new TokenRequest("worker-2", List.of(Role.ADMIN)))),
+                any());
+    }
+
+    @Test
+    void issue_withEmptyRequest_shouldReturnBadRequest() throws Exception {
+        // when, then
+        mockMvc.perform(post("/api/v1/admin/tokens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+        verify(batchTokenService, never()).issue(anyList(), any());
+    }
+
+    @Test
+    void issue_withBlankSubject_shouldReturnBadRequest() throws Exception {
+        // when, then
+        mockMvc.perform(post("/api/v1/admin/tokens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"subject\":\" \",\"roles\":[\"USER\"]}]"))
+                .andExpect(status().isBadRequest());
+        verify(batchTokenService, never()).issue(anyList(), any());
+    }
+
+    @Test
+    void issue_withTooManyRequests_shouldReturnBadRequest() throws Exception {
+        // given
+        jwtConfig.getBatch().setMaxSize(1);
+
+        // when, then
+        mockMvc.perform(post("/api/v1/admin/tokens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"subject\":\"worker-1\"},{\"subject\":\"worker-2\"}]"))
+                .andExpect(status().isBadRequest());
+        verify(batchTokenService, never()).issue(anyList(), any());
+    }
+
+    @Test
+    void issue_withUnknownRole_shouldReturnBadRequest() throws Exception {
+        // when, then
+        mockMvc.perform(post("/api/v1/admin/tokens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"subject\":\"worker-1\",\"roles\":[\"ROOT\"]}]"))
+                .andExpect(status().isBadRequest());
+        verify(batchTokenService, never()).issue(anyList(), any());
+    }
+}
\ No newline at end of file
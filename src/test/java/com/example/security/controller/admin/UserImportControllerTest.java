@@ -0,0 +1,104 @@
+package com.example.security.controller.admin;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.BufferedReader;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.security.service.user.UserImportService;
+import com.example.security.service.user.UserImportService.Format;
+import com.example.security.service.user.UserImportService.ImportResult;
+
+@SuppressWarnings("null")
+@ExtendWith(MockitoExtension.class)
+class UserImportControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private UserImportService userImportService;
+
+    @InjectMocks
+    private UserImportController controller;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(controller)
+                .build();
+    }
+
+    @Test
+    void importNdjson_shouldReturnResult() throws Exception {
+        // given
+        when(userImportService.importUsers(any(BufferedReader.class), eq(Format.NDJSON)))
+                .thenAnswer(invocation -> {
+                    BufferedReader reader = invocation.getArgument(0);
+                    return new ImportResult(reader.lines().count(), 0, 0);
+                });
+
+        // when, then
+        mockMvc.perform(post("/api/v1/admin/users/import")
+                .contentType(BatchTokenController.APPLICATION_NDJSON_VALUE)
+                .content("""
+                        {"email":"a@example.com","password":"pw"}
+                        {"email":"b@example.com","password":"pw"}
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"imported\":2,\"duplicates\":0,\"invalid\":0}"));
+    }
+
+    @Test
+    void importCsv_shouldReadBodyAsUtf8_whenCharsetIsOmitted() throws Exception {
+        // given
+        when(userImportService.importUsers(any(BufferedReader.class), eq(Format.CSV)))
+                .thenAnswer(invocation -> {
+                    BufferedReader reader = invocation.getArgument(0);
+                    reader.readLine();
+                    boolean decoded = reader.readLine().startsWith("山田");
+                    return new ImportResult(decoded ? 1 : 0, 0, decoded ? 0 : 1);
+                });
+
+        // when, then
+        mockMvc.perform(post("/api/v1/admin/users/import")
+                .contentType(UserImportController.TEXT_CSV_VALUE)
+                .content("lastname,email,password\n山田,yamada@example.com,pw\n".getBytes("UTF-8")))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"imported\":1,\"duplicates\":0,\"invalid\":0}"));
+    }
+
+    @Test
+    void importCsv_shouldReturnBadRequest_whenHeaderIsInvalid() throws Exception {
+        // given
+        when(userImportService.importUsers(any(BufferedReader.class), eq(Format.CSV)))
+                .thenThrow(new IllegalArgumentException("missing password column"));
+
+        // when, then
+        mockMvc.perform(post("/api/v1/admin/users/import")
+                .contentType(UserImportController.TEXT_CSV_VALUE)
+                .content("email\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importUsers_shouldRejectUnsupportedMediaType() throws Exception {
+        // when, then
+        mockMvc.perform(post("/api/v1/admin/users/import")
+                .contentType("application/json")
+                .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
\ No newline at end of file
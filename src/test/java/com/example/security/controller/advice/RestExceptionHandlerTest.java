@@ -0,0 +1,56 @@
+package com.example.security.controller.advice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.security.service.auth.EmailAlreadyRegisteredException;
+import com.example.security.service.password.PasswordEncoderBusyException;
+import com.example.security.service.throttle.LoginThrottledException;
+
+class RestExceptionHandlerTest {
+
+    private final RestExceptionHandler handler = new RestExceptionHandler();
+
+    @Test
+    void handlePasswordEncoderBusy_shouldReturnServiceUnavailableWithRetryAfter() {
+        // given
+        PasswordEncoderBusyException exception = new PasswordEncoderBusyException(
+                Duration.ofSeconds(3), new RejectedExecutionException());
+
+        // when
+        ResponseEntity<Void> response = handler.handlePasswordEncoderBusy(exception);
+
+        // then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void handleLoginThrottled_shouldReturnTooManyRequestsWithRetryAfterRoundedUp() {
+        // given
+        LoginThrottledException exception = new LoginThrottledException(Duration.ofMillis(2_100));
+
+        // when
+        ResponseEntity<Void> response = handler.handleLoginThrottled(exception);
+
+        // then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void handleEmailAlreadyRegistered_shouldReturnConflict() {
+        // when
+        ResponseEntity<Void> response = handler.handleEmailAlreadyRegistered(new EmailAlreadyRegisteredException());
+
+        // then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.example.security.controller.filter;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.security.service.timing.ServerTiming;
+import com.example.security.service.timing.StageTimer;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+
+    private final StageTimer signing = new StageTimer("token-sign");
+
+    @Test
+    void doFilter_shouldAddHeaderBeforeBodyIsCommitted() throws Exception {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response)
+                    throws IOException {
+                signing.record(2_000_000);
+                response.getWriter().write("{}");
+                response.flushBuffer();
+                signing.record(2_000_000);
+            }
+        });
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/auth/authenticate"), response, chain);
+
+        // then
+        String header = response.getHeader(ServerTiming.HEADER_NAME);
+        assertNotNull(header);
+        assertTrue(header.startsWith("token-sign;dur=2.000, total;dur="), header);
+    }
+
+    @Test
+    void doFilter_shouldAddHeader_whenResponseHasNoBody() throws Exception {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                signing.record(1_000_000);
+                response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            }
+        });
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/auth/revoke"), response, chain);
+
+        // then
+        assertTrue(response.getHeader(ServerTiming.HEADER_NAME).startsWith("token-sign;dur=1.000, total;dur="));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.example.security.controller.jwks;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.service.jwt.JwkSetPublisher;
+import com.example.security.service.jwt.JwkSetPublisher.JwkSetDocument;
+
+@SuppressWarnings("null")
+@ExtendWith(MockitoExtension.class)
+class JwkSetControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private JwkSetPublisher jwkSetPublisher;
+
+    @Spy
+    private JwtConfig jwtConfig = new JwtConfig();
+
+    @InjectMocks
+    private JwkSetController controller;
+
+    private static final String JSON = "{\"keys\":[{\"kty\":\"EC\",\"kid\":\"key-id\"}]}";
+    private static final String ETAG = "\"etag\"";
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(controller)
+                .build();
+        when(jwkSetPublisher.current())
+                .thenReturn(new JwkSetDocument(List.of(), JSON.getBytes(StandardCharsets.UTF_8), ETAG));
+    }
+
+    @Test
+    void jwks_shouldReturnJwkSetWithCacheHeaders() throws Exception {
+        // when, then
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(JSON))
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Cache-Control", "max-age=300, public"));
+    }
+
+    @Test
+    void jwks_shouldReturnNotModified_whenIfNoneMatchContainsETag() throws Exception {
+        // when, then
+        mockMvc.perform(get("/.well-known/jwks.json")
+                .header("If-None-Match", "\"other\", W/" + ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]))
+                .andExpect(header().string("ETag", ETAG));
+    }
+
+    @Test
+    void jwks_shouldReturnJwkSet_whenIfNoneMatchIsStale() throws Exception {
+        // when, then
+        mockMvc.perform(get("/.well-known/jwks.json")
+                .header("If-None-Match", "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(JSON));
+    }
+}
\ No newline at end of file
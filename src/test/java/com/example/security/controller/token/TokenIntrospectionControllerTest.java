@@ -0,0 +1,120 @@
+package com.example.security.controller.token;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.service.jwt.TokenIntrospectionService;
+import com.example.security.service.jwt.TokenIntrospectionService.Introspection;
+
+@SuppressWarnings("null")
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @Spy
+    private JwtConfig jwtConfig = new JwtConfig();
+
+    @InjectMocks
+    private TokenIntrospectionController controller;
+
+    private static final Introspection ACTIVE = new Introspection(true, 1_893_456_000L, "user@example.com",
+            List.of("USER"));
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(controller)
+                .build();
+    }
+
+    @Test
+    void introspect_withToken_shouldReturnSingleResult() throws Exception {
+        // given
+        when(tokenIntrospectionService.introspect("token")).thenReturn(ACTIVE);
+
+        // when, then
+        mockMvc.perform(post("/api/v1/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"token\":\"token\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        {"active":true,"exp":1893456000,"sub":"user@example.com","roles":["USER"]}
+                        """, JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void introspect_withTokens_shouldReturnResultsInOrder() throws Exception {
+        // given
+        when(tokenIntrospectionService.introspect(List.of("token", "invalid")))
+                .thenReturn(List.of(ACTIVE, Introspection.INACTIVE));
+
+        // when, then
+        mockMvc.perform(post("/api/v1/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tokens\":[\"token\",\"invalid\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        [{"active":true,"exp":1893456000,"sub":"user@example.com","roles":["USER"]},
+                         {"active":false}]
+                        """, JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void introspect_withFormToken_shouldReturnSingleResult() throws Exception {
+        // given
+        when(tokenIntrospectionService.introspect("invalid")).thenReturn(Introspection.INACTIVE);
+
+        // when, then
+        mockMvc.perform(post("/api/v1/auth/introspect")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param("token", "invalid"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"active\":false}", JsonCompareMode.STRICT));
+    }
+
+    @Test
+    void introspect_withTooManyTokens_shouldReturnBadRequest() throws Exception {
+        // given
+        jwtConfig.getBatch().setIntrospectionMaxSize(1);
+
+        // when, then
+        mockMvc.perform(post("/api/v1/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tokens\":[\"token\",\"invalid\"]}"))
+                .andExpect(status().isBadRequest());
+        verify(tokenIntrospectionService, never()).introspect(anyList());
+    }
+
+    @Test
+    void introspect_withoutToken_shouldReturnBadRequest() throws Exception {
+        // when, then
+        mockMvc.perform(post("/api/v1/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+}
\ No newline at end of file
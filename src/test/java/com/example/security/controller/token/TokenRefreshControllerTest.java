@@ -3,10 +3,14 @@ package com.example.security.controller.token;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +30,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.example.security.service.jwt.JwtService;
 import com.example.security.service.jwt.JwtService.JwtToken;
+import com.example.security.service.user.TokenVersionCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SuppressWarnings("null")
@@ -43,6 +48,9 @@ class TokenRefreshControllerTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
     @InjectMocks
     private TokenRefreshController controller;
 
@@ -94,6 +102,73 @@ class TokenRefreshControllerTest {
         assertEquals(REFRESH_TOKEN, response.refreshToken());
     }
 
+    @Test
+    void refreshToken_withCurrentVersion_shouldIssueAccessTokenFromClaims() throws Exception {
+        // given
+        Jwt jwt = Jwt.withTokenValue(REFRESH_TOKEN)
+                .header("alg", "RS256")
+                .subject(USERNAME)
+                .claim(JwtService.TOKEN_VERSION_CLAIM, 3L)
+                .claim(JwtService.REFRESH_ROLES_CLAIM, List.of("ADMIN"))
+                .build();
+
+        when(jwtDecoder.decode(REFRESH_TOKEN)).thenReturn(jwt);
+        when(tokenVersionCache.isCurrent(USERNAME, 3)).thenReturn(true);
+        when(jwtService.generateAccessToken(USERNAME, List.of("ADMIN")))
+                .thenReturn(new JwtToken(ACCESS_TOKEN, null, null));
+
+        // when
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/refresh-token")
+                .header("Authorization", "Bearer " + REFRESH_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        TokenRefreshController.TokenRefreshResponse response = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                TokenRefreshController.TokenRefreshResponse.class);
+
+        assertEquals(ACCESS_TOKEN, response.accessToken());
+        assertEquals(REFRESH_TOKEN, response.refreshToken());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void refreshToken_withStaleVersion_shouldReloadUserAndRotateRefreshToken() throws Exception {
+        // given
+        Jwt jwt = Jwt.withTokenValue(REFRESH_TOKEN)
+                .header("alg", "RS256")
+                .subject(USERNAME)
+                .claim(JwtService.TOKEN_VERSION_CLAIM, 3L)
+                .claim(JwtService.REFRESH_ROLES_CLAIM, List.of("ADMIN"))
+                .build();
+
+        UserDetails userDetails = User.withUsername(USERNAME)
+                .password("password")
+                .authorities("USER")
+                .build();
+
+        when(jwtDecoder.decode(REFRESH_TOKEN)).thenReturn(jwt);
+        when(tokenVersionCache.isCurrent(USERNAME, 3)).thenReturn(false);
+        when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(userDetails);
+        when(jwtService.generateToken(userDetails)).thenReturn(new JwtToken(ACCESS_TOKEN, "rotatedToken", null));
+
+        // when
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/refresh-token")
+                .header("Authorization", "Bearer " + REFRESH_TOKEN))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        TokenRefreshController.TokenRefreshResponse response = objectMapper.readValue(
+                result.getResponse().getContentAsString(),
+                TokenRefreshController.TokenRefreshResponse.class);
+
+        assertEquals(ACCESS_TOKEN, response.accessToken());
+        assertEquals("rotatedToken", response.refreshToken());
+        verify(jwtService, never()).generateAccessToken(anyString(), any());
+    }
+
     @Test
     void refreshToken_withInvalidToken_shouldReturnUnauthorized() throws Exception {
         // given
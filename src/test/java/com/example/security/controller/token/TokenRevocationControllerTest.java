@@ -0,0 +1,106 @@
+package com.example.security.controller.token;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.security.service.revocation.TokenRevocationStore;
+
+@SuppressWarnings("null")
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    @Mock
+    private TokenRevocationStore tokenRevocationStore;
+
+    @InjectMocks
+    private TokenRevocationController controller;
+
+    private static final String TOKEN = "accessToken";
+    private static final Instant EXPIRES_AT = Instant.parse("2030-01-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(controller)
+                .build();
+    }
+
+    @Test
+    void revoke_withValidToken_shouldRevokeUntilExpiration() throws Exception {
+        // given
+        Jwt jwt = Jwt.withTokenValue(TOKEN)
+                .header("alg", "RS256")
+                .subject("user@example.com")
+                .jti("token-id")
+                .expiresAt(EXPIRES_AT)
+                .build();
+        when(jwtDecoder.decode(TOKEN)).thenReturn(jwt);
+
+        // when
+        mockMvc.perform(post("/api/v1/auth/revoke")
+                .header("Authorization", "Bearer " + TOKEN))
+                .andExpect(status().isNoContent());
+
+        // then
+        verify(tokenRevocationStore).revoke("token-id", EXPIRES_AT);
+    }
+
+    @Test
+    void revoke_withTokenWithoutId_shouldReturnBadRequest() throws Exception {
+        // given
+        Jwt jwt = Jwt.withTokenValue(TOKEN)
+                .header("alg", "RS256")
+                .subject("user@example.com")
+                .expiresAt(EXPIRES_AT)
+                .build();
+        when(jwtDecoder.decode(TOKEN)).thenReturn(jwt);
+
+        // when, then
+        mockMvc.perform(post("/api/v1/auth/revoke")
+                .header("Authorization", "Bearer " + TOKEN))
+                .andExpect(status().isBadRequest());
+        verify(tokenRevocationStore, never()).revoke(anyString(), any());
+    }
+
+    @Test
+    void revoke_withInvalidToken_shouldReturnUnauthorized() throws Exception {
+        // given
+        when(jwtDecoder.decode(anyString())).thenThrow(new JwtException("Invalid token"));
+
+        // when, then
+        mockMvc.perform(post("/api/v1/auth/revoke")
+                .header("Authorization", "Bearer invalidToken"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void revoke_withMissingAuthHeader_shouldReturnBadRequest() throws Exception {
+        // when, then
+        mockMvc.perform(post("/api/v1/auth/revoke"))
+                .andExpect(status().isBadRequest());
+    }
+}
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.example.security.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 class RoleTest {
 
@@ -27,4 +30,12 @@ class RoleTest {
         assertEquals(0, Role.USER.ordinal());
         assertEquals(1, Role.ADMIN.ordinal());
     }
+
+    @Test
+    void getAuthorities_shouldReturnSharedAuthorityForRole() {
+        // when, then
+        assertEquals(1, Role.ADMIN.getAuthorities().size());
+        assertTrue(Role.ADMIN.getAuthorities().contains(new SimpleGrantedAuthority("ADMIN")));
+        assertSame(Role.USER.getAuthorities(), Role.USER.getAuthorities());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.security.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class UserCredentialsTest {
+
+    @Test
+    void userDetails_shouldExposeCredentialsAndRoleAuthorities() {
+        // given
+        UserCredentials credentials = new UserCredentials("john.doe@example.com", "hashed", Role.ADMIN, 0);
+
+        // when, then
+        assertEquals("john.doe@example.com", credentials.getUsername());
+        assertEquals("hashed", credentials.getPassword());
+        assertSame(Role.ADMIN.getAuthorities(), credentials.getAuthorities());
+        assertTrue(credentials.isAccountNonExpired());
+        assertTrue(credentials.isAccountNonLocked());
+        assertTrue(credentials.isCredentialsNonExpired());
+        assertTrue(credentials.isEnabled());
+    }
+
+    @Test
+    void toString_shouldNotContainPassword() {
+        // given
+        UserCredentials credentials = new UserCredentials("john.doe@example.com", "hashed", Role.USER, 0);
+
+        // when
+        String string = credentials.toString();
+
+        // then
+        assertFalse(string.contains("hashed"));
+        assertTrue(string.contains("john.doe@example.com"));
+    }
+}
\ No newline at end of file
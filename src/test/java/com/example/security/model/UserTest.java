@@ -1,6 +1,7 @@
 package com.example.security.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collection;
@@ -68,6 +69,17 @@ class UserTest {
         assertTrue(authorities.contains(new SimpleGrantedAuthority(role.name())));
     }
 
+    @Test
+    void getAuthorities_shouldNotAllocatePerCall() {
+        // given
+        User user = User.builder()
+                .role(Role.USER)
+                .build();
+
+        // when, then
+        assertSame(user.getAuthorities(), user.getAuthorities());
+    }
+
     @Test
     void isAccountNonExpired_shouldReturnTrue() {
         // given
@@ -103,4 +115,34 @@ class UserTest {
         // when, then
         assertTrue(user.isEnabled());
     }
+
+    @Test
+    void setPassword_shouldIncrementTokenVersion_onlyWhenChanged() {
+        // given
+        User user = User.builder()
+                .password("hashed")
+                .build();
+
+        // when
+        user.setPassword("hashed");
+        user.setPassword("rehashed");
+
+        // then
+        assertEquals(1, user.getTokenVersion());
+    }
+
+    @Test
+    void setRole_shouldIncrementTokenVersion_onlyWhenChanged() {
+        // given
+        User user = User.builder()
+                .role(Role.USER)
+                .build();
+
+        // when
+        user.setRole(Role.USER);
+        user.setRole(Role.ADMIN);
+
+        // then
+        assertEquals(1, user.getTokenVersion());
+    }
 }
\ No newline at end of file
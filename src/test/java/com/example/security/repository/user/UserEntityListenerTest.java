@@ -0,0 +1,67 @@
+package com.example.security.repository.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.security.model.User;
+
+@ExtendWith(MockitoExtension.class)
+class UserEntityListenerTest {
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @InjectMocks
+    private UserEntityListener listener;
+
+    private static final String EMAIL = "user@example.com";
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onUserChanged_shouldPublishImmediately_withoutTransaction() {
+        // when
+        listener.onUserChanged(User.builder().email(EMAIL).build());
+
+        // then
+        ArgumentCaptor<UserChangedEvent> captor = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(publisher).publishEvent(captor.capture());
+        assertEquals(EMAIL, captor.getValue().getEmail());
+    }
+
+    @Test
+    void onUserChanged_shouldPublishAfterCommit_withinTransaction() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        listener.onUserChanged(User.builder().email(EMAIL).build());
+
+        // then
+        verify(publisher, never()).publishEvent(any(UserChangedEvent.class));
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // then
+        verify(publisher).publishEvent(any(UserChangedEvent.class));
+    }
+}
\ No newline at end of file
@@ -1,17 +1,24 @@
 package com.example.security.repository.user;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import com.example.security.model.Role;
 import com.example.security.model.User;
+import com.example.security.model.UserCredentials;
 
 @SuppressWarnings("null")
 @DataJpaTest
@@ -80,4 +87,153 @@ class UserRepositoryTest {
         assertEquals(user.getPassword(), retrievedUser.getPassword());
         assertEquals(user.getRole(), retrievedUser.getRole());
     }
+
+    @Test
+    void save_shouldNormalizeEmail() {
+        // given
+        User user = User.builder()
+                .firstname("Jane")
+                .lastname("Smith")
+                .email(" Jane.Smith@Example.COM ")
+                .password("password")
+                .role(Role.USER)
+                .build();
+
+        // when
+        userRepository.saveAndFlush(user);
+
+        // then
+        assertTrue(userRepository.findByEmail("jane.smith@example.com").isPresent());
+        assertTrue(userRepository.existsByEmail("jane.smith@example.com"));
+    }
+
+    @Test
+    void save_shouldRejectDuplicateEmail_whenOnlyCaseDiffers() {
+        // given
+        userRepository.saveAndFlush(User.builder()
+                .firstname("Jane")
+                .lastname("Smith")
+                .email("jane.smith@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+        User duplicate = User.builder()
+                .firstname("Jane")
+                .lastname("Smith")
+                .email("JANE.SMITH@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build();
+
+        // when, then
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(duplicate));
+    }
+
+    @Test
+    void findExistingEmails_shouldReturnOnlyRegisteredEmails() {
+        // given
+        entityManager.persist(User.builder()
+                .email("registered@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+        entityManager.flush();
+
+        // when
+        Set<String> existing = userRepository.findExistingEmails(
+                List.of("registered@example.com", "unknown@example.com"));
+
+        // then
+        assertEquals(Set.of("registered@example.com"), existing);
+    }
+
+    @Test
+    void saveAll_shouldAssignIdsFromPooledSequence() {
+        // given
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(User.builder()
+                    .email("pooled" + i + "@example.com")
+                    .password("password")
+                    .role(Role.USER)
+                    .build());
+        }
+
+        // when
+        List<User> saved = userRepository.saveAll(users);
+        entityManager.flush();
+
+        // then
+        assertEquals(saved.get(0).getId() + 1, saved.get(1).getId());
+        assertEquals(saved.get(0).getId() + 2, saved.get(2).getId());
+    }
+
+    @Test
+    void findCredentialsByEmail_shouldReturnOnlyCredentialColumns() {
+        // given
+        entityManager.persist(User.builder()
+                .firstname("John")
+                .lastname("Doe")
+                .email("credentials@example.com")
+                .password("hashed")
+                .role(Role.ADMIN)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Optional<UserCredentials> credentials = userRepository.findCredentialsByEmail("credentials@example.com");
+
+        // then
+        assertEquals(Optional.of(new UserCredentials("credentials@example.com", "hashed", Role.ADMIN, 0)),
+                credentials);
+        // エンティティは永続化コンテキストに読み込まれない
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void findCredentialsByEmail_shouldReturnEmpty_whenUserDoesNotExist() {
+        // when
+        Optional<UserCredentials> credentials = userRepository.findCredentialsByEmail("non.existent@example.com");
+
+        // then
+        assertTrue(credentials.isEmpty());
+    }
+
+    @Test
+    void findCredentialsByEmail_shouldNotFlushPendingChanges() {
+        // given
+        entityManager.persist(User.builder()
+                .email("pending@example.com")
+                .password("hashed")
+                .role(Role.USER)
+                .build());
+
+        // when
+        Optional<UserCredentials> credentials = userRepository.findCredentialsByEmail("pending@example.com");
+
+        // then
+        assertTrue(credentials.isEmpty());
+        assertTrue(userRepository.findByEmail("pending@example.com").isPresent());
+    }
+
+    @Test
+    void findTokenVersionByEmail_shouldReturnVersionChangedByRoleUpdate() {
+        // given
+        User user = entityManager.persist(User.builder()
+                .email("version@example.com")
+                .password("hashed")
+                .role(Role.USER)
+                .build());
+        user.setRole(Role.ADMIN);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Optional<Integer> version = userRepository.findTokenVersionByEmail("version@example.com");
+
+        // then
+        assertEquals(Optional.of(1), version);
+        assertTrue(userRepository.findTokenVersionByEmail("non.existent@example.com").isEmpty());
+    }
 }
\ No newline at end of file
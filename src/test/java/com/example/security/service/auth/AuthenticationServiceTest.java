@@ -1,19 +1,32 @@
 package com.example.security.service.auth;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -24,8 +37,19 @@ import com.example.security.repository.user.UserRepository;
 import com.example.security.service.auth.AuthenticationService.AuthenticationRequest;
 import com.example.security.service.auth.AuthenticationService.AuthenticationResponse;
 import com.example.security.service.auth.AuthenticationService.RegisterRequest;
+import com.example.security.service.jfr.AuthEvent;
+import com.example.security.service.jfr.LoginEvent;
+import com.example.security.service.jfr.RegistrationEvent;
 import com.example.security.service.jwt.JwtService;
 import com.example.security.service.jwt.JwtService.JwtToken;
+import com.example.security.service.jwt.SigningAlgorithm;
+import com.example.security.service.password.PasswordEncoderBusyException;
+import com.example.security.service.throttle.LoginThrottle;
+import com.example.security.service.throttle.LoginThrottledException;
+import com.example.security.service.user.CachingUserDetailsService;
+import com.example.security.util.JfrRecorder;
+
+import jdk.jfr.consumer.RecordedEvent;
 
 @SuppressWarnings("null")
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +67,12 @@ class AuthenticationServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private CachingUserDetailsService userDetailsService;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
     @Mock
     private Authentication authentication;
 
@@ -50,6 +80,7 @@ class AuthenticationServiceTest {
     private AuthenticationService authService;
 
     private static final String EMAIL = "test@example.com";
+    private static final String ADDRESS = "192.0.2.1";
     private static final String PASSWORD = "password";
     private static final String ENCODED_PASSWORD = "encodedPassword";
     private static final String TOKEN = "test.jwt.token";
@@ -102,11 +133,124 @@ class AuthenticationServiceTest {
         when(jwtService.generateToken(any(Authentication.class))).thenReturn(jwtToken);
 
         // when
-        AuthenticationResponse response = authService.authenticate(request);
+        AuthenticationResponse response = authService.authenticate(request, ADDRESS);
 
         // then
         assertNotNull(response);
         assertEquals(TOKEN, response.accessToken());
         assertEquals(TOKEN, response.refreshToken());
     }
+
+    @Test
+    void authenticate_shouldRecordLoginEvent_whenUserDetailsAreCached() throws Exception {
+        // given
+        AuthenticationRequest request = new AuthenticationRequest(EMAIL, PASSWORD);
+
+        when(userDetailsService.isCached(EMAIL)).thenReturn(true);
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(authentication);
+        when(jwtService.generateToken(any(Authentication.class))).thenReturn(jwtToken);
+        when(jwtService.getAlgorithm()).thenReturn(SigningAlgorithm.RS256);
+
+        // when
+        List<RecordedEvent> events = JfrRecorder.record(LoginEvent.class, () -> authService.authenticate(request, ADDRESS));
+
+        // then
+        assertEquals(1, events.size());
+        assertEquals(AuthEvent.SUCCESS, events.get(0).getString("outcome"));
+        assertEquals("RS256", events.get(0).getString("algorithm"));
+        assertTrue(events.get(0).getBoolean("cacheHit"));
+    }
+
+    @Test
+    void authenticate_shouldRecordFailure_whenCredentialsAreInvalid() throws Exception {
+        // given
+        AuthenticationRequest request = new AuthenticationRequest(EMAIL, PASSWORD);
+
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // when
+        List<RecordedEvent> events = JfrRecorder.record(LoginEvent.class,
+                () -> assertThrows(BadCredentialsException.class, () -> authService.authenticate(request, ADDRESS)));
+
+        // then
+        assertEquals(1, events.size());
+        assertEquals(AuthEvent.FAILURE, events.get(0).getString("outcome"));
+        assertFalse(events.get(0).getBoolean("cacheHit"));
+    }
+
+    @Test
+    void register_shouldRecordBusy_whenPasswordEncoderIsBusy() throws Exception {
+        // given
+        RegisterRequest request = new RegisterRequest(FIRSTNAME, LASTNAME, EMAIL, PASSWORD);
+
+        when(passwordEncoder.encode(PASSWORD))
+                .thenThrow(new PasswordEncoderBusyException(Duration.ofSeconds(1), null));
+
+        // when
+        List<RecordedEvent> events = JfrRecorder.record(RegistrationEvent.class,
+                () -> assertThrows(PasswordEncoderBusyException.class, () -> authService.register(request)));
+
+        // then
+        assertEquals(1, events.size());
+        assertEquals(AuthEvent.BUSY, events.get(0).getString("outcome"));
+    }
+
+    @Test
+    void authenticate_shouldNotVerifyPassword_whenThrottled() throws Exception {
+        // given
+        AuthenticationRequest request = new AuthenticationRequest(EMAIL, PASSWORD);
+
+        doThrow(new LoginThrottledException(Duration.ofSeconds(30))).when(loginThrottle).check(EMAIL, ADDRESS);
+
+        // when
+        List<RecordedEvent> events = JfrRecorder.record(LoginEvent.class,
+                () -> assertThrows(LoginThrottledException.class, () -> authService.authenticate(request, ADDRESS)));
+
+        // then
+        verifyNoInteractions(authenticationManager);
+        assertEquals(1, events.size());
+        assertEquals(AuthEvent.THROTTLED, events.get(0).getString("outcome"));
+    }
+
+    @Test
+    void register_shouldNormalizeEmail() {
+        // given
+        RegisterRequest request = new RegisterRequest(FIRSTNAME, LASTNAME, " Test@Example.COM ", PASSWORD);
+
+        when(repository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jwtService.generateToken(any(User.class))).thenReturn(jwtToken);
+
+        // when
+        authService.register(request);
+
+        // then
+        verify(repository).existsByEmail(EMAIL);
+        verify(repository).save(argThat(user -> EMAIL.equals(user.getEmail())));
+    }
+
+    @Test
+    void register_shouldRejectRegisteredEmail_withoutHashingPassword() {
+        // given
+        RegisterRequest request = new RegisterRequest(FIRSTNAME, LASTNAME, "TEST@example.com", PASSWORD);
+
+        when(repository.existsByEmail(EMAIL)).thenReturn(true);
+
+        // when, then
+        assertThrows(EmailAlreadyRegisteredException.class, () -> authService.register(request));
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(repository, never()).save(any(User.class));
+    }
+
+    @Test
+    void register_shouldRejectDuplicate_whenRegisteredConcurrently() {
+        // given
+        RegisterRequest request = new RegisterRequest(FIRSTNAME, LASTNAME, EMAIL, PASSWORD);
+
+        when(repository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("ux_user_email"));
+
+        // when, then
+        assertThrows(EmailAlreadyRegisteredException.class, () -> authService.register(request));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.example.security.service.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import com.example.security.service.password.PasswordEncoderBusyException;
+import com.example.security.service.throttle.LoginThrottledException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.EventType;
+
+class AuthEventTest {
+
+    @Test
+    void outcomeOf_shouldDistinguishRejections() {
+        // when, then
+        assertEquals(AuthEvent.BUSY,
+                AuthEvent.outcomeOf(new PasswordEncoderBusyException(Duration.ofSeconds(1), null)));
+        assertEquals(AuthEvent.THROTTLED, AuthEvent.outcomeOf(new LoginThrottledException(Duration.ofSeconds(1))));
+        assertEquals(AuthEvent.FAILURE, AuthEvent.outcomeOf(new BadCredentialsException("Bad credentials")));
+    }
+
+    @Test
+    void eventTypes_shouldShareFields() {
+        // given
+        EventType type = EventType.getEventType(TokenVerifyEvent.class);
+
+        // when, then
+        assertEquals("com.example.security.TokenVerify", type.getName());
+        assertEquals("java.lang.String", type.getField("outcome").getTypeName());
+        assertEquals("java.lang.String", type.getField("algorithm").getTypeName());
+        assertEquals("boolean", type.getField("cacheHit").getTypeName());
+    }
+
+    @Test
+    void settings_shouldRecordEveryLoginAndOnlySlowTokenOperations() throws Exception {
+        // given
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/auth.jfc"), StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+
+        // when
+        Map<String, String> settings = configuration.getSettings();
+
+        // then
+        assertEquals("true", settings.get("com.example.security.Login#enabled"));
+        assertEquals("0 ms", settings.get("com.example.security.Login#threshold"));
+        assertEquals("1 ms", settings.get("com.example.security.TokenVerify#threshold"));
+        assertEquals("false", settings.get("com.example.security.TokenSign#stackTrace"));
+    }
+}
\ No newline at end of file
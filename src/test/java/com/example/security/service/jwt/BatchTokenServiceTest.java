@@ -0,0 +1,111 @@
+package com.example.security.service.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.model.Role;
+import com.example.security.service.jwt.BatchTokenService.IssuedToken;
+import com.example.security.service.jwt.BatchTokenService.TokenRequest;
+import com.example.security.util.KeyGeneratorUtil;
+
+class BatchTokenServiceTest {
+
+    private BatchTokenService batchTokenService;
+
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setExpiration(3_600_000);
+        jwtConfig.setRefreshExpiration(86_400_000);
+        jwtConfig.getBatch().setParallelism(4);
+
+        SecretKey secretKey = KeyGeneratorUtil.generateHmacKey();
+        JwtService jwtService = new JwtService(new TemplateJwtSerializer(SigningAlgorithm.HS256, secretKey), jwtConfig);
+        batchTokenService = new BatchTokenService(jwtService, jwtConfig);
+        jwtDecoder = JwsJwtDecoders.withVerificationKeys(Map.of(SigningAlgorithm.HS256, secretKey));
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchTokenService.close();
+    }
+
+    @Test
+    void issue_shouldIssueTokenForEveryRequest_acrossChunks() throws Exception {
+        // given
+        int count = BatchTokenService.CHUNK_SIZE * 3 + 1;
+        List<TokenRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new TokenRequest("worker-" + i, List.of(i % 2 == 0 ? Role.USER : Role.ADMIN)));
+        }
+        List<IssuedToken> issued = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger chunks = new AtomicInteger();
+
+        // when
+        batchTokenService.issue(requests, tokens -> {
+            chunks.incrementAndGet();
+            issued.addAll(tokens);
+        });
+
+        // then
+        assertEquals(4, chunks.get());
+        assertEquals(count, issued.size());
+        issued.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        for (int i = 0; i < count; i++) {
+            IssuedToken token = issued.get(i);
+            assertEquals(i, token.index());
+            assertEquals("worker-" + i, token.subject());
+            Jwt jwt = jwtDecoder.decode(token.accessToken());
+            assertEquals("worker-" + i, jwt.getSubject());
+            assertEquals(List.of(requests.get(i).roles().get(0).name()), jwt.getClaimAsStringList("roles"));
+            assertEquals("worker-" + i, jwtDecoder.decode(token.refreshToken()).getSubject());
+        }
+    }
+
+    @Test
+    void issue_shouldIssueTokenWithoutRoles_whenRolesAreMissing() throws Exception {
+        // given
+        List<IssuedToken> issued = new ArrayList<>();
+
+        // when
+        batchTokenService.issue(List.of(new TokenRequest("worker", null)), issued::addAll);
+
+        // then
+        assertEquals(1, issued.size());
+        assertTrue(jwtDecoder.decode(issued.get(0).accessToken()).getClaimAsStringList("roles").isEmpty());
+    }
+
+    @Test
+    void issue_shouldStop_whenConsumerFails() {
+        // given
+        List<TokenRequest> requests = Collections.nCopies(BatchTokenService.CHUNK_SIZE * 4,
+                new TokenRequest("worker", List.of(Role.USER)));
+        AtomicInteger chunks = new AtomicInteger();
+
+        // when, then
+        assertThrows(IOException.class, () -> batchTokenService.issue(requests, tokens -> {
+            chunks.incrementAndGet();
+            throw new IOException("Broken pipe");
+        }));
+        assertEquals(1, chunks.get());
+    }
+}
\ No newline at end of file
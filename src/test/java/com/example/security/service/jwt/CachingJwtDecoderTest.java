@@ -0,0 +1,169 @@
+package com.example.security.service.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.example.security.service.jfr.AuthEvent;
+import com.example.security.service.jfr.TokenVerifyEvent;
+import com.example.security.util.JfrRecorder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderTest {
+
+    @Mock
+    private JwtDecoder delegate;
+
+    private static final String TOKEN = "header.payload.signature";
+    private static final Instant NOW = Instant.parse("2025-05-10T00:00:00Z");
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        decoder = new CachingJwtDecoder(delegate, 100, clock, nanos::get);
+    }
+
+    @Test
+    void decode_shouldVerifyOnlyOnce_whenSameTokenIsDecodedTwice() {
+        // given
+        Jwt jwt = jwt(NOW.plusSeconds(3600));
+        when(delegate.decode(TOKEN)).thenReturn(jwt);
+
+        // when
+        Jwt first = decoder.decode(TOKEN);
+        Jwt second = decoder.decode(TOKEN);
+
+        // then
+        assertSame(jwt, first);
+        assertSame(jwt, second);
+        verify(delegate, times(1)).decode(TOKEN);
+    }
+
+    @Test
+    void decode_shouldVerifyAgain_afterTokenExpires() {
+        // given
+        when(delegate.decode(TOKEN)).thenReturn(jwt(NOW.plusSeconds(60)));
+        decoder.decode(TOKEN);
+
+        // when
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+        decoder.decode(TOKEN);
+
+        // then
+        verify(delegate, times(2)).decode(TOKEN);
+    }
+
+    @Test
+    void decode_shouldNotCache_whenTokenHasNoExpiration() {
+        // given
+        when(delegate.decode(TOKEN)).thenReturn(jwt(null));
+
+        // when
+        decoder.decode(TOKEN);
+        decoder.decode(TOKEN);
+
+        // then
+        verify(delegate, times(2)).decode(TOKEN);
+    }
+
+    @Test
+    void decode_shouldNotCache_whenVerificationFails() {
+        // given
+        when(delegate.decode(TOKEN)).thenThrow(new JwtException("Invalid token"));
+
+        // when, then
+        assertThrows(JwtException.class, () -> decoder.decode(TOKEN));
+        assertThrows(JwtException.class, () -> decoder.decode(TOKEN));
+        verify(delegate, times(2)).decode(TOKEN);
+    }
+
+    @Test
+    void decode_shouldThrowBadJwtException_whenTokenIsNullOrEmpty() {
+        // when, then
+        assertThrows(BadJwtException.class, () -> decoder.decode(null));
+        assertThrows(BadJwtException.class, () -> decoder.decode(""));
+        verify(delegate, never()).decode(any());
+    }
+
+    @Test
+    void decode_shouldRecordVerifyEventOnlyForCacheHits() throws Exception {
+        // given
+        when(delegate.decode(TOKEN)).thenReturn(jwt(NOW.plusSeconds(3600)));
+
+        // when
+        List<RecordedEvent> events = JfrRecorder.record(TokenVerifyEvent.class, () -> {
+            decoder.decode(TOKEN);
+            decoder.decode(TOKEN);
+        });
+
+        // then
+        assertEquals(1, events.size());
+        assertEquals(AuthEvent.SUCCESS, events.get(0).getString("outcome"));
+        assertEquals("RS256", events.get(0).getString("algorithm"));
+        assertTrue(events.get(0).getBoolean("cacheHit"));
+    }
+
+    @Test
+    void bindTo_shouldReportHitsAndMisses() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        decoder.bindTo(registry);
+        when(delegate.decode(TOKEN)).thenReturn(jwt(NOW.plusSeconds(3600)));
+
+        // when
+        decoder.decode(TOKEN);
+        decoder.decode(TOKEN);
+        decoder.decode(TOKEN);
+
+        // then
+        assertEquals(2.0, registry.get("cache.gets")
+                .tag("cache", CachingJwtDecoder.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets")
+                .tag("cache", CachingJwtDecoder.CACHE_NAME)
+                .tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        Jwt.Builder builder = Jwt.withTokenValue(TOKEN)
+                .header("alg", "RS256")
+                .subject("user@example.com")
+                .issuedAt(NOW);
+        if (expiresAt != null) {
+            builder.expiresAt(expiresAt);
+        }
+        return builder.build();
+    }
+}
\ No newline at end of file
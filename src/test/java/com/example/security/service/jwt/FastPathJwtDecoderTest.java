@@ -0,0 +1,313 @@
+package com.example.security.service.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.config.JwtKeyConfig;
+import com.example.security.config.JwtKeyProperties;
+import com.example.security.service.jfr.AuthEvent;
+import com.example.security.service.jfr.TokenVerifyEvent;
+import com.example.security.util.JfrRecorder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+
+class FastPathJwtDecoderTest {
+
+    private static final Instant NOW = Instant.now();
+
+    @ParameterizedTest
+    @EnumSource(SigningAlgorithm.class)
+    void decode_shouldReturnSameClaimsAsNimbus_withoutFallingBack(SigningAlgorithm algorithm) {
+        // given
+        JwtKeyProperties keys = keys(algorithm);
+        JwtDecoder nimbus = JwsJwtDecoders.withVerificationKeys(Map.of(algorithm, keys.getVerificationKey()));
+        JwtDecoder fallback = spy(JwtDecoder.class);
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(algorithm, keys.getVerificationKey(), fallback);
+        String token = new TemplateJwtSerializer(algorithm, keys.getSigningKey())
+                .serialize("ユーザー@example.com", "token-id", NOW, NOW.plusSeconds(3600), List.of("USER", "ADMIN"));
+
+        // when
+        Jwt jwt = decoder.decode(token);
+
+        // then
+        Jwt expected = nimbus.decode(token);
+        assertEquals(expected.getTokenValue(), jwt.getTokenValue());
+        assertEquals(expected.getHeaders(), jwt.getHeaders());
+        assertEquals(expected.getClaims(), jwt.getClaims());
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void decode_shouldShareRolesList_whenRolesAreRoleNames() {
+        // given
+        JwtKeyProperties keys = keys(SigningAlgorithm.HS256);
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(SigningAlgorithm.HS256, keys.getVerificationKey(),
+                spy(JwtDecoder.class));
+        TemplateJwtSerializer serializer = new TemplateJwtSerializer(SigningAlgorithm.HS256, keys.getSigningKey());
+
+        // when
+        Jwt first = decoder.decode(
+                serializer.serialize("a@example.com", "token-a", NOW, NOW.plusSeconds(60), List.of("USER")));
+        Jwt second = decoder.decode(
+                serializer.serialize("b@example.com", "token-b", NOW, NOW.plusSeconds(60), List.of("USER")));
+
+        // then
+        assertSame(first.getClaims().get("roles"), second.getClaims().get("roles"));
+    }
+
+    @Test
+    void decode_shouldOmitRoles_whenRefreshToken() {
+        // given
+        JwtKeyProperties keys = keys(SigningAlgorithm.HS256);
+        JwtDecoder fallback = spy(JwtDecoder.class);
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(SigningAlgorithm.HS256, keys.getVerificationKey(),
+                fallback);
+        String token = new TemplateJwtSerializer(SigningAlgorithm.HS256, keys.getSigningKey())
+                .serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60), null);
+
+        // when
+        Jwt jwt = decoder.decode(token);
+
+        // then
+        assertEquals("user@example.com", jwt.getSubject());
+        assertFalse(jwt.hasClaim("roles"));
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void decode_shouldReturnSameClaimsAsNimbus_whenRefreshTokenHasVersionAndRoles() {
+        // given
+        JwtKeyProperties keys = keys(SigningAlgorithm.ES256);
+        JwtDecoder nimbus = JwsJwtDecoders.withVerificationKeys(
+                Map.of(SigningAlgorithm.ES256, keys.getVerificationKey()));
+        JwtDecoder fallback = spy(JwtDecoder.class);
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(SigningAlgorithm.ES256, keys.getVerificationKey(),
+                fallback);
+        String token = new TemplateJwtSerializer(SigningAlgorithm.ES256, keys.getSigningKey())
+                .serializeRefreshToken("user@example.com", "token-id", NOW, NOW.plusSeconds(60),
+                        List.of("USER", "ADMIN"), 3);
+
+        // when
+        Jwt jwt = decoder.decode(token);
+
+        // then
+        assertEquals(nimbus.decode(token).getClaims(), jwt.getClaims());
+        assertEquals(3L, jwt.getClaims().get(JwtService.TOKEN_VERSION_CLAIM));
+        assertEquals(List.of("USER", "ADMIN"), jwt.getClaimAsStringList(JwtService.REFRESH_ROLES_CLAIM));
+        assertFalse(jwt.hasClaim("roles"));
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void decode_shouldFallBack_whenTokenHasOtherClaims() {
+        // given
+        JwtKeyProperties keys = keys(SigningAlgorithm.ES256);
+        JwtDecoder fallback = spy(JwsJwtDecoders.withVerificationKeys(
+                Map.of(SigningAlgorithm.ES256, keys.getVerificationKey())));
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(SigningAlgorithm.ES256, keys.getVerificationKey(),
+                fallback);
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("user@example.com")
+                .issuedAt(NOW)
+                .expiresAt(NOW.plusSeconds(60))
+                .claim("scope", "read")
+                .build();
+        String token = new JwsJwtEncoder(SigningAlgorithm.ES256, keys.getSigningKey())
+                .encode(JwtEncoderParameters.from(JwsHeader.with(SigningAlgorithm.ES256).build(), claims))
+                .getTokenValue();
+
+        // when
+        Jwt jwt = decoder.decode(token);
+
+        // then
+        assertEquals("read", jwt.getClaimAsString("scope"));
+        verify(fallback).decode(token);
+    }
+
+    @Test
+    void decode_shouldFallBack_whenSignatureIsInvalid() {
+        // given
+        JwtKeyProperties keys = keys(SigningAlgorithm.RS256);
+        JwtDecoder fallback = spy(JwsJwtDecoders.withVerificationKeys(
+                Map.of(SigningAlgorithm.RS256, keys.getVerificationKey())));
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(SigningAlgorithm.RS256, keys.getVerificationKey(),
+                fallback);
+        String token = new TemplateJwtSerializer(SigningAlgorithm.RS256, keys(SigningAlgorithm.RS256).getSigningKey())
+                .serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60), List.of("USER"));
+
+        // when, then
+        assertThrows(JwtException.class, () -> decoder.decode(token));
+        verify(fallback).decode(token);
+    }
+
+    @Test
+    void decode_shouldFallBack_whenTokenIsExpired() {
+        // given
+        JwtKeyProperties keys = keys(SigningAlgorithm.HS256);
+        JwtDecoder fallback = spy(JwsJwtDecoders.withVerificationKeys(
+                Map.of(SigningAlgorithm.HS256, keys.getVerificationKey())));
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(SigningAlgorithm.HS256, keys.getVerificationKey(),
+                fallback);
+        String token = new TemplateJwtSerializer(SigningAlgorithm.HS256, keys.getSigningKey())
+                .serialize("user@example.com", "token-id", NOW.minusSeconds(600), NOW.minusSeconds(61),
+                        List.of("USER"));
+
+        // when, then
+        assertThrows(JwtException.class, () -> decoder.decode(token));
+        verify(fallback).decode(token);
+    }
+
+    @Test
+    void decode_shouldFallBack_whenTokenIsExpiredAtDecoderClock() {
+        // given
+        JwtKeyProperties keys = keys(SigningAlgorithm.HS256);
+        JwtDecoder fallback = spy(JwtDecoder.class);
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(SigningAlgorithm.HS256, keys.getVerificationKey(),
+                fallback, Clock.fixed(NOW.plusSeconds(121), ZoneOffset.UTC));
+        String token = new TemplateJwtSerializer(SigningAlgorithm.HS256, keys.getSigningKey())
+                .serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60), List.of("USER"));
+
+        // when
+        decoder.decode(token);
+
+        // then
+        verify(fallback).decode(token);
+    }
+
+    @Test
+    void decode_shouldFallBack_whenAlgorithmDiffers() {
+        // given
+        JwtKeyProperties keys = keys(SigningAlgorithm.RS256);
+        JwtDecoder fallback = spy(JwsJwtDecoders.withVerificationKeys(
+                Map.of(SigningAlgorithm.RS256, keys.getVerificationKey())));
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(SigningAlgorithm.RS256, keys.getVerificationKey(),
+                fallback);
+        String token = new TemplateJwtSerializer(SigningAlgorithm.HS256, keys(SigningAlgorithm.HS256).getSigningKey())
+                .serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60), List.of("USER"));
+
+        // when, then
+        assertThrows(JwtException.class, () -> decoder.decode(token));
+        verify(fallback).decode(token);
+    }
+
+    @Test
+    void decode_shouldVerifyWithPreviousKey_afterRotation() throws Exception {
+        // given
+        JwtKeyProperties first = keys(SigningAlgorithm.ES256);
+        JwtKeyProperties second = keys(SigningAlgorithm.ES256);
+        JwtKeyRing ring = new JwtKeyRing(JwtKey.of(SigningAlgorithm.ES256, first.getSigningKey(),
+                first.getVerificationKey()), () -> JwtKey.of(SigningAlgorithm.ES256, second.getSigningKey(),
+                second.getVerificationKey()), Duration.ZERO, Duration.ofHours(1));
+        JwtDecoder fallback = spy(JwtDecoder.class);
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(ring, fallback);
+        TemplateJwtSerializer serializer = new TemplateJwtSerializer(ring);
+        String previous = serializer.serialize("user@example.com", "token-a", NOW, NOW.plusSeconds(60), null);
+
+        // when
+        ring.rotate();
+        String current = serializer.serialize("user@example.com", "token-b", NOW, NOW.plusSeconds(60), null);
+
+        // then
+        assertEquals(ring.verificationKeys().get(1).getKeyId(), decoder.decode(previous).getHeaders().get("kid"));
+        assertEquals(ring.signingKey().getKeyId(), decoder.decode(current).getHeaders().get("kid"));
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void decode_shouldFallBack_whenKeyIdIsUnknown() throws Exception {
+        // given
+        JwtKeyRing ring = new JwtKeyRing(toJwtKey(keys(SigningAlgorithm.HS256)));
+        JwtKeyRing other = new JwtKeyRing(toJwtKey(keys(SigningAlgorithm.HS256)));
+        JwtDecoder fallback = spy(JwsJwtDecoders.withKeyRing(ring));
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(ring, fallback);
+        String token = new TemplateJwtSerializer(other)
+                .serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60), List.of("USER"));
+
+        // when, then
+        assertThrows(JwtException.class, () -> decoder.decode(token));
+        verify(fallback).decode(token);
+    }
+
+    @Test
+    void decode_shouldRecordVerifyEvents() throws Exception {
+        // given
+        JwtKeyProperties keys = keys(SigningAlgorithm.ES256);
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(SigningAlgorithm.ES256, keys.getVerificationKey(),
+                JwsJwtDecoders.withVerificationKeys(Map.of(SigningAlgorithm.ES256, keys.getVerificationKey())));
+        String token = new TemplateJwtSerializer(SigningAlgorithm.ES256, keys.getSigningKey())
+                .serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60), List.of("USER"));
+
+        // when
+        List<RecordedEvent> events = JfrRecorder.record(TokenVerifyEvent.class, () -> {
+            decoder.decode(token);
+            assertThrows(JwtException.class, () -> decoder.decode("not.a.token"));
+        });
+
+        // then
+        assertEquals(2, events.size());
+        assertEquals(AuthEvent.SUCCESS, events.get(0).getString("outcome"));
+        assertEquals("ES256", events.get(0).getString("algorithm"));
+        assertFalse(events.get(0).getBoolean("cacheHit"));
+        assertEquals(AuthEvent.FAILURE, events.get(1).getString("outcome"));
+        assertNull(events.get(1).getString("algorithm"));
+    }
+
+    @Test
+    void bindTo_shouldReportHitsAndFallbacks() {
+        // given
+        JwtKeyProperties keys = keys(SigningAlgorithm.HS256);
+        FastPathJwtDecoder decoder = new FastPathJwtDecoder(SigningAlgorithm.HS256, keys.getVerificationKey(),
+                JwsJwtDecoders.withVerificationKeys(Map.of(SigningAlgorithm.HS256, keys.getVerificationKey())));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        decoder.bindTo(registry);
+        String token = new TemplateJwtSerializer(SigningAlgorithm.HS256, keys.getSigningKey())
+                .serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60), List.of("USER"));
+
+        // when
+        decoder.decode(token);
+        decoder.decode(token);
+        assertThrows(JwtException.class, () -> decoder.decode("not.a.token"));
+
+        // then
+        assertEquals(2.0, registry.get(FastPathJwtDecoder.METRIC_NAME).tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get(FastPathJwtDecoder.METRIC_NAME).tag("result", "fallback")
+                .functionCounter().count());
+    }
+
+    private static JwtKey toJwtKey(JwtKeyProperties keys) {
+        return JwtKey.of(keys.getAlgorithm(), keys.getSigningKey(), keys.getVerificationKey());
+    }
+
+    private static JwtKeyProperties keys(SigningAlgorithm algorithm) {
+        JwtConfig config = new JwtConfig();
+        config.setAlgorithm(algorithm);
+        config.getKey().setGenerate(true);
+        return new JwtKeyConfig(config).jwtKeyProperties();
+    }
+}
\ No newline at end of file
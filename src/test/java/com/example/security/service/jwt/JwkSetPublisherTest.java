@@ -0,0 +1,126 @@
+package com.example.security.service.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.security.service.jwt.JwkSetPublisher.JwkSetDocument;
+import com.example.security.util.KeyGeneratorUtil;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+
+class JwkSetPublisherTest {
+
+    private static final byte[] ED25519_X509_PREFIX = HexFormat.of().parseHex("302a300506032b6570032100");
+
+    @Test
+    void current_shouldReturnSameDocument_untilKeyRingChanges() throws Exception {
+        // given
+        JwtKeyRing ring = newRing(rsaKey(), rsaKey());
+        JwkSetPublisher publisher = new JwkSetPublisher(ring);
+        JwkSetDocument before = publisher.current();
+
+        // when
+        JwkSetDocument unchanged = publisher.current();
+        ring.rotate();
+        JwkSetDocument rotated = publisher.current();
+
+        // then
+        assertSame(before, unchanged);
+        assertNotEquals(before.eTag(), rotated.eTag());
+        assertEquals(2, JWKSet.parse(new String(rotated.json(), StandardCharsets.UTF_8)).size());
+    }
+
+    @Test
+    void current_shouldPublishPublicKeysWithKeyIds() throws Exception {
+        // given
+        KeyPair keyPair = KeyGeneratorUtil.generateRsaKey();
+        JwtKey key = JwtKey.of(SigningAlgorithm.RS256, keyPair.getPrivate(), keyPair.getPublic());
+        JwkSetPublisher publisher = new JwkSetPublisher(new JwtKeyRing(key));
+
+        // when
+        JwkSetDocument document = publisher.current();
+
+        // then
+        String json = new String(document.json(), StandardCharsets.UTF_8);
+        JWK jwk = JWKSet.parse(json).getKeyByKeyId(key.getKeyId());
+        assertEquals(keyPair.getPublic(), jwk.toRSAKey().toPublicKey());
+        assertEquals(KeyUse.SIGNATURE, jwk.getKeyUse());
+        assertEquals("RS256", jwk.getAlgorithm().getName());
+        assertTrue(!jwk.isPrivate() && !json.contains("\"d\""));
+        assertTrue(document.eTag().startsWith("\"") && document.eTag().endsWith("\""));
+    }
+
+    @Test
+    void current_shouldPublishEd25519KeyThatVerifiesIssuedSignatures() throws Exception {
+        // given
+        KeyPair keyPair = KeyGeneratorUtil.generateEd25519Key();
+        JwtKey key = JwtKey.of(SigningAlgorithm.EDDSA, keyPair.getPrivate(), keyPair.getPublic());
+        JWSObject jws = new JWSObject(key.getHeader(), new Payload("payload"));
+        jws.sign(key.getSigner());
+
+        // when
+        JwkSetDocument document = new JwkSetPublisher(new JwtKeyRing(key)).current();
+
+        // then
+        OctetKeyPair jwk = (OctetKeyPair) JWKSet.parse(new String(document.json(), StandardCharsets.UTF_8))
+                .getKeyByKeyId(key.getKeyId());
+        assertTrue(jws.verify(new JcaEd25519Verifier(toPublicKey(jwk))));
+        assertEquals(key.getKeyId(), jwk.computeThumbprint().toString());
+    }
+
+    @Test
+    void current_shouldNotPublishSecretKeys() throws Exception {
+        // given
+        SecretKey secretKey = KeyGeneratorUtil.generateHmacKey();
+        JwtKey key = JwtKey.of(SigningAlgorithm.HS256, secretKey, secretKey);
+
+        // when
+        JwkSetDocument document = new JwkSetPublisher(new JwtKeyRing(key)).current();
+
+        // then
+        assertArrayEquals("{\"keys\":[]}".getBytes(StandardCharsets.UTF_8), document.json());
+    }
+
+    /**
+     * RFC 8037のxからX.509形式の公開鍵を復元
+     */
+    private static PublicKey toPublicKey(OctetKeyPair jwk) throws Exception {
+        byte[] x = jwk.getX().decode();
+        byte[] encoded = Arrays.copyOf(ED25519_X509_PREFIX, ED25519_X509_PREFIX.length + x.length);
+        System.arraycopy(x, 0, encoded, ED25519_X509_PREFIX.length, x.length);
+        return KeyFactory.getInstance("Ed25519").generatePublic(new X509EncodedKeySpec(encoded));
+    }
+
+    private static JwtKeyRing newRing(JwtKey initialKey, JwtKey... rotatedKeys) {
+        Deque<JwtKey> source = new ArrayDeque<>(List.of(rotatedKeys));
+        return new JwtKeyRing(initialKey, source::poll, Duration.ZERO, Duration.ofHours(1));
+    }
+
+    private static JwtKey rsaKey() throws Exception {
+        KeyPair keyPair = KeyGeneratorUtil.generateRsaKey();
+        return JwtKey.of(SigningAlgorithm.RS256, keyPair.getPrivate(), keyPair.getPublic());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.example.security.service.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.example.security.util.KeyGeneratorUtil;
+
+class JwsJwtDecodersTest {
+
+    @Test
+    void decode_shouldVerifyEdDsaSignature() throws Exception {
+        // given
+        KeyPair keyPair = KeyGeneratorUtil.generateEd25519Key();
+        String token = encode(new JwsJwtEncoder(SigningAlgorithm.EDDSA, keyPair.getPrivate()), SigningAlgorithm.EDDSA);
+        JwtDecoder decoder = JwsJwtDecoders.withVerificationKeys(Map.of(SigningAlgorithm.EDDSA, keyPair.getPublic()));
+
+        // when
+        Jwt jwt = decoder.decode(token);
+
+        // then
+        assertEquals("EdDSA", jwt.getHeaders().get("alg"));
+        assertEquals("user@example.com", jwt.getSubject());
+    }
+
+    @Test
+    void decode_shouldRejectToken_whenSignatureIsTampered() throws Exception {
+        // given
+        KeyPair keyPair = KeyGeneratorUtil.generateEd25519Key();
+        String token = encode(new JwsJwtEncoder(SigningAlgorithm.EDDSA, keyPair.getPrivate()), SigningAlgorithm.EDDSA);
+        String tampered = token.substring(0, token.length() - 4) + (token.endsWith("AAAA") ? "BBBB" : "AAAA");
+        JwtDecoder decoder = JwsJwtDecoders.withVerificationKeys(Map.of(SigningAlgorithm.EDDSA, keyPair.getPublic()));
+
+        // when, then
+        assertThrows(JwtException.class, () -> decoder.decode(tampered));
+    }
+
+    @Test
+    void decode_shouldRejectToken_whenNoKeyIsRegisteredForAlgorithm() throws Exception {
+        // given
+        String token = encode(new JwsJwtEncoder(SigningAlgorithm.ES256, KeyGeneratorUtil.generateEcKey().getPrivate()),
+                SigningAlgorithm.ES256);
+        JwtDecoder decoder = JwsJwtDecoders.withVerificationKeys(
+                Map.of(SigningAlgorithm.EDDSA, KeyGeneratorUtil.generateEd25519Key().getPublic()));
+
+        // when, then
+        assertThrows(JwtException.class, () -> decoder.decode(token));
+    }
+
+    @Test
+    void withKeyRing_shouldSelectKeyByKeyId() throws Exception {
+        // given
+        KeyPair first = KeyGeneratorUtil.generateRsaKey();
+        KeyPair second = KeyGeneratorUtil.generateRsaKey();
+        JwtKeyRing ring = new JwtKeyRing(JwtKey.of(SigningAlgorithm.RS256, first.getPrivate(), first.getPublic()),
+                () -> JwtKey.of(SigningAlgorithm.RS256, second.getPrivate(), second.getPublic()),
+                Duration.ZERO, Duration.ofHours(1));
+        JwsJwtEncoder encoder = new JwsJwtEncoder(ring);
+        String previous = encode(encoder, SigningAlgorithm.RS256);
+        ring.rotate();
+        String current = encode(encoder, SigningAlgorithm.RS256);
+        JwtDecoder decoder = JwsJwtDecoders.withKeyRing(ring);
+
+        // when
+        Jwt previousJwt = decoder.decode(previous);
+        Jwt currentJwt = decoder.decode(current);
+
+        // then
+        assertEquals(ring.verificationKeys().get(1).getKeyId(), previousJwt.getHeaders().get("kid"));
+        assertEquals(ring.signingKey().getKeyId(), currentJwt.getHeaders().get("kid"));
+    }
+
+    @Test
+    void withKeyRing_shouldRejectToken_whenKeyIdIsUnknown() throws Exception {
+        // given
+        KeyPair keyPair = KeyGeneratorUtil.generateRsaKey();
+        KeyPair other = KeyGeneratorUtil.generateRsaKey();
+        String token = encode(new JwsJwtEncoder(new JwtKeyRing(
+                JwtKey.of(SigningAlgorithm.RS256, other.getPrivate(), other.getPublic()))), SigningAlgorithm.RS256);
+        JwtDecoder decoder = JwsJwtDecoders.withKeyRing(new JwtKeyRing(
+                JwtKey.of(SigningAlgorithm.RS256, keyPair.getPrivate(), keyPair.getPublic())));
+
+        // when, then
+        assertThrows(JwtException.class, () -> decoder.decode(token));
+    }
+
+    @Test
+    void encode_shouldRejectHeader_whenAlgorithmDiffersFromKey() throws Exception {
+        // given
+        JwsJwtEncoder encoder = new JwsJwtEncoder(SigningAlgorithm.HS256, KeyGeneratorUtil.generateHmacKey());
+
+        // when, then
+        assertThrows(JwtEncodingException.class, () -> encode(encoder, SigningAlgorithm.RS256));
+    }
+
+    private static String encode(JwsJwtEncoder encoder, SigningAlgorithm algorithm) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("user@example.com")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(60))
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(JwsHeader.with(algorithm).build(), claims)).getTokenValue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.example.security.service.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.security.util.KeyGeneratorUtil;
+import com.nimbusds.jose.jwk.RSAKey;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtKeyRingTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private static final Duration RETENTION = Duration.ofHours(1);
+
+    private Instant now = NOW;
+
+    @Test
+    void rotate_shouldSwitchSigningKeyAndKeepPreviousKeyForVerification() throws Exception {
+        // given
+        JwtKey first = hmacKey();
+        JwtKey second = hmacKey();
+        JwtKeyRing ring = newRing(first, second);
+
+        // when
+        boolean rotated = ring.rotate();
+
+        // then
+        assertTrue(rotated);
+        assertSame(second, ring.signingKey());
+        assertSame(first, ring.verificationKey(first.getKeyId()));
+        assertSame(second, ring.verificationKey(second.getKeyId()));
+        assertEquals(List.of(second, first), ring.verificationKeys());
+    }
+
+    @Test
+    void rotate_shouldNotSwitch_whenSourceReturnsSameKey() throws Exception {
+        // given
+        JwtKey key = hmacKey();
+        JwtKeyRing ring = newRing(key, key);
+
+        // when
+        boolean rotated = ring.rotate();
+
+        // then
+        assertFalse(rotated);
+        assertEquals(List.of(key), ring.verificationKeys());
+    }
+
+    @Test
+    void rotate_shouldRemovePreviousKey_afterRetention() throws Exception {
+        // given
+        JwtKey first = hmacKey();
+        JwtKey second = hmacKey();
+        JwtKey third = hmacKey();
+        JwtKeyRing ring = newRing(first, second, third);
+        ring.rotate();
+
+        // when
+        now = now.plus(RETENTION);
+        ring.rotate();
+
+        // then
+        assertSame(third, ring.signingKey());
+        assertNull(ring.verificationKey(first.getKeyId()));
+        assertEquals(List.of(third, second), ring.verificationKeys());
+    }
+
+    @Test
+    void verificationKeyByEncodedHeader_shouldReturnKeyWhoseHeaderMatches() throws Exception {
+        // given
+        JwtKey first = hmacKey();
+        JwtKey second = hmacKey();
+        JwtKeyRing ring = newRing(first, second);
+        ring.rotate();
+
+        // when, then
+        assertSame(first, ring.verificationKeyByEncodedHeader(first.getEncodedHeader()));
+        assertSame(second, ring.verificationKeyByEncodedHeader(second.getEncodedHeader()));
+        assertNull(ring.verificationKeyByEncodedHeader("eyJhbGciOiJIUzI1NiJ9."));
+    }
+
+    @Test
+    void bindTo_shouldRegisterKeyCountAndRotations() throws Exception {
+        // given
+        JwtKeyRing ring = newRing(hmacKey(), hmacKey());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ring.bindTo(registry);
+
+        // when
+        ring.rotate();
+
+        // then
+        assertEquals(2.0, registry.get("jwt.key.verification.keys").gauge().value());
+        assertEquals(1.0, registry.get("jwt.key.rotations").functionCounter().count());
+    }
+
+    @Test
+    void of_shouldUseJwkThumbprintAsKeyId() throws Exception {
+        // given
+        KeyPair keyPair = KeyGeneratorUtil.generateRsaKey();
+
+        // when
+        JwtKey key = JwtKey.of(SigningAlgorithm.RS256, keyPair.getPrivate(), keyPair.getPublic());
+        JwtKey other = JwtKey.of(SigningAlgorithm.RS256, keyPair.getPrivate(), keyPair.getPublic());
+
+        // then
+        String expected = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic()).build()
+                .computeThumbprint().toString();
+        assertEquals(expected, key.getKeyId());
+        assertEquals(key.getKeyId(), other.getKeyId());
+        assertEquals(expected, key.getHeader().getKeyID());
+    }
+
+    @Test
+    void of_shouldUseDistinctKeyIds_forEachAlgorithm() throws Exception {
+        // given
+        KeyPair ec = KeyGeneratorUtil.generateEcKey();
+        KeyPair ed25519 = KeyGeneratorUtil.generateEd25519Key();
+
+        // when
+        JwtKey ecKey = JwtKey.of(SigningAlgorithm.ES256, ec.getPrivate(), ec.getPublic());
+        JwtKey ed25519Key = JwtKey.of(SigningAlgorithm.EDDSA, ed25519.getPrivate(), ed25519.getPublic());
+        JwtKey hmacKey = hmacKey();
+
+        // then
+        assertNotEquals(ecKey.getKeyId(), ed25519Key.getKeyId());
+        assertNotEquals(ed25519Key.getKeyId(), hmacKey.getKeyId());
+    }
+
+    private JwtKeyRing newRing(JwtKey initialKey, JwtKey... rotatedKeys) {
+        Deque<JwtKey> source = new ArrayDeque<>(List.of(rotatedKeys));
+        return new JwtKeyRing(initialKey, source::poll, Duration.ZERO, RETENTION, clock());
+    }
+
+    private static JwtKey hmacKey() throws Exception {
+        SecretKey secretKey = KeyGeneratorUtil.generateHmacKey();
+        return JwtKey.of(SigningAlgorithm.HS256, secretKey, secretKey);
+    }
+
+    private Clock clock() {
+        return new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+    }
+}
\ No newline at end of file
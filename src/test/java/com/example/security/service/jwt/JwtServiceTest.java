@@ -1,29 +1,33 @@
 package com.example.security.service.jwt;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 
 import com.example.security.config.JwtConfig;
+import com.example.security.model.Role;
+import com.example.security.model.UserCredentials;
 import com.example.security.service.jwt.JwtService.JwtToken;
+import com.example.security.util.KeyGeneratorUtil;
 
 /**
  * JWTサービスのテスト
@@ -31,33 +35,25 @@ import com.example.security.service.jwt.JwtService.JwtToken;
 @ExtendWith(MockitoExtension.class)
 class JwtServiceTest {
 
-    @Mock
-    private JwtEncoder jwtEncoder;
-
     @Mock
     private JwtConfig jwtConfig;
 
-    @Mock
-    private Authentication authentication;
-
-    @InjectMocks
     private JwtService jwtService;
 
+    private JwtDecoder jwtDecoder;
+
     private static final String USERNAME = "test@example.com";
-    private static final String TOKEN = "test.jwt.token";
     private static final long EXPIRATION = 3600000; // 1時間
+    private static final long REFRESH_EXPIRATION = 86400000; // 1日
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         when(jwtConfig.getExpiration()).thenReturn(EXPIRATION);
+        lenient().when(jwtConfig.getRefreshExpiration()).thenReturn(REFRESH_EXPIRATION);
 
-        // jwtEncoderのモック設定
-        Jwt jwt = Jwt.withTokenValue(TOKEN)
-                .header("alg", "RS256")
-                .subject(USERNAME)
-                .claim("roles", Collections.singletonList("USER"))
-                .build();
-        when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(jwt);
+        SecretKey secretKey = KeyGeneratorUtil.generateHmacKey();
+        jwtService = new JwtService(new TemplateJwtSerializer(SigningAlgorithm.HS256, secretKey), jwtConfig);
+        jwtDecoder = JwsJwtDecoders.withVerificationKeys(Map.of(SigningAlgorithm.HS256, secretKey));
     }
 
     @Test
@@ -73,21 +69,64 @@ class JwtServiceTest {
 
         // then
         assertNotNull(result);
-        assertEquals(TOKEN, result.token());
+        Jwt jwt = jwtDecoder.decode(result.token());
+        assertEquals(USERNAME, jwt.getSubject());
+        assertEquals(List.of("ROLE_USER"), jwt.getClaimAsStringList("roles"));
         assertNotNull(result.expiresAt());
     }
 
     @Test
     void generateToken_fromUsernameAndRoles_shouldReturnValidToken() {
         // given
-        List<String> roles = Arrays.asList("ROLE_USER");
+        List<String> roles = Arrays.asList("USER");
 
         // when
         JwtToken result = jwtService.generateToken(USERNAME, roles);
 
         // then
         assertNotNull(result);
-        assertEquals(TOKEN, result.token());
+        Jwt jwt = jwtDecoder.decode(result.token());
+        assertEquals(USERNAME, jwt.getSubject());
+        assertEquals(List.of("USER"), jwt.getClaimAsStringList("roles"));
+        assertEquals(result.expiresAt().getEpochSecond(), jwt.getExpiresAt().getEpochSecond());
+    }
+
+    @Test
+    void generateToken_shouldNotIncludeRolesInRefreshToken() {
+        // when
+        JwtToken result = jwtService.generateToken(USERNAME, List.of("USER"));
+
+        // then
+        Jwt refreshToken = jwtDecoder.decode(result.refreshToken());
+        assertEquals(USERNAME, refreshToken.getSubject());
+        assertFalse(refreshToken.hasClaim("roles"));
+    }
+
+    @Test
+    void generateToken_shouldIncludeVersionAndRolesInRefreshToken_whenUserDetailsAreVersioned() {
+        // given
+        UserDetails userDetails = new UserCredentials(USERNAME, "hashed", Role.USER, 2);
+
+        // when
+        JwtToken result = jwtService.generateToken(userDetails);
+
+        // then
+        Jwt refreshToken = jwtDecoder.decode(result.refreshToken());
+        assertEquals(2L, refreshToken.getClaims().get(JwtService.TOKEN_VERSION_CLAIM));
+        assertEquals(List.of("USER"), refreshToken.getClaimAsStringList(JwtService.REFRESH_ROLES_CLAIM));
+        assertFalse(refreshToken.hasClaim("roles"));
+    }
+
+    @Test
+    void generateAccessToken_shouldReturnAccessTokenOnly() {
+        // when
+        JwtToken result = jwtService.generateAccessToken(USERNAME, List.of("ROLE_USER"));
+
+        // then
+        Jwt jwt = jwtDecoder.decode(result.token());
+        assertEquals(USERNAME, jwt.getSubject());
+        assertEquals(List.of("ROLE_USER"), jwt.getClaimAsStringList("roles"));
+        assertNull(result.refreshToken());
         assertNotNull(result.expiresAt());
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.example.security.service.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import com.example.security.config.SecurityConfig;
+
+class RoleAuthoritiesConverterTest {
+
+    private final RoleAuthoritiesConverter converter = new RoleAuthoritiesConverter(SecurityConfig.roleHierarchy());
+
+    @Test
+    void convert_shouldMapUserRole() {
+        // when
+        Collection<GrantedAuthority> authorities = converter.convert(jwt(List.of("USER")));
+
+        // then
+        assertEquals(Set.of("ROLE_USER"), names(authorities));
+    }
+
+    @Test
+    void convert_shouldExpandRoleHierarchy_whenAdmin() {
+        // when
+        Collection<GrantedAuthority> authorities = converter.convert(jwt(List.of("ADMIN")));
+
+        // then
+        assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"), names(authorities));
+    }
+
+    @Test
+    void convert_shouldReturnSharedInstance_forSameRoles() {
+        // when
+        Collection<GrantedAuthority> first = converter.convert(jwt(List.of("USER")));
+        Collection<GrantedAuthority> second = converter.convert(jwt(List.of("ROLE_USER")));
+
+        // then
+        assertSame(first, second);
+    }
+
+    @Test
+    void convert_shouldReturnImmutableAuthorities() {
+        // given
+        Collection<GrantedAuthority> authorities = converter.convert(jwt(List.of("USER")));
+
+        // when, then
+        assertThrows(UnsupportedOperationException.class, () -> authorities.clear());
+    }
+
+    @Test
+    void convert_shouldIgnoreUnknownRoles() {
+        // when
+        Collection<GrantedAuthority> authorities = converter.convert(jwt(List.of("USER", "UNKNOWN")));
+
+        // then
+        assertEquals(Set.of("ROLE_USER"), names(authorities));
+    }
+
+    @Test
+    void convert_shouldReturnEmpty_whenRolesClaimIsMissing() {
+        // given
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user@example.com")
+                .build();
+
+        // when
+        Collection<GrantedAuthority> authorities = converter.convert(jwt);
+
+        // then
+        assertTrue(authorities.isEmpty());
+    }
+
+    @Test
+    void convert_shouldSupportSpaceDelimitedString() {
+        // when
+        Collection<GrantedAuthority> authorities = converter.convert(jwt("USER ADMIN"));
+
+        // then
+        assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"), names(authorities));
+    }
+
+    @Test
+    void convert_shouldNotExpandHierarchy_whenHierarchyIsEmpty() {
+        // given
+        RoleAuthoritiesConverter flatConverter = new RoleAuthoritiesConverter(RoleHierarchyImpl.fromHierarchy(""));
+
+        // when
+        Collection<GrantedAuthority> authorities = flatConverter.convert(jwt(List.of("ADMIN")));
+
+        // then
+        assertEquals(Set.of("ROLE_ADMIN"), names(authorities));
+    }
+
+    private static Jwt jwt(Object roles) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user@example.com")
+                .claim(RoleAuthoritiesConverter.ROLES_CLAIM, roles)
+                .build();
+    }
+
+    private static Set<String> names(Collection<GrantedAuthority> authorities) {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+}
\ No newline at end of file
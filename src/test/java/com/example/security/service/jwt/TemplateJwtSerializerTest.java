@@ -0,0 +1,159 @@
+package com.example.security.service.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import com.example.security.service.jfr.AuthEvent;
+import com.example.security.service.jfr.TokenSignEvent;
+import com.example.security.util.JfrRecorder;
+import com.example.security.util.KeyGeneratorUtil;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+
+import jdk.jfr.consumer.RecordedEvent;
+
+class TemplateJwtSerializerTest {
+
+    private static final Instant NOW = Instant.now();
+
+    private TemplateJwtSerializer serializer;
+    private JwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SecretKey secretKey = KeyGeneratorUtil.generateHmacKey();
+        serializer = new TemplateJwtSerializer(SigningAlgorithm.HS256, secretKey);
+        decoder = JwsJwtDecoders.withVerificationKeys(Map.of(SigningAlgorithm.HS256, secretKey));
+    }
+
+    @Test
+    void serialize_shouldProduceTokenDecodableByJwtDecoder() {
+        // when
+        String token = serializer.serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(3600),
+                List.of("USER", "ADMIN"));
+
+        // then
+        Jwt jwt = decoder.decode(token);
+        assertEquals("user@example.com", jwt.getSubject());
+        assertEquals(NOW.getEpochSecond(), jwt.getIssuedAt().getEpochSecond());
+        assertEquals(NOW.plusSeconds(3600).getEpochSecond(), jwt.getExpiresAt().getEpochSecond());
+        assertEquals(List.of("USER", "ADMIN"), jwt.getClaimAsStringList("roles"));
+        assertEquals("token-id", jwt.getId());
+        assertEquals("HS256", jwt.getHeaders().get("alg"));
+    }
+
+    @Test
+    void serialize_shouldWritePayloadDirectly() {
+        // given
+        Instant issuedAt = Instant.parse("2025-05-10T00:00:00.123Z");
+
+        // when
+        String token = serializer.serialize("user@example.com", "token-id", issuedAt, issuedAt.plusSeconds(60),
+                List.of("USER"));
+
+        // then
+        String[] parts = token.split("\\.");
+        assertEquals("{\"alg\":\"HS256\"}", decodePart(parts[0]));
+        assertEquals("{\"sub\":\"user@example.com\",\"jti\":\"token-id\","
+                + "\"iat\":1746835200,\"exp\":1746835260,\"roles\":[\"USER\"]}", decodePart(parts[1]));
+    }
+
+    @Test
+    void serializeRefreshToken_shouldWriteVersionAndRefreshRoles() {
+        // given
+        Instant issuedAt = Instant.parse("2025-05-10T00:00:00Z");
+
+        // when
+        String token = serializer.serializeRefreshToken("user@example.com", "token-id", issuedAt,
+                issuedAt.plusSeconds(60), List.of("ADMIN"), 7);
+
+        // then
+        assertEquals("{\"sub\":\"user@example.com\",\"jti\":\"token-id\",\"iat\":1746835200,\"exp\":1746835260,"
+                + "\"ver\":7,\"refresh_roles\":[\"ADMIN\"]}", decodePart(token.split("\\.")[1]));
+    }
+
+    @Test
+    void serialize_shouldKeepRolesAsGiven_whenTheyAreNotRoleNames() {
+        // when
+        String token = serializer.serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60),
+                List.of("ROLE_USER", "ADMIN", "USER"));
+
+        // then
+        assertEquals(List.of("ROLE_USER", "ADMIN", "USER"), decoder.decode(token).getClaimAsStringList("roles"));
+    }
+
+    @Test
+    void serialize_shouldOmitRolesClaim_whenRolesAreNull() {
+        // when
+        String token = serializer.serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60), null);
+
+        // then
+        assertFalse(decoder.decode(token).hasClaim("roles"));
+    }
+
+    @Test
+    void serialize_shouldEscapeSubject() {
+        // given
+        String subject = "\"quoted\\user\"\n\u0001ユーザー";
+
+        // when
+        String token = serializer.serialize(subject, "token-id", NOW, NOW.plusSeconds(60), List.of());
+
+        // then
+        Jwt jwt = decoder.decode(token);
+        assertEquals(subject, jwt.getSubject());
+        assertEquals(List.of(), jwt.getClaimAsStringList("roles"));
+    }
+
+    @Test
+    void serialize_shouldRecordSignEvents() throws Exception {
+        // when
+        List<RecordedEvent> events = JfrRecorder.record(TokenSignEvent.class, () -> {
+            serializer.serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60), List.of("USER"));
+            serializer.serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60), List.of("user"));
+        });
+
+        // then
+        assertEquals(2, events.size());
+        assertEquals(AuthEvent.SUCCESS, events.get(0).getString("outcome"));
+        assertEquals("HS256", events.get(0).getString("algorithm"));
+        assertTrue(events.get(0).getBoolean("cacheHit"));
+        assertFalse(events.get(1).getBoolean("cacheHit"));
+    }
+
+    @Test
+    void serialize_shouldThrowJwtEncodingException_whenSigningFails() throws Exception {
+        // given
+        JWSSigner signer = mock(JWSSigner.class);
+        when(signer.sign(any(JWSHeader.class), any(byte[].class))).thenThrow(new JOSEException("failure"));
+        TemplateJwtSerializer failing = new TemplateJwtSerializer(SigningAlgorithm.HS256, signer);
+
+        // when, then
+        assertThrows(JwtEncodingException.class,
+                () -> failing.serialize("user@example.com", "token-id", NOW, NOW.plusSeconds(60), null));
+    }
+
+    private static String decodePart(String part) {
+        return new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
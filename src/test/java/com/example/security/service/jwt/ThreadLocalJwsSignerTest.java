@@ -0,0 +1,140 @@
+package com.example.security.service.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.security.util.KeyGeneratorUtil;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.util.Base64URL;
+
+class ThreadLocalJwsSignerTest {
+
+    private static final byte[] SIGNING_INPUT = "header.payload".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void sign_shouldProduceRs256SignatureVerifiableByNimbus() throws Exception {
+        // given
+        KeyPair keyPair = KeyGeneratorUtil.generateRsaKey();
+        ThreadLocalJwsSigner signer = new ThreadLocalJwsSigner(SigningAlgorithm.RS256, keyPair.getPrivate());
+        JWSHeader header = new JWSHeader(JWSAlgorithm.RS256);
+
+        // when
+        Base64URL first = signer.sign(header, SIGNING_INPUT);
+        Base64URL second = signer.sign(header, SIGNING_INPUT);
+
+        // then
+        RSASSAVerifier verifier = new RSASSAVerifier((RSAPublicKey) keyPair.getPublic());
+        assertTrue(verifier.verify(header, SIGNING_INPUT, first));
+        assertTrue(verifier.verify(header, SIGNING_INPUT, second));
+    }
+
+    @Test
+    void sign_shouldProduceEs256SignatureInJwsFormat() throws Exception {
+        // given
+        KeyPair keyPair = KeyGeneratorUtil.generateEcKey();
+        ThreadLocalJwsSigner signer = new ThreadLocalJwsSigner(SigningAlgorithm.ES256, keyPair.getPrivate());
+        JWSHeader header = new JWSHeader(JWSAlgorithm.ES256);
+
+        // when
+        Base64URL signature = signer.sign(header, SIGNING_INPUT);
+
+        // then
+        assertEquals(64, signature.decode().length);
+        assertTrue(new ECDSAVerifier((ECPublicKey) keyPair.getPublic()).verify(header, SIGNING_INPUT, signature));
+    }
+
+    @Test
+    void sign_shouldProduceEdDsaSignature() throws Exception {
+        // given
+        KeyPair keyPair = KeyGeneratorUtil.generateEd25519Key();
+        ThreadLocalJwsSigner signer = new ThreadLocalJwsSigner(SigningAlgorithm.EDDSA, keyPair.getPrivate());
+        JWSHeader header = new JWSHeader(JWSAlgorithm.EdDSA);
+
+        // when
+        Base64URL signature = signer.sign(header, SIGNING_INPUT);
+
+        // then
+        assertTrue(new JcaEd25519Verifier(keyPair.getPublic()).verify(header, SIGNING_INPUT, signature));
+    }
+
+    @Test
+    void sign_shouldProduceHs256Mac() throws Exception {
+        // given
+        SecretKey secretKey = KeyGeneratorUtil.generateHmacKey();
+        ThreadLocalJwsSigner signer = new ThreadLocalJwsSigner(SigningAlgorithm.HS256, secretKey);
+        JWSHeader header = new JWSHeader(JWSAlgorithm.HS256);
+
+        // when
+        Base64URL first = signer.sign(header, SIGNING_INPUT);
+        Base64URL second = signer.sign(header, SIGNING_INPUT);
+
+        // then
+        assertEquals(first, second);
+        assertTrue(new MACVerifier(secretKey).verify(header, SIGNING_INPUT, first));
+    }
+
+    @Test
+    void sign_shouldProduceValidSignatures_whenUsedConcurrently() throws Exception {
+        // given
+        KeyPair keyPair = KeyGeneratorUtil.generateEcKey();
+        ThreadLocalJwsSigner signer = new ThreadLocalJwsSigner(SigningAlgorithm.ES256, keyPair.getPrivate());
+        JWSHeader header = new JWSHeader(JWSAlgorithm.ES256);
+        ECDSAVerifier verifier = new ECDSAVerifier((ECPublicKey) keyPair.getPublic());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // when
+            List<Future<Base64URL>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.submit(() -> signer.sign(header, SIGNING_INPUT)));
+            }
+
+            // then
+            for (Future<Base64URL> future : futures) {
+                assertTrue(verifier.verify(header, SIGNING_INPUT, future.get()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void sign_shouldRejectHeader_whenAlgorithmDiffers() throws Exception {
+        // given
+        ThreadLocalJwsSigner signer = new ThreadLocalJwsSigner(SigningAlgorithm.HS256,
+                KeyGeneratorUtil.generateHmacKey());
+
+        // when, then
+        assertThrows(JOSEException.class, () -> signer.sign(new JWSHeader(JWSAlgorithm.HS512), SIGNING_INPUT));
+    }
+
+    @Test
+    void constructor_shouldRejectKey_whenItDoesNotMatchAlgorithm() throws Exception {
+        // given
+        KeyPair keyPair = KeyGeneratorUtil.generateEcKey();
+
+        // when, then
+        assertThrows(IllegalArgumentException.class,
+                () -> new ThreadLocalJwsSigner(SigningAlgorithm.RS256, keyPair.getPrivate()));
+    }
+}
\ No newline at end of file
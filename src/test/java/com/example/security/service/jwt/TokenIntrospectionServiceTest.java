@@ -0,0 +1,91 @@
+package com.example.security.service.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.security.config.JwtConfig;
+import com.example.security.service.jwt.TokenIntrospectionService.Introspection;
+import com.example.security.util.KeyGeneratorUtil;
+
+class TokenIntrospectionServiceTest {
+
+    private static final Instant EXPIRES_AT = Instant.now().plusSeconds(3_600).truncatedTo(ChronoUnit.SECONDS);
+
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    private TemplateJwtSerializer serializer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.getBatch().setParallelism(4);
+
+        SecretKey secretKey = KeyGeneratorUtil.generateHmacKey();
+        serializer = new TemplateJwtSerializer(SigningAlgorithm.HS256, secretKey);
+        tokenIntrospectionService = new TokenIntrospectionService(
+                JwsJwtDecoders.withVerificationKeys(Map.of(SigningAlgorithm.HS256, secretKey)), jwtConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenIntrospectionService.close();
+    }
+
+    @Test
+    void introspect_shouldReturnClaims_whenTokenIsValid() {
+        // given
+        String token = token("user@example.com", List.of("USER"));
+
+        // when
+        Introspection result = tokenIntrospectionService.introspect(token);
+
+        // then
+        assertEquals(new Introspection(true, EXPIRES_AT.getEpochSecond(), "user@example.com", List.of("USER")),
+                result);
+    }
+
+    @Test
+    void introspect_shouldReturnInactive_whenTokenIsInvalid() {
+        // when, then
+        assertSame(Introspection.INACTIVE, tokenIntrospectionService.introspect("invalid.token.value"));
+        assertSame(Introspection.INACTIVE, tokenIntrospectionService.introspect(""));
+    }
+
+    @Test
+    void introspect_shouldReturnResultsInRequestOrder_acrossChunks() {
+        // given
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < TokenIntrospectionService.CHUNK_SIZE * 3 + 1; i++) {
+            tokens.add(i % 5 == 0 ? "invalid-" + i : token("worker-" + i, List.of("USER")));
+        }
+
+        // when
+        List<Introspection> results = tokenIntrospectionService.introspect(tokens);
+
+        // then
+        assertEquals(tokens.size(), results.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i % 5 == 0) {
+                assertSame(Introspection.INACTIVE, results.get(i));
+            } else {
+                assertEquals("worker-" + i, results.get(i).sub());
+            }
+        }
+    }
+
+    private String token(String subject, List<String> roles) {
+        return serializer.serialize(subject, "token-id", Instant.now(), EXPIRES_AT, roles);
+    }
+}
\ No newline at end of file
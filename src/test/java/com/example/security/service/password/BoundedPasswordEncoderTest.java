@@ -0,0 +1,158 @@
+package com.example.security.service.password;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.security.service.timing.ServerTiming;
+import com.example.security.service.timing.StageTimer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(2);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, RETRY_AFTER, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void encode_shouldDelegateOnPoolThread() {
+        // given
+        when(delegate.encode("password")).thenAnswer(invocation -> Thread.currentThread().getName());
+
+        // when
+        String result = encoder.encode("password");
+
+        // then
+        assertTrue(result.startsWith("password-encoder-"));
+    }
+
+    @Test
+    void matches_shouldRecordVerificationTime_onCallingThread() {
+        // given
+        when(delegate.matches("password", "hash")).thenReturn(true);
+        ServerTiming timing = ServerTiming.begin();
+
+        // when
+        try {
+            encoder.matches("password", "hash");
+        } finally {
+            ServerTiming.end();
+        }
+
+        // then
+        assertEquals(1, registry.get(StageTimer.METRIC_NAME).tag("stage", "password-verify").timer().count());
+        assertTrue(timing.toHeaderValue().startsWith("password-verify;dur="));
+    }
+
+    @Test
+    void matches_shouldReturnDelegateResult() {
+        // given
+        when(delegate.matches("password", "hash")).thenReturn(true);
+
+        // when, then
+        assertTrue(encoder.matches("password", "hash"));
+        assertFalse(encoder.matches("wrong", "hash"));
+    }
+
+    @Test
+    void upgradeEncoding_shouldDelegate() {
+        // given
+        when(delegate.upgradeEncoding("hash")).thenReturn(true);
+
+        // when, then
+        assertTrue(encoder.upgradeEncoding("hash"));
+    }
+
+    @Test
+    void matches_shouldPropagateDelegateException() {
+        // given
+        when(delegate.matches(any(), anyString())).thenThrow(new IllegalArgumentException("Invalid hash"));
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> encoder.matches("password", "hash"));
+    }
+
+    @Test
+    void encode_shouldRecordHashingTime_whenDelegateFails() {
+        // given
+        when(delegate.encode("password")).thenThrow(new IllegalStateException("failed"));
+        ServerTiming timing = ServerTiming.begin();
+
+        // when
+        try {
+            assertThrows(IllegalStateException.class, () -> encoder.encode("password"));
+        } finally {
+            ServerTiming.end();
+        }
+
+        // then
+        assertEquals(1, registry.get(StageTimer.METRIC_NAME).tag("stage", "password-hash").timer().count());
+        assertTrue(timing.toHeaderValue().startsWith("password-hash;dur="));
+    }
+
+    @Test
+    void matches_shouldRejectImmediately_whenQueueIsFull() throws Exception {
+        // given
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.matches(any(), anyString())).thenAnswer(invocation -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+
+        // 1件目は実行中、2件目は待ち行列で待機
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> encoder.matches("password", "hash"));
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> encoder.matches("password", "hash"));
+        while (registry.get("password.encoder.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        PasswordEncoderBusyException exception = assertThrows(PasswordEncoderBusyException.class,
+                () -> encoder.matches("password", "hash"));
+
+        // then
+        assertEquals(RETRY_AFTER, exception.getRetryAfter());
+        assertEquals(1.0, registry.get("password.encoder.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, registry.get("password.encoder.queue.wait").timer().count());
+    }
+}
\ No newline at end of file
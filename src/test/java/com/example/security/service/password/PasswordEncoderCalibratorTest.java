@@ -0,0 +1,88 @@
+package com.example.security.service.password;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+class PasswordEncoderCalibratorTest {
+
+    private final PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator(Duration.ZERO);
+
+    @Test
+    void logarithmicWorkFactor_shouldAddOneStepPerDoubling() {
+        // when, then
+        assertEquals(10, PasswordEncoderCalibrator.logarithmicWorkFactor(
+                Duration.ofMillis(60), 10, Duration.ofMillis(100), 31));
+        assertEquals(11, PasswordEncoderCalibrator.logarithmicWorkFactor(
+                Duration.ofMillis(50), 10, Duration.ofMillis(100), 31));
+        assertEquals(13, PasswordEncoderCalibrator.logarithmicWorkFactor(
+                Duration.ofMillis(30), 10, Duration.ofMillis(250), 31));
+    }
+
+    @Test
+    void logarithmicWorkFactor_shouldStayWithinBounds() {
+        // when, then
+        assertEquals(10, PasswordEncoderCalibrator.logarithmicWorkFactor(
+                Duration.ofMillis(500), 10, Duration.ofMillis(100), 31));
+        assertEquals(31, PasswordEncoderCalibrator.logarithmicWorkFactor(
+                Duration.ofNanos(1), 10, Duration.ofSeconds(10), 31));
+    }
+
+    @Test
+    void linearWorkFactor_shouldScaleProportionally() {
+        // when, then
+        assertEquals(5, PasswordEncoderCalibrator.linearWorkFactor(
+                Duration.ofMillis(40), 2, Duration.ofMillis(100)));
+        assertEquals(2, PasswordEncoderCalibrator.linearWorkFactor(
+                Duration.ofMillis(400), 2, Duration.ofMillis(100)));
+    }
+
+    @Test
+    void calibrate_shouldPrefixHashesWithAlgorithmId() {
+        // given
+        PasswordEncoder encoder = calibrator.calibrate(PasswordHashAlgorithm.BCRYPT);
+
+        // when
+        String hash = encoder.encode("password");
+
+        // then
+        assertTrue(hash.startsWith("{bcrypt}$2a$10$"));
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void calibrate_shouldMatchAndUpgradeLegacyHashWithoutId() {
+        // given
+        PasswordEncoder encoder = calibrator.calibrate(PasswordHashAlgorithm.BCRYPT);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password");
+
+        // when, then
+        assertTrue(encoder.matches("password", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void calibrate_shouldUpgradeHashesOfOtherAlgorithms() {
+        // given
+        PasswordEncoder encoder = calibrator.calibrate(PasswordHashAlgorithm.ARGON2);
+        String pbkdf2Hash = "{pbkdf2}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("password");
+
+        // when
+        String hash = encoder.encode("password");
+
+        // then
+        assertTrue(hash.startsWith("{argon2}$argon2id$"));
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+        assertTrue(encoder.matches("password", pbkdf2Hash));
+        assertTrue(encoder.upgradeEncoding(pbkdf2Hash));
+    }
+}
\ No newline at end of file
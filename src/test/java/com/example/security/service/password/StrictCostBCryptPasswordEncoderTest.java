@@ -0,0 +1,63 @@
+package com.example.security.service.password;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class StrictCostBCryptPasswordEncoderTest {
+
+    private final StrictCostBCryptPasswordEncoder encoder = new StrictCostBCryptPasswordEncoder(5, 1);
+
+    @Test
+    void upgradeEncoding_shouldReturnFalse_whenCostMatches() {
+        // given
+        String hash = encoder.encode("password");
+
+        // when, then
+        assertFalse(encoder.upgradeEncoding(hash));
+        assertTrue(encoder.matches("password", hash));
+    }
+
+    @Test
+    void upgradeEncoding_shouldReturnTrue_whenCostIsLower() {
+        // given
+        String hash = new BCryptPasswordEncoder(4).encode("password");
+
+        // when, then
+        assertTrue(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void upgradeEncoding_shouldReturnFalse_whenCostIsHigherWithinTolerance() {
+        // given
+        String hash = new BCryptPasswordEncoder(6).encode("password");
+
+        // when, then
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void upgradeEncoding_shouldReturnTrue_whenCostExceedsTolerance() {
+        // given
+        String hash = new BCryptPasswordEncoder(7).encode("password");
+
+        // when, then
+        assertTrue(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void upgradeEncoding_shouldReturnFalse_whenHashIsEmpty() {
+        // when, then
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding(""));
+    }
+
+    @Test
+    void upgradeEncoding_shouldThrowException_whenHashIsNotBCrypt() {
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> encoder.upgradeEncoding("not-a-bcrypt-hash"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.example.security.service.revocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RevocationLogTest {
+
+    private static final Instant NOW = Instant.parse("2025-05-10T00:00:00Z");
+
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_shouldRestoreAppendedEntries_afterReopen() throws IOException {
+        // given
+        Path path = directory.resolve("revocations.log");
+        try (RevocationLog log = RevocationLog.open(path, 16, CLOCK)) {
+            log.append("token-1", NOW.plusSeconds(3600));
+            log.append("トークン-2", NOW.plusSeconds(7200));
+        }
+
+        // when
+        Map<String, Instant> replayed = new LinkedHashMap<>();
+        try (RevocationLog log = RevocationLog.open(path, 16, CLOCK)) {
+            log.replay(replayed::put);
+        }
+
+        // then
+        assertEquals(Map.of("token-1", NOW.plusSeconds(3600), "トークン-2", NOW.plusSeconds(7200)), replayed);
+    }
+
+    @Test
+    void replay_shouldSkipExpiredEntries() throws IOException {
+        // given
+        try (RevocationLog log = RevocationLog.open(directory.resolve("revocations.log"), 16, CLOCK)) {
+            log.append("expired", NOW);
+            log.append("active", NOW.plusSeconds(60));
+
+            // when
+            Map<String, Instant> replayed = new LinkedHashMap<>();
+            log.replay(replayed::put);
+
+            // then
+            assertEquals(Map.of("active", NOW.plusSeconds(60)), replayed);
+        }
+    }
+
+    @Test
+    void append_shouldReturnFalse_whenFullOrIdTooLong() throws IOException {
+        try (RevocationLog log = RevocationLog.open(directory.resolve("revocations.log"), 1, CLOCK)) {
+            // when / then
+            assertFalse(log.append("x".repeat(RevocationLog.MAX_ID_BYTES + 1), NOW.plusSeconds(60)));
+            assertTrue(log.append("token-1", NOW.plusSeconds(60)));
+            assertFalse(log.append("token-2", NOW.plusSeconds(60)));
+            assertEquals(1, log.size());
+        }
+    }
+
+    @Test
+    void poll_shouldReturnOnlyEntriesAppendedByOtherInstances() throws IOException {
+        // given
+        Path path = directory.resolve("revocations.log");
+        try (RevocationLog first = RevocationLog.open(path, 16, CLOCK);
+                RevocationLog second = RevocationLog.open(path, 16, CLOCK)) {
+            first.replay((id, exp) -> { });
+            first.append("own", NOW.plusSeconds(60));
+            second.append("other", NOW.plusSeconds(60));
+
+            // when
+            Map<String, Instant> polled = new LinkedHashMap<>();
+            first.poll(polled::put);
+            first.poll(polled::put);
+
+            // then
+            assertEquals(Map.of("other", NOW.plusSeconds(60)), polled);
+        }
+    }
+
+    @Test
+    void compact_shouldRemoveExpiredEntries_andOtherInstancesShouldReplayFromStart() throws IOException {
+        // given
+        Path path = directory.resolve("revocations.log");
+        Clock later = Clock.fixed(NOW.plusSeconds(120), ZoneOffset.UTC);
+        try (RevocationLog writer = RevocationLog.open(path, 16, later);
+                RevocationLog reader = RevocationLog.open(path, 16, later)) {
+            writer.append("expired-1", NOW.plusSeconds(60));
+            writer.append("active-1", NOW.plusSeconds(3600));
+            writer.append("expired-2", NOW.plusSeconds(60));
+            writer.append("active-2", NOW.plusSeconds(3600));
+            reader.replay((id, exp) -> { });
+
+            // when
+            int removed = writer.compact();
+            writer.append("active-3", NOW.plusSeconds(3600));
+
+            // then
+            assertEquals(2, removed);
+            assertEquals(3, writer.size());
+            Map<String, Instant> polled = new LinkedHashMap<>();
+            reader.poll(polled::put);
+            assertEquals(List.of("active-1", "active-2", "active-3"), List.copyOf(polled.keySet()));
+        }
+    }
+
+    @Test
+    void open_shouldKeepCapacityOfExistingFile() throws IOException {
+        // given
+        Path path = directory.resolve("revocations.log");
+        RevocationLog.open(path, 8, CLOCK).close();
+
+        // when
+        try (RevocationLog log = RevocationLog.open(path, 1_000, CLOCK)) {
+            // then
+            assertEquals(8, log.capacity());
+        }
+    }
+
+    @Test
+    void open_shouldThrowException_whenFileIsNotARevocationLog() throws IOException {
+        // given
+        Path path = directory.resolve("revocations.log");
+        Files.writeString(path, "not a revocation log".repeat(10));
+
+        // when / then
+        assertThrows(IOException.class, () -> RevocationLog.open(path, 16, CLOCK));
+    }
+}
\ No newline at end of file
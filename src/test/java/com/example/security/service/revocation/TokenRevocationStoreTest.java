@@ -0,0 +1,202 @@
+package com.example.security.service.revocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenRevocationStoreTest {
+
+    private static final Instant NOW = Instant.parse("2025-05-10T00:00:00Z");
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private TokenRevocationStore store;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        store = newStore(1_000);
+    }
+
+    @Test
+    void isRevoked_shouldReturnTrue_afterRevoke() {
+        // when
+        store.revoke("token-1", NOW.plusSeconds(3600));
+
+        // then
+        assertTrue(store.isRevoked("token-1"));
+        assertFalse(store.isRevoked("token-2"));
+    }
+
+    @Test
+    void isRevoked_shouldReturnFalse_afterTokenExpires() {
+        // given
+        store.revoke("token-1", NOW.plusSeconds(60));
+
+        // when
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        // then
+        assertFalse(store.isRevoked("token-1"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void revoke_shouldIgnoreToken_whenAlreadyExpired() {
+        // when
+        store.revoke("token-1", NOW);
+
+        // then
+        assertFalse(store.isRevoked("token-1"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void revoke_shouldKeepRevokedTokens_whenFilterIsRebuilt() {
+        // given
+        TokenRevocationStore small = newStore(10);
+        for (int i = 0; i < 10; i++) {
+            small.revoke("expiring-" + i, NOW.plusSeconds(60));
+        }
+        small.revoke("long-lived", NOW.plusSeconds(3600));
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            small.revoke("new-" + i, NOW.plusSeconds(3600));
+        }
+
+        // then
+        assertTrue(small.isRevoked("long-lived"));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(small.isRevoked("new-" + i));
+            assertFalse(small.isRevoked("expiring-" + i));
+        }
+    }
+
+    @Test
+    void bindTo_shouldReportFilteredAndExactLookups() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        store.bindTo(registry);
+        store.revoke("token-1", NOW.plusSeconds(3600));
+
+        // when
+        store.isRevoked("token-1");
+        store.isRevoked("token-2");
+        store.isRevoked("token-3");
+
+        // then
+        assertEquals(1.0, registry.get(TokenRevocationStore.METRIC_PREFIX + ".size").gauge().value());
+        assertEquals(1.0, registry.get(TokenRevocationStore.METRIC_PREFIX + ".lookups")
+                .tag("result", "exact").functionCounter().count());
+        assertEquals(2.0, registry.get(TokenRevocationStore.METRIC_PREFIX + ".lookups")
+                .tag("result", "filtered").functionCounter().count());
+    }
+
+    @Test
+    void constructor_shouldRestoreRevokedTokens_fromLog() throws IOException {
+        // given
+        Path path = directory.resolve("revocations.log");
+        try (TokenRevocationStore previous = newStore(10, RevocationLog.open(path, 64, clock()))) {
+            for (int i = 0; i < 20; i++) {
+                previous.revoke("token-" + i, NOW.plusSeconds(3600));
+            }
+        }
+
+        // when
+        try (TokenRevocationStore restored = newStore(10, RevocationLog.open(path, 64, clock()))) {
+            // then
+            assertEquals(20, restored.size());
+            for (int i = 0; i < 20; i++) {
+                assertTrue(restored.isRevoked("token-" + i));
+            }
+            assertFalse(restored.isRevoked("token-20"));
+        }
+    }
+
+    @Test
+    void synchronize_shouldPickUpTokensRevokedByOtherStoresSharingTheLog() throws IOException {
+        // given
+        Path path = directory.resolve("revocations.log");
+        try (TokenRevocationStore first = newStore(10, RevocationLog.open(path, 64, clock()));
+                TokenRevocationStore second = newStore(10, RevocationLog.open(path, 64, clock()))) {
+            second.revoke("token-1", NOW.plusSeconds(3600));
+            assertFalse(first.isRevoked("token-1"));
+
+            // when
+            first.synchronize();
+
+            // then
+            assertTrue(first.isRevoked("token-1"));
+        }
+    }
+
+    @Test
+    void synchronize_shouldCompactLog_whenMostRecordsHaveExpired() throws IOException {
+        // given
+        Path path = directory.resolve("revocations.log");
+        int expiring = (int) TokenRevocationStore.MIN_COMPACTION_RECORDS;
+        try (RevocationLog log = RevocationLog.open(path, expiring + 1, clock());
+                TokenRevocationStore logged = newStore(10, log)) {
+            for (int i = 0; i < expiring; i++) {
+                logged.revoke("expiring-" + i, NOW.plusSeconds(60));
+            }
+            logged.revoke("long-lived", NOW.plusSeconds(3600));
+            nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+
+            // when
+            logged.synchronize();
+
+            // then
+            assertEquals(1, log.size());
+            logged.revoke("new", NOW.plusSeconds(3600));
+            assertEquals(2, log.size());
+            assertTrue(logged.isRevoked("long-lived"));
+        }
+    }
+
+    private TokenRevocationStore newStore(long expectedInsertions) {
+        return new TokenRevocationStore(expectedInsertions, 0.01, clock());
+    }
+
+    private TokenRevocationStore newStore(long expectedInsertions, RevocationLog log) {
+        return new TokenRevocationStore(expectedInsertions, 0.01, log, Duration.ZERO, clock());
+    }
+
+    private Clock clock() {
+        return new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return NOW.plusNanos(nanos.get());
+            }
+        };
+    }
+}
\ No newline at end of file
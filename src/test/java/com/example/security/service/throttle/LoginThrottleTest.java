@@ -0,0 +1,91 @@
+package com.example.security.service.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.security.config.AuthConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginThrottleTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final String ADDRESS = "192.0.2.1";
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private SimpleMeterRegistry registry;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        throttle = new LoginThrottle(
+                new RateLimiter(3, Duration.ofSeconds(1), 100, nanos::get),
+                new RateLimiter(2, Duration.ofSeconds(30), 100, nanos::get));
+        throttle.bindTo(registry);
+    }
+
+    @Test
+    void check_shouldRejectAccount_fromAnyAddress_whenAccountLimitIsExceeded() {
+        // given
+        throttle.check(EMAIL, "192.0.2.1");
+        throttle.check(EMAIL, "192.0.2.2");
+
+        // when
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class,
+                () -> throttle.check(EMAIL, "192.0.2.3"));
+
+        // then
+        assertEquals(Duration.ofSeconds(30), exception.getRetryAfter());
+        assertEquals(1.0, registry.get(LoginThrottle.METRIC_NAME).tag("key", "account").counter().count());
+    }
+
+    @Test
+    void check_shouldNormalizeEmail() {
+        // given
+        throttle.check(EMAIL, "192.0.2.1");
+        throttle.check(" User@Example.COM ", "192.0.2.2");
+
+        // when, then
+        assertThrows(LoginThrottledException.class, () -> throttle.check(EMAIL, "192.0.2.3"));
+    }
+
+    @Test
+    void check_shouldRejectAddress_withoutConsumingAccount() {
+        // given
+        throttle.check("a@example.com", ADDRESS);
+        throttle.check("b@example.com", ADDRESS);
+        throttle.check("c@example.com", ADDRESS);
+
+        // when
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class,
+                () -> throttle.check(EMAIL, ADDRESS));
+
+        // then
+        assertEquals(Duration.ofSeconds(1), exception.getRetryAfter());
+        assertEquals(1.0, registry.get(LoginThrottle.METRIC_NAME).tag("key", "address").counter().count());
+        assertDoesNotThrow(() -> throttle.check(EMAIL, "192.0.2.2"));
+        assertDoesNotThrow(() -> throttle.check(EMAIL, "192.0.2.3"));
+    }
+
+    @Test
+    void check_shouldAllowEverything_whenDisabled() {
+        // given
+        AuthConfig.LoginThrottle config = new AuthConfig.LoginThrottle();
+        config.setEnabled(false);
+        LoginThrottle disabled = new LoginThrottle(config);
+
+        // when, then
+        for (int i = 0; i < 1_000; i++) {
+            disabled.check(EMAIL, ADDRESS);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.example.security.service.throttle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private static final Duration REFILL_INTERVAL = Duration.ofSeconds(10);
+
+    private final AtomicLong nanos = new AtomicLong(-1_000_000_000L);
+
+    private RateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new RateLimiter(3, REFILL_INTERVAL, 100, nanos::get);
+    }
+
+    @Test
+    void tryAcquire_shouldAllowUpToCapacity_thenReturnWaitUntilRefill() {
+        // when, then
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertEquals(REFILL_INTERVAL.toNanos(), limiter.tryAcquire("key"));
+    }
+
+    @Test
+    void tryAcquire_shouldRefillOneTokenPerInterval() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("key");
+        }
+
+        // when
+        nanos.addAndGet(REFILL_INTERVAL.toNanos() - 1);
+        long beforeRefill = limiter.tryAcquire("key");
+        nanos.addAndGet(1);
+        long afterRefill = limiter.tryAcquire("key");
+
+        // then
+        assertEquals(1, beforeRefill);
+        assertEquals(0, afterRefill);
+        assertEquals(REFILL_INTERVAL.toNanos(), limiter.tryAcquire("key"));
+    }
+
+    @Test
+    void tryAcquire_shouldNotRefillBeyondCapacity_afterLongIdle() {
+        // given
+        limiter.tryAcquire("key");
+        nanos.addAndGet(REFILL_INTERVAL.toNanos() * 100);
+
+        // when
+        int allowed = 0;
+        while (limiter.tryAcquire("key") == 0) {
+            allowed++;
+        }
+
+        // then
+        assertEquals(3, allowed);
+    }
+
+    @Test
+    void tryAcquire_shouldKeepSeparateBucketsPerKey() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        // when, then
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void tryAcquire_shouldEvictBuckets_afterIdleUntilFull() {
+        // given
+        limiter.tryAcquire("key");
+
+        // when
+        nanos.addAndGet(REFILL_INTERVAL.toNanos() * 3 + 1);
+        limiter.tryAcquire("other");
+
+        // then
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_shouldAllowExactlyCapacity_whenCalledConcurrently() throws Exception {
+        // given
+        RateLimiter concurrentLimiter = new RateLimiter(100, REFILL_INTERVAL, 100, nanos::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        // when
+        try {
+            for (int i = 0; i < 8; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int j = 0; j < 1_000; j++) {
+                        if (concurrentLimiter.tryAcquire("key") == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        // then
+        assertEquals(100, allowed.get());
+    }
+
+    @Test
+    void constructor_shouldRejectNonPositiveSettings() {
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, REFILL_INTERVAL, 100));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, Duration.ZERO, 100));
+    }
+}
\ No newline at end of file
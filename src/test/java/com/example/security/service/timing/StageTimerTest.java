@@ -0,0 +1,72 @@
+package com.example.security.service.timing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StageTimerTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.end();
+    }
+
+    @Test
+    void record_shouldUpdateTimerAndSumServerTimingPerStage() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StageTimer signing = new StageTimer("token-sign");
+        StageTimer lookup = new StageTimer("user-lookup");
+        signing.bindTo(registry);
+        ServerTiming timing = ServerTiming.begin();
+
+        // when
+        lookup.record(TimeUnit.MICROSECONDS.toNanos(1_500));
+        signing.record(TimeUnit.MICROSECONDS.toNanos(250));
+        signing.record(TimeUnit.MICROSECONDS.toNanos(250));
+
+        // then
+        Timer timer = registry.get(StageTimer.METRIC_NAME).tag("stage", "token-sign").timer();
+        assertEquals(2, timer.count());
+        assertEquals(0.5, timer.totalTime(TimeUnit.MILLISECONDS), 1e-9);
+        assertTrue(timing.toHeaderValue().startsWith("user-lookup;dur=1.500, token-sign;dur=0.500, total;dur="));
+    }
+
+    @Test
+    void time_shouldRecord_whenSupplierThrows() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StageTimer lookup = new StageTimer("user-lookup");
+        lookup.bindTo(registry);
+
+        // when
+        assertThrows(IllegalStateException.class, () -> lookup.time(() -> {
+            throw new IllegalStateException();
+        }));
+
+        // then
+        assertEquals(1, registry.get(StageTimer.METRIC_NAME).tag("stage", "user-lookup").timer().count());
+    }
+
+    @Test
+    void record_shouldNotAddToServerTiming_afterEnd() {
+        // given
+        StageTimer signing = new StageTimer("token-sign");
+        ServerTiming timing = ServerTiming.begin();
+        ServerTiming.end();
+
+        // when
+        signing.record(1_000);
+
+        // then
+        assertTrue(timing.toHeaderValue().startsWith("total;dur="));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.example.security.service.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.example.security.repository.user.UserChangedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserDetailsServiceTest {
+
+    @Mock
+    private UserDetailsService delegate;
+
+    private static final String USERNAME = "user@example.com";
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final UserDetails userDetails = User.withUsername(USERNAME)
+            .password("password")
+            .authorities("USER")
+            .build();
+
+    private CachingUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CachingUserDetailsService(delegate, TTL, 100, nanos::get);
+    }
+
+    @Test
+    void loadUserByUsername_shouldQueryOnlyOnce_whenCalledRepeatedly() {
+        // given
+        when(delegate.loadUserByUsername(USERNAME)).thenReturn(userDetails);
+
+        // when
+        UserDetails first = service.loadUserByUsername(USERNAME);
+        UserDetails second = service.loadUserByUsername(USERNAME);
+
+        // then
+        assertSame(userDetails, first);
+        assertSame(userDetails, second);
+        verify(delegate, times(1)).loadUserByUsername(USERNAME);
+    }
+
+    @Test
+    void loadUserByUsername_shouldShareEntry_whenUsernameDiffersOnlyInCase() {
+        // given
+        when(delegate.loadUserByUsername(USERNAME)).thenReturn(userDetails);
+        service.loadUserByUsername(USERNAME);
+
+        // when
+        UserDetails loaded = service.loadUserByUsername("User@Example.com");
+        service.invalidate("USER@EXAMPLE.COM");
+
+        // then
+        assertSame(userDetails, loaded);
+        verify(delegate, times(1)).loadUserByUsername(USERNAME);
+        assertFalse(service.isCached(USERNAME));
+    }
+
+    @Test
+    void loadUserByUsername_shouldReload_afterTtl() {
+        // given
+        when(delegate.loadUserByUsername(USERNAME)).thenReturn(userDetails);
+        service.loadUserByUsername(USERNAME);
+
+        // when
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+        service.loadUserByUsername(USERNAME);
+
+        // then
+        verify(delegate, times(2)).loadUserByUsername(USERNAME);
+    }
+
+    @Test
+    void loadUserByUsername_shouldNotCache_whenUserIsNotFound() {
+        // given
+        when(delegate.loadUserByUsername(USERNAME)).thenThrow(new UsernameNotFoundException("User not found"));
+
+        // when, then
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername(USERNAME));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername(USERNAME));
+        verify(delegate, times(2)).loadUserByUsername(USERNAME);
+    }
+
+    @Test
+    void onApplicationEvent_shouldInvalidateChangedUser() {
+        // given
+        when(delegate.loadUserByUsername(USERNAME)).thenReturn(userDetails);
+        service.loadUserByUsername(USERNAME);
+
+        // when
+        service.onApplicationEvent(new UserChangedEvent(this, USERNAME));
+        service.loadUserByUsername(USERNAME);
+
+        // then
+        verify(delegate, times(2)).loadUserByUsername(USERNAME);
+    }
+
+    @Test
+    void loadUserByUsername_shouldCoalesceConcurrentLoads() throws Exception {
+        // given
+        int threads = 8;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        CachingUserDetailsService blockingService = new CachingUserDetailsService(username -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return userDetails;
+        }, TTL, 100);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // when
+            List<Future<UserDetails>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> blockingService.loadUserByUsername(USERNAME)));
+            }
+            loading.await(5, TimeUnit.SECONDS);
+            release.countDown();
+
+            // then
+            for (Future<UserDetails> result : results) {
+                assertSame(userDetails, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void bindTo_shouldReportHitRatio() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service.bindTo(registry);
+        when(delegate.loadUserByUsername(USERNAME)).thenReturn(userDetails);
+
+        // when
+        service.loadUserByUsername(USERNAME);
+        service.loadUserByUsername(USERNAME);
+        service.loadUserByUsername(USERNAME);
+        service.loadUserByUsername(USERNAME);
+
+        // then
+        assertEquals(0.75, registry.get("cache.hit.ratio")
+                .tag("cache", CachingUserDetailsService.CACHE_NAME)
+                .gauge().value());
+    }
+}
\ No newline at end of file
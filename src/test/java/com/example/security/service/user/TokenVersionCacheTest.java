@@ -0,0 +1,87 @@
+package com.example.security.service.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.security.repository.user.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+class TokenVersionCacheTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final Map<String, Integer> versions = new HashMap<>();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final AtomicInteger nanos = new AtomicInteger();
+
+    private TokenVersionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        versions.put(EMAIL, 1);
+        Ticker ticker = () -> nanos.get();
+        cache = new TokenVersionCache(email -> {
+            loads.incrementAndGet();
+            return versions.get(email);
+        }, Duration.ofNanos(100), 10, ticker);
+    }
+
+    @Test
+    void isCurrent_shouldLoadVersionOnce_andNormalizeUsername() {
+        // when
+        boolean current = cache.isCurrent(EMAIL, 1);
+        boolean normalized = cache.isCurrent(" User@Example.com ", 1);
+
+        // then
+        assertTrue(current);
+        assertTrue(normalized);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void isCurrent_shouldReturnFalse_whenVersionDiffersOrUserIsUnknown() {
+        // when, then
+        assertFalse(cache.isCurrent(EMAIL, 0));
+        assertFalse(cache.isCurrent("unknown@example.com", 0));
+        assertFalse(cache.isCurrent(null, 0));
+    }
+
+    @Test
+    void onApplicationEvent_shouldReloadChangedVersion() {
+        // given
+        cache.isCurrent(EMAIL, 1);
+        versions.put(EMAIL, 2);
+
+        // when
+        cache.onApplicationEvent(new UserChangedEvent(this, EMAIL));
+
+        // then
+        assertTrue(cache.isCurrent(EMAIL, 2));
+        assertFalse(cache.isCurrent(EMAIL, 1));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void isCurrent_shouldReloadVersion_afterTtl() {
+        // given
+        cache.isCurrent(EMAIL, 1);
+        versions.put(EMAIL, 2);
+
+        // when
+        nanos.addAndGet(100);
+
+        // then
+        assertTrue(cache.isCurrent(EMAIL, 2));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.example.security.service.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.example.security.config.AuthConfig;
+import com.example.security.model.Role;
+import com.example.security.model.User;
+import com.example.security.repository.user.UserRepository;
+import com.example.security.service.password.PasswordEncoderBusyException;
+import com.example.security.service.user.UserImportService.Format;
+import com.example.security.service.user.UserImportService.ImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SuppressWarnings({ "null", "unchecked" })
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepository repository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        AuthConfig authConfig = new AuthConfig();
+        authConfig.getUserImport().setChunkSize(2);
+        authConfig.getUserImport().setParallelism(2);
+        userImportService = new UserImportService(repository, passwordEncoder,
+                TransactionOperations.withoutTransaction(), new ObjectMapper(), authConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.close();
+    }
+
+    @Test
+    void importUsers_shouldSaveHashedUsersInChunks_fromNdjson() throws Exception {
+        // given
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed-" + invocation.getArgument(0));
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            input.append("{\"firstname\":\"First").append(i).append("\",\"lastname\":\"Last\",")
+                    .append("\"email\":\"User").append(i).append("@Example.com\",\"password\":\"pw").append(i)
+                    .append("\"}\n");
+        }
+
+        // when
+        ImportResult result = userImportService.importUsers(reader(input.toString()), Format.NDJSON);
+
+        // then
+        assertEquals(new ImportResult(5, 0, 0), result);
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(3)).saveAll(captor.capture());
+        List<User> saved = new ArrayList<>();
+        captor.getAllValues().forEach(saved::addAll);
+        saved.sort(Comparator.comparing(User::getEmail));
+        assertEquals(5, saved.size());
+        for (int i = 0; i < 5; i++) {
+            User user = saved.get(i);
+            assertEquals("user" + i + "@example.com", user.getEmail());
+            assertEquals("First" + i, user.getFirstname());
+            assertEquals("hashed-pw" + i, user.getPassword());
+            assertEquals(Role.USER, user.getRole());
+        }
+    }
+
+    @Test
+    void importUsers_shouldSkipRegisteredAndRepeatedEmails_withoutHashingPassword() throws Exception {
+        // given
+        when(repository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@example.com"));
+        when(passwordEncoder.encode("new")).thenReturn("hashed");
+        String input = """
+                {"email":"new@example.com","password":"new"}
+                {"email":"NEW@example.com","password":"repeated"}
+                {"email":"Taken@Example.com","password":"taken"}
+                """;
+
+        // when
+        ImportResult result = userImportService.importUsers(reader(input), Format.NDJSON);
+
+        // then
+        assertEquals(new ImportResult(1, 2, 0), result);
+        verify(passwordEncoder, never()).encode("taken");
+        verify(passwordEncoder, never()).encode("repeated");
+    }
+
+    @Test
+    void importUsers_shouldCountInvalidLines_andSkipBlankLines() throws Exception {
+        // given
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        String input = """
+                {"email":"valid@example.com","password":"pw"}
+
+                not json
+                {"email":"no-password@example.com"}
+                {"email":"bad-role@example.com","password":"pw","role":"ROOT"}
+                """;
+
+        // when
+        ImportResult result = userImportService.importUsers(reader(input), Format.NDJSON);
+
+        // then
+        assertEquals(new ImportResult(1, 0, 3), result);
+    }
+
+    @Test
+    void importUsers_shouldMapCsvColumnsByHeaderName() throws Exception {
+        // given
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed-" + invocation.getArgument(0));
+        String input = """
+                email,password,role,lastname,firstname
+                admin@example.com,"pa,ss""word",admin,Doe,John
+                """;
+
+        // when
+        ImportResult result = userImportService.importUsers(reader(input), Format.CSV);
+
+        // then
+        assertEquals(new ImportResult(1, 0, 0), result);
+        ArgumentCaptor<List<User>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(captor.capture());
+        User user = captor.getValue().get(0);
+        assertEquals("admin@example.com", user.getEmail());
+        assertEquals("hashed-pa,ss\"word", user.getPassword());
+        assertEquals(Role.ADMIN, user.getRole());
+        assertEquals("John", user.getFirstname());
+        assertEquals("Doe", user.getLastname());
+    }
+
+    @Test
+    void importUsers_shouldThrow_whenCsvHeaderLacksPassword() {
+        // when, then
+        assertThrows(IllegalArgumentException.class,
+                () -> userImportService.importUsers(reader("firstname,email\nJohn,john@example.com\n"), Format.CSV));
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void importUsers_shouldSaveOneByOne_whenChunkConflictsWithConcurrentRegistration() throws Exception {
+        // given
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        doThrow(new DataIntegrityViolationException("duplicate")).when(repository).saveAll(anyList());
+        when(repository.save(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            if (user.getEmail().equals("raced@example.com")) {
+                throw new DataIntegrityViolationException("duplicate");
+            }
+            return user;
+        });
+        String input = """
+                {"email":"raced@example.com","password":"pw"}
+                {"email":"fresh@example.com","password":"pw"}
+                """;
+
+        // when
+        ImportResult result = userImportService.importUsers(reader(input), Format.NDJSON);
+
+        // then
+        assertEquals(new ImportResult(1, 1, 0), result);
+    }
+
+    @Test
+    void importUsers_shouldRetryHashing_whenPasswordEncoderIsBusy() throws Exception {
+        // given
+        when(passwordEncoder.encode("pw"))
+                .thenThrow(new PasswordEncoderBusyException(Duration.ofMillis(1), null))
+                .thenReturn("hashed");
+
+        // when
+        ImportResult result = userImportService.importUsers(
+                reader("{\"email\":\"busy@example.com\",\"password\":\"pw\"}\n"), Format.NDJSON);
+
+        // then
+        assertEquals(new ImportResult(1, 0, 0), result);
+        verify(passwordEncoder, times(2)).encode("pw");
+    }
+
+    @Test
+    void split_shouldHandleQuotedFields() {
+        // when
+        List<String> fields = UserImportService.CsvRecordParser.split("a,\"b,c\",\"d\"\"e\",,f");
+
+        // then
+        assertEquals(List.of("a", "b,c", "d\"e", "", "f"), fields);
+    }
+
+    private static BufferedReader reader(String input) {
+        return new BufferedReader(new StringReader(input));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.example.security.service.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.security.model.Role;
+import com.example.security.model.User;
+import com.example.security.repository.user.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UserPasswordUpgradeServiceTest {
+
+    @Mock
+    private UserRepository repository;
+
+    @InjectMocks
+    private UserPasswordUpgradeService service;
+
+    @Test
+    void updatePassword_shouldSaveNewHash() {
+        // given
+        User user = user("$2a$10$old");
+        when(repository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(repository.save(user)).thenReturn(user);
+
+        // when
+        UserDetails updated = service.updatePassword(user("$2a$10$old"), "{bcrypt}$2a$12$new");
+
+        // then
+        assertSame(user, updated);
+        assertEquals("{bcrypt}$2a$12$new", user.getPassword());
+        verify(repository).save(user);
+    }
+
+    @Test
+    void updatePassword_shouldReturnGivenUser_whenUserNoLongerExists() {
+        // given
+        User user = user("$2a$10$old");
+        when(repository.findByEmail("user@example.com")).thenReturn(Optional.empty());
+
+        // when
+        UserDetails updated = service.updatePassword(user, "{bcrypt}$2a$12$new");
+
+        // then
+        assertSame(user, updated);
+        verify(repository, never()).save(any());
+    }
+
+    private static User user(String password) {
+        return User.builder()
+                .email("user@example.com")
+                .password(password)
+                .role(Role.USER)
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.security.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * テスト用のJFRイベントの記録
+ */
+public final class JfrRecorder {
+
+    private JfrRecorder() {
+    }
+
+    /**
+     * 処理の間に記録されたイベントの取得（しきい値なし）
+     *
+     * @param eventType イベントの型
+     * @param action    処理
+     * @return 記録されたイベント
+     * @throws IOException 記録の書き出し・読み込みに失敗した場合
+     */
+    public static List<RecordedEvent> record(Class<? extends Event> eventType, Runnable action) throws IOException {
+        Path file = Files.createTempFile("events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventType).withoutThreshold().withoutStackTrace();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
\ No newline at end of file
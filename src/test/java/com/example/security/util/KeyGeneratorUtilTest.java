@@ -1,12 +1,17 @@
 package com.example.security.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 
+import javax.crypto.SecretKey;
+
 import org.junit.jupiter.api.Test;
 
 import com.example.security.util.KeyGeneratorUtil.RsaKeyProperties;
@@ -24,6 +29,35 @@ class KeyGeneratorUtilTest {
         assertTrue(keyPair.getPrivate() instanceof RSAPrivateKey);
     }
 
+    @Test
+    void generateEcKey_shouldReturnP256KeyPair() throws Exception {
+        // when
+        KeyPair keyPair = KeyGeneratorUtil.generateEcKey();
+
+        // then
+        assertTrue(keyPair.getPublic() instanceof ECPublicKey);
+        assertEquals(256, ((ECPublicKey) keyPair.getPublic()).getParams().getCurve().getField().getFieldSize());
+    }
+
+    @Test
+    void generateEd25519Key_shouldReturnEd25519KeyPair() throws Exception {
+        // when
+        KeyPair keyPair = KeyGeneratorUtil.generateEd25519Key();
+
+        // then
+        assertTrue(keyPair.getPublic() instanceof EdECPublicKey);
+        assertEquals("Ed25519", ((EdECPublicKey) keyPair.getPublic()).getParams().getName());
+    }
+
+    @Test
+    void generateHmacKey_shouldReturn256BitKey() throws Exception {
+        // when
+        SecretKey key = KeyGeneratorUtil.generateHmacKey();
+
+        // then
+        assertEquals(32, key.getEncoded().length);
+    }
+
     @Test
     void rsaKeyProperties_generate_shouldReturnValidProperties() {
         // when
@@ -0,0 +1,90 @@
+package com.example.security.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Base64;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+class KeyLoaderUtilTest {
+
+    @Test
+    void readPrivateKeyAndPublicKey_shouldReturnKeys_forEachAlgorithm() throws Exception {
+        for (KeyPair keyPair : new KeyPair[] {
+                KeyGeneratorUtil.generateRsaKey(),
+                KeyGeneratorUtil.generateEcKey(),
+                KeyGeneratorUtil.generateEd25519Key() }) {
+            // given
+            String algorithm = keyPair.getPrivate().getAlgorithm();
+
+            // when
+            PrivateKey privateKey = KeyLoaderUtil.readPrivateKey(
+                    pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()), algorithm);
+            PublicKey publicKey = KeyLoaderUtil.readPublicKey(
+                    pem("PUBLIC KEY", keyPair.getPublic().getEncoded()), algorithm);
+
+            // then
+            assertArrayEquals(keyPair.getPrivate().getEncoded(), privateKey.getEncoded());
+            assertArrayEquals(keyPair.getPublic().getEncoded(), publicKey.getEncoded());
+        }
+    }
+
+    @Test
+    void readPrivateKey_shouldThrowException_whenPemIsNotAPrivateKey() throws Exception {
+        // given
+        Resource publicKeyPem = pem("PUBLIC KEY", KeyGeneratorUtil.generateRsaKey().getPublic().getEncoded());
+
+        // when / then
+        assertThrows(IOException.class, () -> KeyLoaderUtil.readPrivateKey(publicKeyPem, "RSA"));
+    }
+
+    @Test
+    void readPrivateKey_shouldThrowException_whenAlgorithmDoesNotMatch() throws Exception {
+        // given
+        Resource ecKeyPem = pem("PRIVATE KEY", KeyGeneratorUtil.generateEcKey().getPrivate().getEncoded());
+
+        // when / then
+        assertThrows(GeneralSecurityException.class, () -> KeyLoaderUtil.readPrivateKey(ecKeyPem, "RSA"));
+    }
+
+    @Test
+    void loadKeyStore_shouldReturnPrivateAndSecretKeyEntries() throws Exception {
+        // when
+        KeyStore keyStore = KeyLoaderUtil.loadKeyStore(
+                new ClassPathResource("keys/jwt-keys.p12"), "PKCS12", "changeit".toCharArray());
+
+        // then
+        assertEquals("RSA", keyStore.getKey("rsa", "changeit".toCharArray()).getAlgorithm());
+        assertEquals("EdDSA", keyStore.getKey("ed25519", "changeit".toCharArray()).getAlgorithm());
+        assertTrue(keyStore.getKey("hmac", "changeit".toCharArray()) instanceof SecretKey);
+    }
+
+    @Test
+    void loadKeyStore_shouldThrowException_whenPasswordIsWrong() {
+        // when / then
+        assertThrows(IOException.class, () -> KeyLoaderUtil.loadKeyStore(
+                new ClassPathResource("keys/jwt-keys.p12"), "PKCS12", "wrong".toCharArray()));
+    }
+
+    private static Resource pem(String label, byte[] encoded) {
+        String pem = "-----BEGIN " + label + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(encoded)
+                + "\n-----END " + label + "-----\n";
+        return new ByteArrayResource(pem.getBytes(StandardCharsets.US_ASCII));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+#!/usr/bin/env bash
+
+set -uo pipefail
+
+# =============================================================================
+# JWT Sample Application - Startup Time Measurement
+#
+# レイヤー展開したJARでの起動（JarLauncher）と、AOT処理とAppCDSアーカイブを使った起動の時間を比較する。
+# 事前に ./mvnw -Pfast-start package -DskipTests で target/fast-start を作成しておくこと。
+# 起動時間はSpring Bootが出力する「process running for」（JVMの起動からの経過時間）の中央値。
+# 高速起動の中央値がレイヤー展開の中央値の MAX_RATIO 倍を超えた場合は失敗（終了コード1）とする。
+#
+# 使い方: ./startup-time.sh [回数]
+# =============================================================================
+
+readonly SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+readonly RUNS="${1:-5}"
+readonly MAX_RATIO="${MAX_RATIO:-0.8}"
+readonly PORT="${STARTUP_PORT:-18081}"
+readonly TIMEOUT=120
+readonly JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+readonly TARGET_DIR="${SCRIPT_DIR}/target"
+readonly FAST_START_DIR="${TARGET_DIR}/fast-start"
+readonly LAYERED_DIR="${TARGET_DIR}/startup-time/layered"
+readonly WORK_DIR="${TARGET_DIR}/startup-time/work"
+
+# Dockerfileと同じプロファイル・JVMオプション
+export SPRING_PROFILES_ACTIVE="${SPRING_PROFILES_ACTIVE:-docker}"
+read -r -a JAVA_OPTS <<< "${JAVA_OPTS:--XX:+UseContainerSupport -XX:MaxRAMPercentage=75.0}"
+
+# 1回の起動時間（秒）を出力
+measure() {
+    local log="${WORK_DIR}/startup.log"
+    local pid
+    "$JAVA" "${JAVA_OPTS[@]}" "$@" \
+        --server.port="$PORT" \
+        --jwt.revocation.log.path="${WORK_DIR}/revocations.log" \
+        > "$log" 2>&1 &
+    pid=$!
+
+    local elapsed=0
+    until grep -q "process running for" "$log"; do
+        if ! kill -0 "$pid" 2>/dev/null || [[ $elapsed -ge $((TIMEOUT * 10)) ]]; then
+            kill "$pid" 2>/dev/null
+            tail -n 30 "$log" >&2
+            return 1
+        fi
+        sleep 0.1
+        elapsed=$((elapsed + 1))
+    done
+    kill -TERM "$pid"
+    wait "$pid" 2>/dev/null
+    rm -f "${WORK_DIR}/revocations.log"
+
+    sed -n 's/.*process running for \([0-9.]*\)).*/\1/p' "$log"
+}
+
+# 複数回の起動時間の中央値を出力
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2 ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+run() {
+    local name="$1"
+    shift
+    local times=()
+    local i time
+    for ((i = 1; i <= RUNS; i++)); do
+        time=$(measure "$@") || { echo "[FAIL] ${name}: application did not start" >&2; exit 1; }
+        times+=("$time")
+        echo "[INFO] ${name} #${i}: ${time}s" >&2
+    done
+    printf '%s\n' "${times[@]}" | median
+}
+
+main() {
+    local jar
+    jar=$(ls "${TARGET_DIR}"/*.jar 2>/dev/null | head -n 1)
+    if [[ -z "$jar" || ! -s "${FAST_START_DIR}/application.jsa" ]]; then
+        echo "[FAIL] run ./mvnw -Pfast-start package -DskipTests first" >&2
+        exit 1
+    fi
+
+    # 従来のDockerイメージと同じ配置（layertools extractでの展開）
+    rm -rf "$LAYERED_DIR" "$WORK_DIR"
+    mkdir -p "$LAYERED_DIR" "$WORK_DIR"
+    "$JAVA" -Djarmode=tools -jar "$jar" extract --launcher --destination "$LAYERED_DIR" > /dev/null || exit 1
+
+    local layered fast_start
+    layered=$(run "layered" -cp "$LAYERED_DIR" org.springframework.boot.loader.launch.JarLauncher)
+    fast_start=$(run "fast-start" -XX:SharedArchiveFile="${FAST_START_DIR}/application.jsa" \
+        -Dspring.aot.enabled=true -jar "${FAST_START_DIR}/application.jar")
+
+    echo ""
+    echo "=========================================="
+    printf 'layered:    %6.3fs (median of %d)\n' "$layered" "$RUNS"
+    printf 'fast-start: %6.3fs (median of %d)\n' "$fast_start" "$RUNS"
+    awk -v a="$layered" -v b="$fast_start" -v max="$MAX_RATIO" 'BEGIN {
+        printf "ratio:      %6.3f (max %s)\n", b / a, max
+        exit (b <= a * max ? 0 : 1)
+    }'
+    local status=$?
+    echo "=========================================="
+    if [[ $status -ne 0 ]]; then
+        echo "[FAIL] fast-start is slower than ${MAX_RATIO} x layered" >&2
+    fi
+    exit $status
+}
+
+main